@@ -0,0 +1,62 @@
+package com.wwf.application.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Local read-through cache configuration for species and project lookups.
+ *
+ * Every cache is bounded in size, expires entries after a TTL and records hit/miss
+ * statistics, which are published through Actuator as cache.* metrics. Evictions made
+ * inside a transaction are applied after it commits, so a concurrent reader cannot
+ * re-populate an entry with data from before the change.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SPECIES = "species";
+    public static final String SPECIES_BY_STATUS = "speciesByStatus";
+    public static final String ENDANGERED_SPECIES = "endangeredSpecies";
+    public static final String ACTIVE_PROJECTS = "activeProjects";
+    public static final String PROJECTS_BY_SPECIES = "projectsBySpecies";
+
+    @Value("${wwf.cache.maximum-size:1000}")
+    private long maximumSize;
+
+    @Value("${wwf.cache.species-ttl:10m}")
+    private Duration speciesTtl;
+
+    @Value("${wwf.cache.projects-ttl:30s}")
+    private Duration projectsTtl;
+
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(SPECIES, cache(speciesTtl));
+        cacheManager.registerCustomCache(SPECIES_BY_STATUS, cache(speciesTtl));
+        cacheManager.registerCustomCache(ENDANGERED_SPECIES, cache(speciesTtl));
+        // Project lists carry fundsRaised, which changes with every donation, so they expire sooner
+        cacheManager.registerCustomCache(ACTIVE_PROJECTS, cache(projectsTtl));
+        cacheManager.registerCustomCache(PROJECTS_BY_SPECIES, cache(projectsTtl));
+        // Defer evictions until the surrounding transaction commits
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private Cache<Object, Object> cache(Duration ttl) {
+        return Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+    }
+}
@@ -0,0 +1,43 @@
+package com.wwf.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pool configuration for asynchronous donation processing
+ */
+@Configuration
+public class DonationProcessingConfig {
+
+    @Value("${wwf.donation.processing.core-pool-size:8}")
+    private int corePoolSize;
+
+    @Value("${wwf.donation.processing.max-pool-size:32}")
+    private int maxPoolSize;
+
+    @Value("${wwf.donation.processing.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * Bounded executor recording payment outcomes. When the queue is full the
+     * completing thread records the outcome itself, which slows down the gateway
+     * callbacks instead of dropping results.
+     */
+    @Bean(name = "donationProcessingExecutor")
+    public ThreadPoolTaskExecutor donationProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(corePoolSize);
+        executor.setMaxPoolSize(maxPoolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("donation-worker-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,40 @@
+package com.wwf.application.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Worker pool configuration for processing consumed events in parallel
+ */
+@Configuration
+public class EventProcessingConfig {
+
+    @Value("${wwf.kafka.processing.pool-size:16}")
+    private int poolSize;
+
+    @Value("${wwf.kafka.processing.queue-capacity:1000}")
+    private int queueCapacity;
+
+    /**
+     * Bounded executor running the per-key groups of consumed batches. When the queue is
+     * full the consumer thread runs the group itself, which slows down polling instead
+     * of buffering more records.
+     */
+    @Bean(name = "eventProcessingExecutor")
+    public ThreadPoolTaskExecutor eventProcessingExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("event-worker-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+}
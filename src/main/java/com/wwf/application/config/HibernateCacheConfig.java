@@ -0,0 +1,79 @@
+package com.wwf.application.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.wwf.application.model.WildlifeSpecies;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate second-level and query cache, held in Caffeine caches behind JCache.
+ *
+ * Species are cached as entities with the read-write strategy, so a row changed in a
+ * transaction is locked in the cache until the transaction completes, and the endangered
+ * species list is query-cached and invalidated whenever the species table changes. The
+ * cache is local to each instance: entries expire no later than the species lookups of the
+ * Spring cache, a species added on another instance evicts the endangered list through
+ * Kafka like it does those lookups, and species updates read the row from the database.
+ * Projects are not cached, since their funds and version change with
+ * every donation and a stale copy would fail updates on other instances.
+ *
+ * Every region is bounded and records statistics, which Hibernate publishes through
+ * Actuator as hibernate.second.level.cache.* and hibernate.cache.query.* metrics tagged
+ * with the region.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    @Value("${wwf.hibernate-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${wwf.hibernate-cache.entity-ttl:10m}")
+    private Duration entityTtl;
+
+    @Value("${wwf.hibernate-cache.query-ttl:5m}")
+    private Duration queryTtl;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A cache manager of its own per application context, as JCache shares managers by URI
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+            .getCacheManager(URI.create("wwf-hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        createRegion(cacheManager, WildlifeSpecies.CACHE_REGION, entityTtl, maximumSize);
+        createRegion(cacheManager, WildlifeSpecies.ENDANGERED_QUERY_REGION, queryTtl, maximumSize);
+        createRegion(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryTtl, maximumSize);
+        // Update timestamps hold one entry per table and must outlive every cached query result
+        createRegion(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, null, null);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+            // Regions are created above; fail on a region nobody sized rather than create an unbounded one
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private void createRegion(CacheManager cacheManager, String name, Duration ttl, Long maximumSize) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable cache entries, so there is no need to copy them on every access
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        configuration.setExpireAfterWrite(ttl == null ? OptionalLong.empty() : OptionalLong.of(ttl.toNanos()));
+        configuration.setMaximumSize(maximumSize == null ? OptionalLong.empty() : OptionalLong.of(maximumSize));
+        cacheManager.createCache(name, configuration);
+    }
+}
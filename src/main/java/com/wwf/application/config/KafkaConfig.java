@@ -1,7 +1,17 @@
 package com.wwf.application.config;
 
+import com.wwf.application.kafka.AvroEventDeserializer;
+import com.wwf.application.kafka.AvroEventSerializer;
+import com.wwf.application.kafka.EventRetryTopology;
+import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.Serializer;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,12 +19,24 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.TopicBuilder;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DeadLetterPublishingRecoverer;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.support.converter.ConversionException;
+import org.springframework.kafka.support.serializer.DelegatingByTypeSerializer;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.util.backoff.FixedBackOff;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -30,23 +52,86 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:wwf-application}")
     private String groupId;
 
+    @Value("${wwf.kafka.producer.max-in-flight:5}")
+    private int maxInFlight;
+
+    @Value("${wwf.kafka.producer.compression-type:lz4}")
+    private String compressionType;
+
+    @Value("${wwf.kafka.producer.linger-ms:10}")
+    private int lingerMs;
+
+    @Value("${wwf.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${wwf.kafka.consumer.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${wwf.kafka.consumer.fetch-min-bytes:16384}")
+    private int fetchMinBytes;
+
+    @Value("${wwf.kafka.consumer.fetch-max-wait-ms:100}")
+    private int fetchMaxWaitMs;
+
+    @Value("${wwf.kafka.consumer.concurrency:3}")
+    private int concurrency;
+
+    @Value("${wwf.kafka.retry.partitions:3}")
+    private int retryPartitions;
+
+    @Value("${wwf.kafka.serialization:json}")
+    private String serialization;
+
     /**
-     * Producer configuration
+     * Producer configuration.
+     * The idempotent producer keeps per-partition order with up to 5 requests in flight,
+     * so batching, lingering and compression can be tuned for throughput without
+     * reordering events of the same entity.
      */
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
-        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
-        configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
-        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, eventSerializer().getClass());
+        configProps.putAll(producerTuning(maxInFlight, compressionType, lingerMs, batchSize));
         
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
+    /**
+     * Delivery and throughput settings of the producer
+     */
+    public static Map<String, Object> producerTuning(int maxInFlight, String compressionType, int lingerMs, int batchSize) {
+        if (maxInFlight < 1 || maxInFlight > 5) {
+            throw new IllegalArgumentException("An idempotent producer allows 1 to 5 in-flight requests, got " + maxInFlight);
+        }
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.RETRIES_CONFIG, Integer.MAX_VALUE);
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, maxInFlight);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, compressionType);
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        return configProps;
+    }
+
+    /**
+     * Serializer of event payloads: JSON with type headers, or Avro with a schema id prefix.
+     * The Avro deserializer still reads JSON, so records written before a switch stay readable.
+     */
+    private Serializer<Object> eventSerializer() {
+        return isAvro() ? new AvroEventSerializer() : new JsonSerializer<>();
+    }
+
+    private boolean isAvro() {
+        if (!"json".equals(serialization) && !"avro".equals(serialization)) {
+            throw new IllegalArgumentException("Unsupported event serialization: " + serialization);
+        }
+        return "avro".equals(serialization);
+    }
+
     /**
      * Kafka template for sending messages
      */
@@ -55,22 +140,77 @@ public class KafkaConfig {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /**
+     * Kafka template for retry and dead-letter topics. Records that could not be deserialized
+     * are forwarded as their raw bytes, everything else is written as JSON.
+     */
+    @Bean
+    public KafkaTemplate<Object, Object> deadLetterKafkaTemplate() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.putAll(producerTuning(maxInFlight, compressionType, lingerMs, batchSize));
+
+        Map<Class<?>, Serializer<?>> valueSerializers = new LinkedHashMap<>();
+        valueSerializers.put(byte[].class, new ByteArraySerializer());
+        valueSerializers.put(Object.class, eventSerializer());
+        DefaultKafkaProducerFactory<Object, Object> factory = new DefaultKafkaProducerFactory<>(configProps);
+        factory.setValueSerializer(new DelegatingByTypeSerializer(valueSerializers, true));
+        return new KafkaTemplate<>(factory);
+    }
+
     /**
      * Consumer configuration
      */
     @Bean
     public ConsumerFactory<String, Object> consumerFactory() {
+        return new DefaultKafkaConsumerFactory<>(consumerConfigs());
+    }
+
+    /**
+     * Consumer configuration for batch listeners, fetching larger batches per poll
+     */
+    @Bean
+    public ConsumerFactory<String, Object> batchConsumerFactory() {
+        Map<String, Object> configProps = consumerConfigs();
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        configProps.put(ConsumerConfig.FETCH_MIN_BYTES_CONFIG, fetchMinBytes);
+        configProps.put(ConsumerConfig.FETCH_MAX_WAIT_MS_CONFIG, fetchMaxWaitMs);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    /**
+     * Consumer configuration for reading dead-letter topics as raw bytes, for replay
+     */
+    @Bean
+    public ConsumerFactory<String, byte[]> deadLetterConsumerFactory() {
+        Map<String, Object> configProps = new HashMap<>();
+        configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        configProps.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        return new DefaultKafkaConsumerFactory<>(configProps);
+    }
+
+    /**
+     * Values are read through an ErrorHandlingDeserializer so a payload that is not valid JSON
+     * reaches the error handler as a failed record instead of failing every poll.
+     */
+    private Map<String, Object> consumerConfigs() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ConsumerConfig.GROUP_ID_CONFIG, groupId);
         configProps.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
-        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, JsonDeserializer.class);
+        configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, isAvro()
+            ? AvroEventDeserializer.class : JsonDeserializer.class);
         configProps.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
         configProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "com.wwf.application.kafka");
         configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, "com.wwf.application.kafka.BaseEvent");
-        
-        return new DefaultKafkaConsumerFactory<>(configProps);
+        return configProps;
     }
 
     /**
@@ -85,4 +225,114 @@ public class KafkaConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         return factory;
     }
-}
\ No newline at end of file
+
+    /**
+     * Listener container factory delivering whole poll batches, with one offset commit per batch
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> batchKafkaListenerContainerFactory(
+            DefaultErrorHandler eventErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setConcurrency(concurrency);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(eventErrorHandler);
+        return factory;
+    }
+
+    /**
+     * Listener container factory for the retry topics. Listeners acknowledge manually so they
+     * can hand back records that are not due yet.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> retryKafkaListenerContainerFactory(
+            DefaultErrorHandler eventErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setConcurrency(1);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.setCommonErrorHandler(eventErrorHandler);
+        return factory;
+    }
+
+    /**
+     * Listener container factory for the in-memory analytics. Failed records are logged and
+     * skipped rather than sent to the retry topics, which belong to the event listeners.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, Object> analyticsKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, Object> factory = 
+            new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(batchConsumerFactory());
+        factory.setConcurrency(1);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        factory.setCommonErrorHandler(new DefaultErrorHandler(new FixedBackOff(0L, 0L)));
+        return factory;
+    }
+
+    /**
+     * Error handler of the event listeners. A failed record is not retried in place, which
+     * would stall its partition, but forwarded to the next retry tier of its topic and the
+     * rest of the batch carries on. Records that can never succeed go straight to the DLT.
+     */
+    @Bean
+    public DefaultErrorHandler eventErrorHandler(EventRetryTopology retryTopology) {
+        DeadLetterPublishingRecoverer recoverer = new DeadLetterPublishingRecoverer(deadLetterKafkaTemplate(),
+            (record, e) -> new TopicPartition(isRetryable(e)
+                ? retryTopology.nextTopic(record.topic())
+                : retryTopology.deadLetterTopic(record.topic()), -1));
+        recoverer.setHeadersFunction((record, e) -> retryHeaders(retryTopology, record.topic(), e));
+
+        DefaultErrorHandler errorHandler = new DefaultErrorHandler(recoverer, new FixedBackOff(0L, 0L));
+        errorHandler.setCommitRecovered(true);
+        return errorHandler;
+    }
+
+    /**
+     * Headers of a record forwarded to a retry tier: the time it becomes due
+     */
+    private static Headers retryHeaders(EventRetryTopology retryTopology, String topic, Exception e) {
+        Headers headers = new RecordHeaders();
+        String next = retryTopology.nextTopic(topic);
+        int tier = retryTopology.tierOf(next);
+        if (isRetryable(e) && tier >= 0) {
+            long dueAt = System.currentTimeMillis() + retryTopology.delayMs(tier);
+            headers.add(EventRetryTopology.DUE_AT_HEADER, String.valueOf(dueAt).getBytes(StandardCharsets.UTF_8));
+        }
+        return headers;
+    }
+
+    /**
+     * Whether a failure may go away on redelivery; malformed or unexpected payloads never will
+     */
+    private static boolean isRetryable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DeserializationException
+                    || cause instanceof ConversionException
+                    || cause instanceof ClassCastException) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Retry tier and dead-letter topics of every event topic
+     */
+    @Bean
+    public KafkaAdmin.NewTopics retryTopics(EventRetryTopology retryTopology) {
+        List<NewTopic> topics = new ArrayList<>();
+        for (String topic : EventRetryTopology.EVENT_TOPICS) {
+            for (String retryTopic : retryTopology.retryTopics(topic)) {
+                topics.add(TopicBuilder.name(retryTopic).partitions(retryPartitions).build());
+            }
+            topics.add(TopicBuilder.name(retryTopology.deadLetterTopic(topic)).partitions(retryPartitions).build());
+        }
+        return new KafkaAdmin.NewTopics(topics.toArray(new NewTopic[0]));
+    }
+}
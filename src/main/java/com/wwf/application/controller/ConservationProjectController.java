@@ -1,5 +1,7 @@
 package com.wwf.application.controller;
 
+import com.wwf.application.dto.CursorPage;
+import com.wwf.application.dto.ProjectSummary;
 import com.wwf.application.model.ConservationProject;
 import com.wwf.application.model.ProjectStatus;
 import com.wwf.application.service.ConservationProjectService;
@@ -7,6 +9,7 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -38,10 +41,10 @@ public class ConservationProjectController {
      * Create a new conservation project
      */
     @PostMapping
-    public ResponseEntity<ConservationProject> createProject(@Valid @RequestBody ConservationProject project) {
+    public ResponseEntity<ProjectSummary> createProject(@Valid @RequestBody ConservationProject project) {
         try {
             ConservationProject createdProject = projectService.createProject(project);
-            return new ResponseEntity<>(createdProject, HttpStatus.CREATED);
+            return new ResponseEntity<>(ProjectSummary.of(createdProject), HttpStatus.CREATED);
         } catch (RuntimeException e) {
             logger.error("Invalid project data: {}", e.getMessage());
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
@@ -55,9 +58,9 @@ public class ConservationProjectController {
      * Get all conservation projects
      */
     @GetMapping
-    public ResponseEntity<List<ConservationProject>> getAllProjects() {
+    public ResponseEntity<List<ProjectSummary>> getAllProjects() {
         try {
-            List<ConservationProject> projects = projectService.getAllProjects();
+            List<ProjectSummary> projects = projectService.getAllProjects();
             return new ResponseEntity<>(projects, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving all projects", e);
@@ -65,13 +68,28 @@ public class ConservationProjectController {
         }
     }
 
+    /**
+     * Get a page of projects using keyset pagination
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<ProjectSummary>> getProjectsPage(@RequestParam(required = false) Long after,
+                                                                           @RequestParam(defaultValue = "100") int size) {
+        try {
+            CursorPage<ProjectSummary> page = projectService.getProjectsPage(after, CursorPage.normalizeSize(size));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error retrieving page of projects after ID: {}", after, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get project by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<ConservationProject> getProjectById(@PathVariable Long id) {
+    public ResponseEntity<ProjectSummary> getProjectById(@PathVariable Long id) {
         try {
-            Optional<ConservationProject> project = projectService.getProjectById(id);
+            Optional<ProjectSummary> project = projectService.getProjectById(id);
             return project.map(p -> new ResponseEntity<>(p, HttpStatus.OK))
                          .orElse(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
         } catch (Exception e) {
@@ -84,11 +102,14 @@ public class ConservationProjectController {
      * Update project by ID
      */
     @PutMapping("/{id}")
-    public ResponseEntity<ConservationProject> updateProject(@PathVariable Long id, 
+    public ResponseEntity<ProjectSummary> updateProject(@PathVariable Long id, 
                                                             @Valid @RequestBody ConservationProject project) {
         try {
             ConservationProject updatedProject = projectService.updateProject(id, project);
-            return new ResponseEntity<>(updatedProject, HttpStatus.OK);
+            return new ResponseEntity<>(ProjectSummary.of(updatedProject), HttpStatus.OK);
+        } catch (OptimisticLockingFailureException e) {
+            logger.warn("Concurrent modification of project with ID: {}", id);
+            return new ResponseEntity<>(null, HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             logger.error("Project not found with ID: {}", id);
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -119,9 +140,9 @@ public class ConservationProjectController {
      * Get projects by status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<ConservationProject>> getProjectsByStatus(@PathVariable ProjectStatus status) {
+    public ResponseEntity<List<ProjectSummary>> getProjectsByStatus(@PathVariable ProjectStatus status) {
         try {
-            List<ConservationProject> projects = projectService.findProjectsByStatus(status);
+            List<ProjectSummary> projects = projectService.findProjectsByStatus(status);
             return new ResponseEntity<>(projects, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving projects by status: {}", status, e);
@@ -133,9 +154,9 @@ public class ConservationProjectController {
      * Get active projects
      */
     @GetMapping("/active")
-    public ResponseEntity<List<ConservationProject>> getActiveProjects() {
+    public ResponseEntity<List<ProjectSummary>> getActiveProjects() {
         try {
-            List<ConservationProject> projects = projectService.getActiveProjects();
+            List<ProjectSummary> projects = projectService.getActiveProjects();
             return new ResponseEntity<>(projects, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving active projects", e);
@@ -144,26 +165,46 @@ public class ConservationProjectController {
     }
 
     /**
-     * Search projects by location
+     * Search projects by location, best match first
      */
     @GetMapping("/location")
-    public ResponseEntity<List<ConservationProject>> getProjectsByLocation(@RequestParam String location) {
+    public ResponseEntity<List<ProjectSummary>> getProjectsByLocation(@RequestParam String location,
+                                                                           @RequestParam(defaultValue = "0") int page,
+                                                                           @RequestParam(defaultValue = "20") int size) {
         try {
-            List<ConservationProject> projects = projectService.findProjectsByLocation(location);
+            List<ProjectSummary> projects = projectService.findProjectsByLocation(location, page, size);
             return new ResponseEntity<>(projects, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid location search: {}", e.getMessage());
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error searching projects by location: {}", location, e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Autocomplete project locations
+     */
+    @GetMapping("/location/suggest")
+    public ResponseEntity<List<String>> suggestLocations(@RequestParam String prefix,
+                                                         @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<String> locations = projectService.suggestLocations(prefix, limit);
+            return new ResponseEntity<>(locations, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error suggesting locations: {}", prefix, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get projects by species
      */
     @GetMapping("/species/{speciesId}")
-    public ResponseEntity<List<ConservationProject>> getProjectsBySpecies(@PathVariable Long speciesId) {
+    public ResponseEntity<List<ProjectSummary>> getProjectsBySpecies(@PathVariable Long speciesId) {
         try {
-            List<ConservationProject> projects = projectService.findProjectsBySpecies(speciesId);
+            List<ProjectSummary> projects = projectService.findProjectsBySpecies(speciesId);
             return new ResponseEntity<>(projects, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving projects by species ID: {}", speciesId, e);
@@ -175,9 +216,9 @@ public class ConservationProjectController {
      * Get projects needing funding
      */
     @GetMapping("/funding-needed")
-    public ResponseEntity<List<ConservationProject>> getProjectsNeedingFunding() {
+    public ResponseEntity<List<ProjectSummary>> getProjectsNeedingFunding() {
         try {
-            List<ConservationProject> projects = projectService.getProjectsNeedingFunding();
+            List<ProjectSummary> projects = projectService.getProjectsNeedingFunding();
             return new ResponseEntity<>(projects, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving projects needing funding", e);
@@ -189,11 +230,11 @@ public class ConservationProjectController {
      * Get projects by date range
      */
     @GetMapping("/date-range")
-    public ResponseEntity<List<ConservationProject>> getProjectsByDateRange(
+    public ResponseEntity<List<ProjectSummary>> getProjectsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
         try {
-            List<ConservationProject> projects = projectService.findProjectsByDateRange(startDate, endDate);
+            List<ProjectSummary> projects = projectService.findProjectsByDateRange(startDate, endDate);
             return new ResponseEntity<>(projects, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving projects by date range: {} to {}", startDate, endDate, e);
@@ -205,10 +246,10 @@ public class ConservationProjectController {
      * Add funds to a project
      */
     @PostMapping("/{id}/add-funds")
-    public ResponseEntity<ConservationProject> addFundsToProject(@PathVariable Long id, 
+    public ResponseEntity<ProjectSummary> addFundsToProject(@PathVariable Long id, 
                                                                 @RequestParam BigDecimal amount) {
         try {
-            ConservationProject updatedProject = projectService.addFundsToProject(id, amount);
+            ProjectSummary updatedProject = projectService.addFundsToProject(id, amount);
             return new ResponseEntity<>(updatedProject, HttpStatus.OK);
         } catch (RuntimeException e) {
             logger.error("Project not found with ID: {}", id);
@@ -0,0 +1,48 @@
+package com.wwf.application.controller;
+
+import com.wwf.application.dto.ReplayResult;
+import com.wwf.application.service.DeadLetterReplayService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for replaying dead-lettered events
+ */
+@RestController
+@RequestMapping("/api/events/dead-letters")
+@CrossOrigin(origins = "*")
+@Profile("!test")  // Exclude from test profile
+public class DeadLetterController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterController.class);
+
+    private final DeadLetterReplayService replayService;
+
+    @Autowired
+    public DeadLetterController(DeadLetterReplayService replayService) {
+        this.replayService = replayService;
+    }
+
+    /**
+     * Replay dead-lettered records of an event topic back onto the topic
+     */
+    @PostMapping("/{topic}/replay")
+    public ResponseEntity<ReplayResult> replay(@PathVariable String topic,
+                                               @RequestParam(defaultValue = "100") int maxRecords) {
+        try {
+            ReplayResult result = replayService.replay(topic, maxRecords);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid replay request: {}", e.getMessage());
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error replaying dead letters of {}", topic, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.wwf.application.controller;
+
+import com.wwf.application.dto.DonationStatusCounts;
+import com.wwf.application.dto.DonorTotal;
+import com.wwf.application.dto.ProjectDonationTotals;
+import com.wwf.application.service.DonationAnalytics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for live donation analytics, served from memory. Totals and counts cover
+ * the events still retained on the donation topic; the ledger-backed donation endpoints
+ * serve all-time figures.
+ */
+@RestController
+@RequestMapping("/api/analytics/donations")
+@CrossOrigin(origins = "*")
+public class DonationAnalyticsController {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationAnalyticsController.class);
+    private static final int MAX_TOP_DONORS = 100;
+
+    private final DonationAnalytics analytics;
+
+    @Autowired
+    public DonationAnalyticsController(DonationAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * Get the number of processed donations per status among the retained events
+     */
+    @GetMapping("/status-counts")
+    public ResponseEntity<DonationStatusCounts> getStatusCounts() {
+        try {
+            return new ResponseEntity<>(analytics.getStatusCounts(), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error retrieving donation status counts", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Get the net donations of a project among the retained events, in total and per time window
+     */
+    @GetMapping("/projects/{projectId}")
+    public ResponseEntity<ProjectDonationTotals> getProjectTotals(@PathVariable Long projectId) {
+        try {
+            return new ResponseEntity<>(analytics.getProjectTotals(projectId), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error retrieving donation totals for project ID: {}", projectId, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Get the top donors by net donations
+     */
+    @GetMapping("/top-donors")
+    public ResponseEntity<List<DonorTotal>> getTopDonors(@RequestParam(defaultValue = "10") int limit) {
+        if (limit < 1 || limit > MAX_TOP_DONORS) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new ResponseEntity<>(analytics.getTopDonors(limit), HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error retrieving top donors", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+}
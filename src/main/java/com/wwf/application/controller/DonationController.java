@@ -1,17 +1,29 @@
 package com.wwf.application.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wwf.application.dto.BulkCreateResult;
+import com.wwf.application.dto.CursorPage;
+import com.wwf.application.dto.DonationSummary;
+import com.wwf.application.dto.DonorTotal;
+import com.wwf.application.dto.LedgerEntrySummary;
 import com.wwf.application.model.Donation;
 import com.wwf.application.model.DonationStatus;
+import com.wwf.application.service.DonationProcessingPipeline;
 import com.wwf.application.service.DonationService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,22 +36,30 @@ import java.util.Optional;
 public class DonationController {
 
     private static final Logger logger = LoggerFactory.getLogger(DonationController.class);
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int MAX_TOP_DONORS = 100;
 
     private final DonationService donationService;
+    private final DonationProcessingPipeline processingPipeline;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public DonationController(DonationService donationService) {
+    public DonationController(DonationService donationService,
+                              DonationProcessingPipeline processingPipeline,
+                              ObjectMapper objectMapper) {
         this.donationService = donationService;
+        this.processingPipeline = processingPipeline;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Create a new donation
      */
     @PostMapping
-    public ResponseEntity<Donation> createDonation(@Valid @RequestBody Donation donation) {
+    public ResponseEntity<DonationSummary> createDonation(@Valid @RequestBody Donation donation) {
         try {
             Donation createdDonation = donationService.createDonation(donation);
-            return new ResponseEntity<>(createdDonation, HttpStatus.CREATED);
+            return new ResponseEntity<>(DonationSummary.of(createdDonation), HttpStatus.CREATED);
         } catch (RuntimeException e) {
             logger.error("Invalid donation data: {}", e.getMessage());
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
@@ -50,13 +70,33 @@ public class DonationController {
     }
 
     /**
-     * Process a donation
+     * Create many donations in a single request
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BulkCreateResult> createDonations(@RequestBody List<@Valid Donation> donations) {
+        try {
+            BulkCreateResult result = donationService.createDonations(donations);
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        } catch (RuntimeException e) {
+            logger.error("Invalid donation batch: {}", e.getMessage());
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error creating donation batch", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Submit a donation for asynchronous processing
      */
     @PostMapping("/{id}/process")
-    public ResponseEntity<Donation> processDonation(@PathVariable Long id) {
+    public ResponseEntity<DonationService.DonationStatusSummary> processDonation(@PathVariable Long id) {
         try {
-            Donation processedDonation = donationService.processDonation(id);
-            return new ResponseEntity<>(processedDonation, HttpStatus.OK);
+            Donation donation = processingPipeline.submit(id);
+            return new ResponseEntity<>(new DonationService.DonationStatusSummary(donation), HttpStatus.ACCEPTED);
+        } catch (TaskRejectedException e) {
+            logger.warn("Too many donations in flight, rejecting donation ID: {}", id);
+            return new ResponseEntity<>(null, HttpStatus.SERVICE_UNAVAILABLE);
         } catch (RuntimeException e) {
             logger.error("Error processing donation: {}", e.getMessage());
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
@@ -66,13 +106,28 @@ public class DonationController {
         }
     }
 
+    /**
+     * Get the processing status of a donation
+     */
+    @GetMapping("/{id}/status")
+    public ResponseEntity<DonationService.DonationStatusSummary> getDonationStatus(@PathVariable Long id) {
+        try {
+            Optional<DonationService.DonationStatusSummary> status = donationService.getDonationStatus(id);
+            return status.map(s -> new ResponseEntity<>(s, HttpStatus.OK))
+                        .orElse(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
+        } catch (Exception e) {
+            logger.error("Error retrieving status of donation with ID: {}", id, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get all donations
      */
     @GetMapping
-    public ResponseEntity<List<Donation>> getAllDonations() {
+    public ResponseEntity<List<DonationSummary>> getAllDonations() {
         try {
-            List<Donation> donations = donationService.getAllDonations();
+            List<DonationSummary> donations = donationService.getAllDonations();
             return new ResponseEntity<>(donations, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving all donations", e);
@@ -80,13 +135,44 @@ public class DonationController {
         }
     }
 
+    /**
+     * Get a page of donations using keyset pagination
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<DonationSummary>> getDonationsPage(@RequestParam(required = false) Long after,
+                                                                 @RequestParam(defaultValue = "100") int size) {
+        try {
+            CursorPage<DonationSummary> page = donationService.getDonationsPage(after, CursorPage.normalizeSize(size));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error retrieving page of donations after ID: {}", after, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
+    /**
+     * Stream all donations as newline-delimited JSON
+     */
+    @GetMapping(value = "/stream", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamDonations() {
+        StreamingResponseBody body = out -> donationService.streamDonations(donation -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(donation));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return new ResponseEntity<>(body, HttpStatus.OK);
+    }
+
     /**
      * Get donation by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<Donation> getDonationById(@PathVariable Long id) {
+    public ResponseEntity<DonationSummary> getDonationById(@PathVariable Long id) {
         try {
-            Optional<Donation> donation = donationService.getDonationById(id);
+            Optional<DonationSummary> donation = donationService.getDonationById(id);
             return donation.map(d -> new ResponseEntity<>(d, HttpStatus.OK))
                           .orElse(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
         } catch (Exception e) {
@@ -95,13 +181,30 @@ public class DonationController {
         }
     }
 
+    /**
+     * Get the ledger history of a donation
+     */
+    @GetMapping("/{id}/history")
+    public ResponseEntity<List<LedgerEntrySummary>> getDonationHistory(@PathVariable Long id) {
+        try {
+            List<LedgerEntrySummary> history = donationService.getDonationHistory(id);
+            if (history.isEmpty()) {
+                return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
+            }
+            return new ResponseEntity<>(history, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error retrieving history of donation with ID: {}", id, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get donations by status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Donation>> getDonationsByStatus(@PathVariable DonationStatus status) {
+    public ResponseEntity<List<DonationSummary>> getDonationsByStatus(@PathVariable DonationStatus status) {
         try {
-            List<Donation> donations = donationService.findDonationsByStatus(status);
+            List<DonationSummary> donations = donationService.findDonationsByStatus(status);
             return new ResponseEntity<>(donations, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving donations by status: {}", status, e);
@@ -113,9 +216,9 @@ public class DonationController {
      * Get donations by donor email
      */
     @GetMapping("/donor")
-    public ResponseEntity<List<Donation>> getDonationsByDonorEmail(@RequestParam String email) {
+    public ResponseEntity<List<DonationSummary>> getDonationsByDonorEmail(@RequestParam String email) {
         try {
-            List<Donation> donations = donationService.findDonationsByDonorEmail(email);
+            List<DonationSummary> donations = donationService.findDonationsByDonorEmail(email);
             return new ResponseEntity<>(donations, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving donations by donor email: {}", email, e);
@@ -127,9 +230,9 @@ public class DonationController {
      * Get donations by project
      */
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Donation>> getDonationsByProject(@PathVariable Long projectId) {
+    public ResponseEntity<List<DonationSummary>> getDonationsByProject(@PathVariable Long projectId) {
         try {
-            List<Donation> donations = donationService.findDonationsByProject(projectId);
+            List<DonationSummary> donations = donationService.findDonationsByProject(projectId);
             return new ResponseEntity<>(donations, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving donations by project ID: {}", projectId, e);
@@ -141,9 +244,9 @@ public class DonationController {
      * Get recent donations
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<Donation>> getRecentDonations(@RequestParam(defaultValue = "30") int days) {
+    public ResponseEntity<List<DonationSummary>> getRecentDonations(@RequestParam(defaultValue = "30") int days) {
         try {
-            List<Donation> donations = donationService.getRecentDonations(days);
+            List<DonationSummary> donations = donationService.getRecentDonations(days);
             return new ResponseEntity<>(donations, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving recent donations", e);
@@ -155,9 +258,9 @@ public class DonationController {
      * Get large donations
      */
     @GetMapping("/large")
-    public ResponseEntity<List<Donation>> getLargeDonations(@RequestParam BigDecimal minAmount) {
+    public ResponseEntity<List<DonationSummary>> getLargeDonations(@RequestParam BigDecimal minAmount) {
         try {
-            List<Donation> donations = donationService.findLargeDonations(minAmount);
+            List<DonationSummary> donations = donationService.findLargeDonations(minAmount);
             return new ResponseEntity<>(donations, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving large donations", e);
@@ -169,10 +272,10 @@ public class DonationController {
      * Refund a donation
      */
     @PostMapping("/{id}/refund")
-    public ResponseEntity<Donation> refundDonation(@PathVariable Long id) {
+    public ResponseEntity<DonationSummary> refundDonation(@PathVariable Long id) {
         try {
             Donation refundedDonation = donationService.refundDonation(id);
-            return new ResponseEntity<>(refundedDonation, HttpStatus.OK);
+            return new ResponseEntity<>(DonationSummary.of(refundedDonation), HttpStatus.OK);
         } catch (RuntimeException e) {
             logger.error("Error refunding donation: {}", e.getMessage());
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
@@ -197,12 +300,18 @@ public class DonationController {
     }
 
     /**
-     * Get top donors
+     * Get the top donors, optionally for one project and for the last given days
      */
     @GetMapping("/top-donors")
-    public ResponseEntity<List<Object[]>> getTopDonors() {
+    public ResponseEntity<List<DonorTotal>> getTopDonors(@RequestParam(defaultValue = "10") int limit,
+                                                         @RequestParam(required = false) Long projectId,
+                                                         @RequestParam(required = false) Integer days) {
+        if (limit < 1 || limit > MAX_TOP_DONORS || (days != null && days < 1)) {
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        }
         try {
-            List<Object[]> topDonors = donationService.getTopDonors();
+            LocalDateTime since = days != null ? LocalDateTime.now().minusDays(days) : null;
+            List<DonorTotal> topDonors = donationService.getTopDonors(limit, projectId, since);
             return new ResponseEntity<>(topDonors, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving top donors", e);
@@ -1,5 +1,8 @@
 package com.wwf.application.controller;
 
+import com.wwf.application.dto.BulkCreateResult;
+import com.wwf.application.dto.CursorPage;
+import com.wwf.application.dto.SpeciesSummary;
 import com.wwf.application.model.ConservationStatus;
 import com.wwf.application.model.WildlifeSpecies;
 import com.wwf.application.service.WildlifeSpeciesService;
@@ -35,10 +38,10 @@ public class WildlifeSpeciesController {
      * Create a new wildlife species
      */
     @PostMapping
-    public ResponseEntity<WildlifeSpecies> createSpecies(@Valid @RequestBody WildlifeSpecies species) {
+    public ResponseEntity<SpeciesSummary> createSpecies(@Valid @RequestBody WildlifeSpecies species) {
         try {
             WildlifeSpecies createdSpecies = speciesService.createSpecies(species);
-            return new ResponseEntity<>(createdSpecies, HttpStatus.CREATED);
+            return new ResponseEntity<>(SpeciesSummary.of(createdSpecies), HttpStatus.CREATED);
         } catch (IllegalArgumentException e) {
             logger.error("Invalid species data: {}", e.getMessage());
             return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
@@ -48,13 +51,30 @@ public class WildlifeSpeciesController {
         }
     }
 
+    /**
+     * Create many wildlife species in a single request
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BulkCreateResult> createSpeciesBatch(@RequestBody List<@Valid WildlifeSpecies> species) {
+        try {
+            BulkCreateResult result = speciesService.createSpeciesBatch(species);
+            return new ResponseEntity<>(result, HttpStatus.CREATED);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid species batch: {}", e.getMessage());
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
+        } catch (Exception e) {
+            logger.error("Error creating species batch", e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get all wildlife species
      */
     @GetMapping
-    public ResponseEntity<List<WildlifeSpecies>> getAllSpecies() {
+    public ResponseEntity<List<SpeciesSummary>> getAllSpecies() {
         try {
-            List<WildlifeSpecies> species = speciesService.getAllSpecies();
+            List<SpeciesSummary> species = speciesService.getAllSpecies();
             return new ResponseEntity<>(species, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving all species", e);
@@ -62,13 +82,28 @@ public class WildlifeSpeciesController {
         }
     }
 
+    /**
+     * Get a page of species using keyset pagination
+     */
+    @GetMapping("/page")
+    public ResponseEntity<CursorPage<SpeciesSummary>> getSpeciesPage(@RequestParam(required = false) Long after,
+                                                                      @RequestParam(defaultValue = "100") int size) {
+        try {
+            CursorPage<SpeciesSummary> page = speciesService.getSpeciesPage(after, CursorPage.normalizeSize(size));
+            return new ResponseEntity<>(page, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error retrieving page of species after ID: {}", after, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get species by ID
      */
     @GetMapping("/{id}")
-    public ResponseEntity<WildlifeSpecies> getSpeciesById(@PathVariable Long id) {
+    public ResponseEntity<SpeciesSummary> getSpeciesById(@PathVariable Long id) {
         try {
-            Optional<WildlifeSpecies> species = speciesService.getSpeciesById(id);
+            Optional<SpeciesSummary> species = speciesService.getSpeciesById(id);
             return species.map(s -> new ResponseEntity<>(s, HttpStatus.OK))
                          .orElse(new ResponseEntity<>(null, HttpStatus.NOT_FOUND));
         } catch (Exception e) {
@@ -81,11 +116,11 @@ public class WildlifeSpeciesController {
      * Update species by ID
      */
     @PutMapping("/{id}")
-    public ResponseEntity<WildlifeSpecies> updateSpecies(@PathVariable Long id, 
+    public ResponseEntity<SpeciesSummary> updateSpecies(@PathVariable Long id, 
                                                        @Valid @RequestBody WildlifeSpecies species) {
         try {
             WildlifeSpecies updatedSpecies = speciesService.updateSpecies(id, species);
-            return new ResponseEntity<>(updatedSpecies, HttpStatus.OK);
+            return new ResponseEntity<>(SpeciesSummary.of(updatedSpecies), HttpStatus.OK);
         } catch (RuntimeException e) {
             logger.error("Species not found with ID: {}", id);
             return new ResponseEntity<>(null, HttpStatus.NOT_FOUND);
@@ -113,26 +148,46 @@ public class WildlifeSpeciesController {
     }
 
     /**
-     * Search species by name
+     * Search species by name, best match first
      */
     @GetMapping("/search")
-    public ResponseEntity<List<WildlifeSpecies>> searchSpeciesByName(@RequestParam String name) {
+    public ResponseEntity<List<SpeciesSummary>> searchSpeciesByName(@RequestParam String name,
+                                                                     @RequestParam(defaultValue = "0") int page,
+                                                                     @RequestParam(defaultValue = "20") int size) {
         try {
-            List<WildlifeSpecies> species = speciesService.findSpeciesByName(name);
+            List<SpeciesSummary> species = speciesService.findSpeciesByName(name, page, size);
             return new ResponseEntity<>(species, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid species search: {}", e.getMessage());
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error searching species by name: {}", name, e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Autocomplete species names
+     */
+    @GetMapping("/search/suggest")
+    public ResponseEntity<List<String>> suggestSpeciesNames(@RequestParam String prefix,
+                                                            @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<String> names = speciesService.suggestSpeciesNames(prefix, limit);
+            return new ResponseEntity<>(names, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error suggesting species names: {}", prefix, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get species by conservation status
      */
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<WildlifeSpecies>> getSpeciesByStatus(@PathVariable ConservationStatus status) {
+    public ResponseEntity<List<SpeciesSummary>> getSpeciesByStatus(@PathVariable ConservationStatus status) {
         try {
-            List<WildlifeSpecies> species = speciesService.findSpeciesByConservationStatus(status);
+            List<SpeciesSummary> species = speciesService.findSpeciesByConservationStatus(status);
             return new ResponseEntity<>(species, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving species by status: {}", status, e);
@@ -144,9 +199,9 @@ public class WildlifeSpeciesController {
      * Get endangered species
      */
     @GetMapping("/endangered")
-    public ResponseEntity<List<WildlifeSpecies>> getEndangeredSpecies() {
+    public ResponseEntity<List<SpeciesSummary>> getEndangeredSpecies() {
         try {
-            List<WildlifeSpecies> species = speciesService.getEndangeredSpecies();
+            List<SpeciesSummary> species = speciesService.getEndangeredSpecies();
             return new ResponseEntity<>(species, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving endangered species", e);
@@ -155,26 +210,46 @@ public class WildlifeSpeciesController {
     }
 
     /**
-     * Search species by habitat
+     * Search species by habitat, best match first
      */
     @GetMapping("/habitat")
-    public ResponseEntity<List<WildlifeSpecies>> getSpeciesByHabitat(@RequestParam String habitat) {
+    public ResponseEntity<List<SpeciesSummary>> getSpeciesByHabitat(@RequestParam String habitat,
+                                                                     @RequestParam(defaultValue = "0") int page,
+                                                                     @RequestParam(defaultValue = "20") int size) {
         try {
-            List<WildlifeSpecies> species = speciesService.findSpeciesByHabitat(habitat);
+            List<SpeciesSummary> species = speciesService.findSpeciesByHabitat(habitat, page, size);
             return new ResponseEntity<>(species, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid habitat search: {}", e.getMessage());
+            return new ResponseEntity<>(null, HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             logger.error("Error searching species by habitat: {}", habitat, e);
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
+    /**
+     * Autocomplete habitats
+     */
+    @GetMapping("/habitat/suggest")
+    public ResponseEntity<List<String>> suggestHabitats(@RequestParam String prefix,
+                                                        @RequestParam(defaultValue = "10") int limit) {
+        try {
+            List<String> habitats = speciesService.suggestHabitats(prefix, limit);
+            return new ResponseEntity<>(habitats, HttpStatus.OK);
+        } catch (Exception e) {
+            logger.error("Error suggesting habitats: {}", prefix, e);
+            return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
+        }
+    }
+
     /**
      * Get species with low population
      */
     @GetMapping("/low-population")
-    public ResponseEntity<List<WildlifeSpecies>> getSpeciesWithLowPopulation(@RequestParam Integer maxPopulation) {
+    public ResponseEntity<List<SpeciesSummary>> getSpeciesWithLowPopulation(@RequestParam Integer maxPopulation) {
         try {
-            List<WildlifeSpecies> species = speciesService.findSpeciesWithLowPopulation(maxPopulation);
+            List<SpeciesSummary> species = speciesService.findSpeciesWithLowPopulation(maxPopulation);
             return new ResponseEntity<>(species, HttpStatus.OK);
         } catch (Exception e) {
             logger.error("Error retrieving species with low population", e);
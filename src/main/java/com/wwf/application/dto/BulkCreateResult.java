@@ -0,0 +1,9 @@
+package com.wwf.application.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk create request: the number of rows inserted and their generated ids
+ */
+public record BulkCreateResult(int created, List<Long> ids) {
+}
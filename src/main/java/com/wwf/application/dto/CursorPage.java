@@ -0,0 +1,46 @@
+package com.wwf.application.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A page of results fetched with keyset pagination.
+ *
+ * The next page is requested by passing {@code nextCursor} as the {@code after} parameter;
+ * a null cursor means there are no further results.
+ */
+public class CursorPage<T> {
+
+    public static final int MAX_SIZE = 1000;
+
+    private final List<T> items;
+    private final Long nextCursor;
+
+    public CursorPage(List<T> items, Long nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * Build a page from items ordered by ascending id, fetched with the given page size
+     */
+    public static <T> CursorPage<T> of(List<T> items, int size, Function<T, Long> idExtractor) {
+        Long nextCursor = items.size() == size ? idExtractor.apply(items.get(items.size() - 1)) : null;
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    /**
+     * Clamp a requested page size to the supported range
+     */
+    public static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+}
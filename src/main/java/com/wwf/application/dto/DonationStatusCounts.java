@@ -0,0 +1,12 @@
+package com.wwf.application.dto;
+
+import com.wwf.application.model.DonationStatus;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Number of processed donations per status in the events retained since retainedSince
+ */
+public record DonationStatusCounts(LocalDateTime retainedSince, Map<DonationStatus, Long> counts) {
+}
@@ -0,0 +1,32 @@
+package com.wwf.application.dto;
+
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.DonationStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a donation, selected directly by repository queries
+ */
+public record DonationSummary(Long id,
+                              BigDecimal amount,
+                              String donorName,
+                              String donorEmail,
+                              String message,
+                              Long projectId,
+                              DonationStatus status,
+                              String transactionId,
+                              LocalDateTime createdAt,
+                              LocalDateTime processedAt) {
+
+    /**
+     * Summary of a loaded donation; reading the id of a lazy project does not initialize it
+     */
+    public static DonationSummary of(Donation donation) {
+        return new DonationSummary(donation.getId(), donation.getAmount(), donation.getDonorName(),
+            donation.getDonorEmail(), donation.getMessage(),
+            donation.getProject() != null ? donation.getProject().getId() : null,
+            donation.getStatus(), donation.getTransactionId(), donation.getCreatedAt(), donation.getProcessedAt());
+    }
+}
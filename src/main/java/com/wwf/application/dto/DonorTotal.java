@@ -0,0 +1,9 @@
+package com.wwf.application.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Estimated donation total of a donor; the true total is at most maxOverestimate lower
+ */
+public record DonorTotal(String donor, BigDecimal total, BigDecimal maxOverestimate) {
+}
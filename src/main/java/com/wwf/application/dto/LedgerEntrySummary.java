@@ -0,0 +1,18 @@
+package com.wwf.application.dto;
+
+import com.wwf.application.model.LedgerEntryType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a donation ledger entry, selected directly by repository queries
+ */
+public record LedgerEntrySummary(Long id,
+                                 Long donationId,
+                                 Long projectId,
+                                 LedgerEntryType entryType,
+                                 BigDecimal amount,
+                                 BigDecimal fundsDelta,
+                                 LocalDateTime recordedAt) {
+}
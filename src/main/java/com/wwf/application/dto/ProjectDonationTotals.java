@@ -0,0 +1,16 @@
+package com.wwf.application.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Net donations of a project in the events retained since retainedSince, in total and per
+ * time window, oldest first
+ */
+public record ProjectDonationTotals(Long projectId, BigDecimal total, LocalDateTime retainedSince,
+                                    List<Window> windows) {
+
+    public record Window(LocalDateTime start, LocalDateTime end, BigDecimal total) {
+    }
+}
@@ -0,0 +1,38 @@
+package com.wwf.application.dto;
+
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.model.ProjectStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a project, selected directly by repository queries. The species is
+ * referenced by id; the version is returned so clients can send it back with updates.
+ */
+public record ProjectSummary(Long id,
+                             String name,
+                             String description,
+                             LocalDate startDate,
+                             LocalDate endDate,
+                             BigDecimal budget,
+                             BigDecimal fundsRaised,
+                             ProjectStatus status,
+                             String location,
+                             Long speciesId,
+                             LocalDateTime createdAt,
+                             LocalDateTime updatedAt,
+                             Long version) {
+
+    /**
+     * Summary of a loaded project; reading the id of a lazy species does not initialize it
+     */
+    public static ProjectSummary of(ConservationProject project) {
+        return new ProjectSummary(project.getId(), project.getName(), project.getDescription(),
+            project.getStartDate(), project.getEndDate(), project.getBudget(), project.getFundsRaised(),
+            project.getStatus(), project.getLocation(),
+            project.getSpecies() != null ? project.getSpecies().getId() : null,
+            project.getCreatedAt(), project.getUpdatedAt(), project.getVersion());
+    }
+}
@@ -0,0 +1,7 @@
+package com.wwf.application.dto;
+
+/**
+ * Outcome of a dead-letter replay: the DLT read, the topic written to and the records replayed
+ */
+public record ReplayResult(String deadLetterTopic, String targetTopic, int replayed) {
+}
@@ -0,0 +1,26 @@
+package com.wwf.application.dto;
+
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.WildlifeSpecies;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of a species, selected directly by repository queries
+ */
+public record SpeciesSummary(Long id,
+                             String name,
+                             String scientificName,
+                             ConservationStatus conservationStatus,
+                             String description,
+                             String habitat,
+                             Integer populationEstimate,
+                             LocalDateTime createdAt,
+                             LocalDateTime updatedAt) {
+
+    public static SpeciesSummary of(WildlifeSpecies species) {
+        return new SpeciesSummary(species.getId(), species.getName(), species.getScientificName(),
+            species.getConservationStatus(), species.getDescription(), species.getHabitat(),
+            species.getPopulationEstimate(), species.getCreatedAt(), species.getUpdatedAt());
+    }
+}
@@ -0,0 +1,87 @@
+package com.wwf.application.kafka;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryDecoder;
+import org.apache.avro.io.DatumReader;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads events written by {@link AvroEventSerializer}, resolving the schema they were
+ * written with against the latest registered version of the same event.
+ *
+ * Records without the Avro magic byte are handed to a JSON deserializer, so topics can be
+ * switched from JSON to Avro while older records are still being consumed.
+ */
+public class AvroEventDeserializer implements Deserializer<Object> {
+
+    private final AvroSchemaRegistry registry;
+    private final JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+    private final Map<Integer, DatumReader<GenericRecord>> readers = new ConcurrentHashMap<>();
+
+    public AvroEventDeserializer() {
+        this(AvroSchemaRegistry.fromClasspath());
+    }
+
+    public AvroEventDeserializer(AvroSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public Object deserialize(String topic, byte[] data) {
+        return deserialize(topic, null, data);
+    }
+
+    @Override
+    public Object deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        if (data.length == 0 || data[0] != AvroEventSerializer.MAGIC_BYTE) {
+            return headers == null ? jsonDeserializer.deserialize(topic, data)
+                : jsonDeserializer.deserialize(topic, headers, data);
+        }
+        if (data.length < 5) {
+            throw new SerializationException("Avro record too short: " + data.length + " bytes");
+        }
+
+        int schemaId = ByteBuffer.wrap(data, 1, 4).getInt();
+        try {
+            DatumReader<GenericRecord> reader = readers.computeIfAbsent(schemaId, this::createReader);
+            BinaryDecoder decoder = DecoderFactory.get().binaryDecoder(data, 5, data.length - 5, null);
+            GenericRecord record = reader.read(null, decoder);
+            return AvroEventMapper.fromRecord(record, Class.forName(record.getSchema().getFullName()));
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            throw new SerializationException("Failed to deserialize Avro record with schema " + schemaId, e);
+        }
+    }
+
+    /**
+     * Reader from the schema a record was written with to the latest version of that event
+     */
+    private DatumReader<GenericRecord> createReader(int writerId) {
+        Schema writer = registry.getById(writerId);
+        Schema reader = registry.getById(registry.getLatestId(writer.getFullName()));
+        return new GenericDatumReader<>(writer, reader);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,165 @@
+package com.wwf.application.kafka;
+
+import org.apache.avro.LogicalType;
+import org.apache.avro.LogicalTypes;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Copies events to and from Avro records, driven by the schema: every schema field maps to
+ * the bean property of the same name. UUIDs travel as 16-byte fixed values, timestamps and
+ * dates as numbers and amounts as scaled decimals.
+ */
+final class AvroEventMapper {
+
+    private static final Map<Class<?>, Map<Schema, List<Property>>> bindings = new ConcurrentHashMap<>();
+
+    private AvroEventMapper() {
+    }
+
+    static GenericRecord toRecord(Object event, Schema schema) {
+        GenericRecord record = new GenericData.Record(schema);
+        for (Property property : binding(event.getClass(), schema)) {
+            Object value = property.getter == null ? null : invoke(property.getter, event);
+            record.put(property.field.pos(), toAvro(value, property.field.schema()));
+        }
+        return record;
+    }
+
+    static <T> T fromRecord(GenericRecord record, Class<T> type) {
+        T event = BeanUtils.instantiateClass(type);
+        for (Property property : binding(type, record.getSchema())) {
+            if (property.setter != null) {
+                Object value = fromAvro(record.get(property.field.pos()), property.field.schema(), property.type);
+                invoke(property.setter, event, value);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * Accessors of the bean properties named like the schema fields, resolved once per class and schema
+     */
+    private static List<Property> binding(Class<?> type, Schema schema) {
+        return bindings.computeIfAbsent(type, t -> new ConcurrentHashMap<>()).computeIfAbsent(schema, s -> {
+            List<Property> properties = new ArrayList<>();
+            for (Schema.Field field : s.getFields()) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, field.name());
+                if (descriptor == null) {
+                    properties.add(new Property(field, null, null, null));
+                } else {
+                    properties.add(new Property(field, descriptor.getReadMethod(), descriptor.getWriteMethod(),
+                        descriptor.getPropertyType()));
+                }
+            }
+            return properties;
+        });
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to call " + method, e);
+        }
+    }
+
+    private record Property(Schema.Field field, Method getter, Method setter, Class<?> type) {
+    }
+
+    private static Object toAvro(Object value, Schema schema) {
+        if (value == null) {
+            return null;
+        }
+        schema = nonNull(schema);
+        LogicalType logicalType = schema.getLogicalType();
+        if (logicalType instanceof LogicalTypes.LocalTimestampMillis) {
+            return ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        if (logicalType instanceof LogicalTypes.Date) {
+            return (int) ((LocalDate) value).toEpochDay();
+        }
+        if (logicalType instanceof LogicalTypes.Decimal decimal) {
+            BigDecimal scaled = ((BigDecimal) value).setScale(decimal.getScale(), RoundingMode.HALF_UP);
+            return ByteBuffer.wrap(scaled.unscaledValue().toByteArray());
+        }
+        switch (schema.getType()) {
+            case FIXED:
+                UUID uuid = UUID.fromString(value.toString());
+                ByteBuffer bytes = ByteBuffer.allocate(16);
+                bytes.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+                return new GenericData.Fixed(schema, bytes.array());
+            case ENUM:
+                return new GenericData.EnumSymbol(schema, ((Enum<?>) value).name());
+            case STRING:
+                return value.toString();
+            default:
+                return value;
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object fromAvro(Object value, Schema schema, Class<?> type) {
+        if (value == null) {
+            return null;
+        }
+        schema = nonNull(schema);
+        LogicalType logicalType = schema.getLogicalType();
+        if (logicalType instanceof LogicalTypes.LocalTimestampMillis) {
+            return LocalDateTime.ofInstant(Instant.ofEpochMilli((Long) value), ZoneOffset.UTC);
+        }
+        if (logicalType instanceof LogicalTypes.Date) {
+            return LocalDate.ofEpochDay((Integer) value);
+        }
+        if (logicalType instanceof LogicalTypes.Decimal decimal) {
+            ByteBuffer buffer = ((ByteBuffer) value).duplicate();
+            byte[] unscaled = new byte[buffer.remaining()];
+            buffer.get(unscaled);
+            return new BigDecimal(new BigInteger(unscaled), decimal.getScale());
+        }
+        switch (schema.getType()) {
+            case FIXED:
+                ByteBuffer bytes = ByteBuffer.wrap(((GenericData.Fixed) value).bytes());
+                return new UUID(bytes.getLong(), bytes.getLong()).toString();
+            case ENUM:
+                return Enum.valueOf((Class<Enum>) type, value.toString());
+            case STRING:
+                return value.toString();
+            default:
+                return value;
+        }
+    }
+
+    /**
+     * The non-null branch of an optional field
+     */
+    private static Schema nonNull(Schema schema) {
+        if (schema.getType() != Schema.Type.UNION) {
+            return schema;
+        }
+        for (Schema branch : schema.getTypes()) {
+            if (branch.getType() != Schema.Type.NULL) {
+                return branch;
+            }
+        }
+        return schema;
+    }
+}
@@ -0,0 +1,63 @@
+package com.wwf.application.kafka;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DatumWriter;
+import org.apache.avro.io.EncoderFactory;
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes events as Avro binary with the latest registered schema of their class.
+ *
+ * Each record starts with a zero magic byte and the 4-byte schema id, followed by the Avro
+ * encoding, which holds field values only: no field names and no type headers.
+ */
+public class AvroEventSerializer implements Serializer<Object> {
+
+    static final byte MAGIC_BYTE = 0;
+
+    private final AvroSchemaRegistry registry;
+    private final Map<Integer, DatumWriter<GenericRecord>> writers = new ConcurrentHashMap<>();
+
+    public AvroEventSerializer() {
+        this(AvroSchemaRegistry.fromClasspath());
+    }
+
+    public AvroEventSerializer(AvroSchemaRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object event) {
+        if (event == null) {
+            return null;
+        }
+        int schemaId = registry.getLatestId(event.getClass().getName());
+        Schema schema = registry.getById(schemaId);
+        DatumWriter<GenericRecord> writer = writers.computeIfAbsent(schemaId, id -> new GenericDatumWriter<>(schema));
+
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(128);
+            out.write(MAGIC_BYTE);
+            out.write(schemaId >>> 24);
+            out.write(schemaId >>> 16);
+            out.write(schemaId >>> 8);
+            out.write(schemaId);
+            BinaryEncoder encoder = EncoderFactory.get().directBinaryEncoder(out, null);
+            writer.write(AvroEventMapper.toRecord(event, schema), encoder);
+            encoder.flush();
+            return out.toByteArray();
+        } catch (IOException | RuntimeException e) {
+            throw new SerializationException("Failed to serialize " + event.getClass().getSimpleName()
+                + " with schema " + schemaId, e);
+        }
+    }
+}
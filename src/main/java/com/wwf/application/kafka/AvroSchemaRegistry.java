@@ -0,0 +1,98 @@
+package com.wwf.application.kafka;
+
+import org.apache.avro.Schema;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * File-based stand-in for a schema registry.
+ *
+ * Schemas are listed by id in {@code avro/schemas.properties} on the classpath. Every
+ * Avro-encoded record carries the id of the schema it was written with, and readers resolve
+ * it against the latest version of the same record, so events can evolve by adding
+ * versions under new ids. The wire format matches a Confluent schema registry, which can
+ * replace this class without re-encoding data.
+ */
+public class AvroSchemaRegistry {
+
+    private static final String REGISTRY = "avro/schemas.properties";
+
+    private static volatile AvroSchemaRegistry classpathRegistry;
+
+    private final Map<Integer, Schema> schemasById = new HashMap<>();
+    private final Map<String, Integer> latestIdByName = new HashMap<>();
+
+    public AvroSchemaRegistry(Map<Integer, Schema> schemas) {
+        // Ascending ids, so the last id seen for a record name is its latest version
+        new TreeMap<>(schemas).forEach((id, schema) -> {
+            schemasById.put(id, schema);
+            latestIdByName.put(schema.getFullName(), id);
+        });
+    }
+
+    /**
+     * The registry of the schemas shipped with the application
+     */
+    public static AvroSchemaRegistry fromClasspath() {
+        if (classpathRegistry == null) {
+            synchronized (AvroSchemaRegistry.class) {
+                if (classpathRegistry == null) {
+                    classpathRegistry = load(REGISTRY);
+                }
+            }
+        }
+        return classpathRegistry;
+    }
+
+    private static AvroSchemaRegistry load(String registry) {
+        ClassLoader classLoader = AvroSchemaRegistry.class.getClassLoader();
+        String directory = registry.substring(0, registry.lastIndexOf('/') + 1);
+        try (InputStream in = classLoader.getResourceAsStream(registry)) {
+            if (in == null) {
+                throw new IllegalStateException("Schema registry not found: " + registry);
+            }
+            Properties entries = new Properties();
+            entries.load(in);
+
+            Map<Integer, Schema> schemas = new HashMap<>();
+            for (String id : entries.stringPropertyNames()) {
+                String file = directory + entries.getProperty(id).trim();
+                try (InputStream schema = classLoader.getResourceAsStream(file)) {
+                    if (schema == null) {
+                        throw new IllegalStateException("Schema file not found: " + file);
+                    }
+                    // One parser per file, as versions of a record redefine the same names
+                    schemas.put(Integer.parseInt(id.trim()), new Schema.Parser().parse(schema));
+                }
+            }
+            return new AvroSchemaRegistry(schemas);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load schema registry " + registry, e);
+        }
+    }
+
+    public Schema getById(int id) {
+        Schema schema = schemasById.get(id);
+        if (schema == null) {
+            throw new IllegalArgumentException("Unknown schema id: " + id);
+        }
+        return schema;
+    }
+
+    /**
+     * Id of the latest schema version of a record, by full name
+     */
+    public int getLatestId(String fullName) {
+        Integer id = latestIdByName.get(fullName);
+        if (id == null) {
+            throw new IllegalArgumentException("No schema registered for " + fullName);
+        }
+        return id;
+    }
+}
@@ -0,0 +1,119 @@
+package com.wwf.application.kafka;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Names and delays of the non-blocking retry topology of the event topics.
+ *
+ * A record that fails on {@code <topic>} moves to {@code <topic>.retry-0}, then to
+ * {@code <topic>.retry-1} and so on, each tier delaying redelivery exponentially longer.
+ * After the last tier, or straight away for records that can never succeed, it lands in
+ * {@code <topic>.DLT}. Records in a retry tier carry the time they become due in a header.
+ */
+@Component
+public class EventRetryTopology {
+
+    public static final List<String> EVENT_TOPICS = List.of(
+        "wwf.species.events", "wwf.project.events", "wwf.donation.events");
+
+    public static final String DUE_AT_HEADER = "wwf_retry_due_at";
+
+    private static final String RETRY_SUFFIX = ".retry-";
+    private static final String DLT_SUFFIX = ".DLT";
+
+    private final int attempts;
+    private final long initialDelayMs;
+    private final double multiplier;
+    private final long maxDelayMs;
+
+    public EventRetryTopology(@Value("${wwf.kafka.retry.attempts:3}") int attempts,
+                              @Value("${wwf.kafka.retry.initial-delay-ms:1000}") long initialDelayMs,
+                              @Value("${wwf.kafka.retry.multiplier:4.0}") double multiplier,
+                              @Value("${wwf.kafka.retry.max-delay-ms:60000}") long maxDelayMs) {
+        if (attempts < 0) {
+            throw new IllegalArgumentException("Retry attempts must not be negative, got " + attempts);
+        }
+        if (initialDelayMs < 0 || multiplier < 1.0 || maxDelayMs < initialDelayMs) {
+            throw new IllegalArgumentException("Invalid retry backoff: initial " + initialDelayMs
+                + " ms, multiplier " + multiplier + ", max " + maxDelayMs + " ms");
+        }
+        this.attempts = attempts;
+        this.initialDelayMs = initialDelayMs;
+        this.multiplier = multiplier;
+        this.maxDelayMs = maxDelayMs;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    /**
+     * All retry tier topics of an event topic, in order
+     */
+    public String[] retryTopics(String topic) {
+        String[] topics = new String[attempts];
+        for (int tier = 0; tier < attempts; tier++) {
+            topics[tier] = retryTopic(topic, tier);
+        }
+        return topics;
+    }
+
+    public String retryTopic(String topic, int tier) {
+        return baseTopic(topic) + RETRY_SUFFIX + tier;
+    }
+
+    public String deadLetterTopic(String topic) {
+        return baseTopic(topic) + DLT_SUFFIX;
+    }
+
+    /**
+     * The event topic a main, retry or dead-letter topic belongs to
+     */
+    public String baseTopic(String topic) {
+        if (topic.endsWith(DLT_SUFFIX)) {
+            return topic.substring(0, topic.length() - DLT_SUFFIX.length());
+        }
+        int retry = topic.lastIndexOf(RETRY_SUFFIX);
+        return retry < 0 ? topic : topic.substring(0, retry);
+    }
+
+    /**
+     * Retry tier of a topic, or -1 for the event topic itself
+     */
+    public int tierOf(String topic) {
+        int retry = topic.lastIndexOf(RETRY_SUFFIX);
+        if (retry < 0 || topic.endsWith(DLT_SUFFIX)) {
+            return -1;
+        }
+        return Integer.parseInt(topic.substring(retry + RETRY_SUFFIX.length()));
+    }
+
+    /**
+     * Where a record that failed on the given topic goes next
+     */
+    public String nextTopic(String topic) {
+        int next = tierOf(topic) + 1;
+        return next < attempts ? retryTopic(topic, next) : deadLetterTopic(topic);
+    }
+
+    /**
+     * Delay before a record in the given retry tier is redelivered
+     */
+    public long delayMs(int tier) {
+        return (long) Math.min(initialDelayMs * Math.pow(multiplier, tier), maxDelayMs);
+    }
+
+    /**
+     * Epoch millis at which a record becomes due, or 0 if it carries no due time
+     */
+    public long dueAt(ConsumerRecord<?, ?> record) {
+        Header header = record.headers().lastHeader(DUE_AT_HEADER);
+        return header == null ? 0 : Long.parseLong(new String(header.value(), StandardCharsets.UTF_8));
+    }
+}
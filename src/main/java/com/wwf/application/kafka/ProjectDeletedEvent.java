@@ -0,0 +1,45 @@
+package com.wwf.application.kafka;
+
+/**
+ * Event published when a conservation project is deleted
+ */
+public class ProjectDeletedEvent extends BaseEvent {
+
+    private Long projectId;
+    private Long speciesId;
+
+    public ProjectDeletedEvent() {
+        super("PROJECT_DELETED");
+    }
+
+    public ProjectDeletedEvent(Long projectId, Long speciesId) {
+        this();
+        this.projectId = projectId;
+        this.speciesId = speciesId;
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public Long getSpeciesId() {
+        return speciesId;
+    }
+
+    public void setSpeciesId(Long speciesId) {
+        this.speciesId = speciesId;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectDeletedEvent{" +
+                "projectId=" + projectId +
+                ", speciesId=" + speciesId +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.wwf.application.kafka;
+
+import com.wwf.application.model.ProjectStatus;
+
+/**
+ * Event published when a conservation project is updated
+ */
+public class ProjectUpdatedEvent extends BaseEvent {
+
+    private Long projectId;
+    private String projectName;
+    private ProjectStatus status;
+    private Long speciesId;
+
+    public ProjectUpdatedEvent() {
+        super("PROJECT_UPDATED");
+    }
+
+    public ProjectUpdatedEvent(Long projectId, String projectName, ProjectStatus status) {
+        this();
+        this.projectId = projectId;
+        this.projectName = projectName;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectName() {
+        return projectName;
+    }
+
+    public void setProjectName(String projectName) {
+        this.projectName = projectName;
+    }
+
+    public ProjectStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ProjectStatus status) {
+        this.status = status;
+    }
+
+    public Long getSpeciesId() {
+        return speciesId;
+    }
+
+    public void setSpeciesId(Long speciesId) {
+        this.speciesId = speciesId;
+    }
+
+    @Override
+    public String toString() {
+        return "ProjectUpdatedEvent{" +
+                "projectId=" + projectId +
+                ", projectName='" + projectName + '\'' +
+                ", status=" + status +
+                ", speciesId=" + speciesId +
+                "} " + super.toString();
+    }
+}
@@ -0,0 +1,34 @@
+package com.wwf.application.kafka;
+
+/**
+ * Event published when a wildlife species is deleted, along with its projects
+ */
+public class SpeciesDeletedEvent extends BaseEvent {
+
+    private Long speciesId;
+
+    public SpeciesDeletedEvent() {
+        super("SPECIES_DELETED");
+    }
+
+    public SpeciesDeletedEvent(Long speciesId) {
+        this();
+        this.speciesId = speciesId;
+    }
+
+    // Getters and Setters
+    public Long getSpeciesId() {
+        return speciesId;
+    }
+
+    public void setSpeciesId(Long speciesId) {
+        this.speciesId = speciesId;
+    }
+
+    @Override
+    public String toString() {
+        return "SpeciesDeletedEvent{" +
+                "speciesId=" + speciesId +
+                "} " + super.toString();
+    }
+}
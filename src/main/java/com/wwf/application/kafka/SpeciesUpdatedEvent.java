@@ -0,0 +1,58 @@
+package com.wwf.application.kafka;
+
+import com.wwf.application.model.ConservationStatus;
+
+/**
+ * Event published when a wildlife species is updated
+ */
+public class SpeciesUpdatedEvent extends BaseEvent {
+
+    private Long speciesId;
+    private String speciesName;
+    private ConservationStatus conservationStatus;
+
+    public SpeciesUpdatedEvent() {
+        super("SPECIES_UPDATED");
+    }
+
+    public SpeciesUpdatedEvent(Long speciesId, String speciesName, ConservationStatus conservationStatus) {
+        this();
+        this.speciesId = speciesId;
+        this.speciesName = speciesName;
+        this.conservationStatus = conservationStatus;
+    }
+
+    // Getters and Setters
+    public Long getSpeciesId() {
+        return speciesId;
+    }
+
+    public void setSpeciesId(Long speciesId) {
+        this.speciesId = speciesId;
+    }
+
+    public String getSpeciesName() {
+        return speciesName;
+    }
+
+    public void setSpeciesName(String speciesName) {
+        this.speciesName = speciesName;
+    }
+
+    public ConservationStatus getConservationStatus() {
+        return conservationStatus;
+    }
+
+    public void setConservationStatus(ConservationStatus conservationStatus) {
+        this.conservationStatus = conservationStatus;
+    }
+
+    @Override
+    public String toString() {
+        return "SpeciesUpdatedEvent{" +
+                "speciesId=" + speciesId +
+                ", speciesName='" + speciesName + '\'' +
+                ", conservationStatus=" + conservationStatus +
+                "} " + super.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package com.wwf.application.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -15,11 +16,13 @@ import java.time.LocalDateTime;
  * Represents a conservation project for wildlife protection
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "conservation_projects")
 public class ConservationProject {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "conservation_projects_seq")
+    @SequenceGenerator(name = "conservation_projects_seq", sequenceName = "conservation_projects_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Project name is required")
@@ -43,8 +46,12 @@ public class ConservationProject {
     @Column(name = "budget", nullable = false, precision = 15, scale = 2)
     private BigDecimal budget;
 
+    /**
+     * Only written on insert; afterwards it is changed exclusively through the atomic
+     * increment/decrement statements in ConservationProjectRepository
+     */
     @PositiveOrZero(message = "Funds raised must be positive or zero")
-    @Column(name = "funds_raised", precision = 15, scale = 2)
+    @Column(name = "funds_raised", precision = 15, scale = 2, updatable = false)
     private BigDecimal fundsRaised = BigDecimal.ZERO;
 
     @NotNull(message = "Project status is required")
@@ -66,6 +73,10 @@ public class ConservationProject {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version")
+    private Long version;
+
     // Constructors
     public ConservationProject() {
         this.createdAt = LocalDateTime.now();
@@ -186,6 +197,14 @@ public class ConservationProject {
         this.updatedAt = updatedAt;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @PreUpdate
     public void preUpdate() {
         this.updatedAt = LocalDateTime.now();
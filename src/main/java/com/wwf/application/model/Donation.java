@@ -1,5 +1,6 @@
 package com.wwf.application.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -13,11 +14,19 @@ import java.time.LocalDateTime;
  * Represents a donation made to WWF conservation efforts
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "donations")
+@NamedEntityGraph(name = Donation.WITH_PROJECT, attributeNodes = @NamedAttributeNode("project"))
 public class Donation {
 
+    /**
+     * Fetch plan loading the project together with the donation
+     */
+    public static final String WITH_PROJECT = "Donation.withProject";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donations_seq")
+    @SequenceGenerator(name = "donations_seq", sequenceName = "donations_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Amount is required")
@@ -54,6 +63,13 @@ public class Donation {
     @Column(name = "processed_at")
     private LocalDateTime processedAt;
 
+    /**
+     * Whether the amount of a completed donation has been added to its project's funds.
+     * FALSE while the amount is still held by the fund accumulator; null when not applicable.
+     */
+    @Column(name = "funds_applied")
+    private Boolean fundsApplied;
+
     // Constructors
     public Donation() {
         this.createdAt = LocalDateTime.now();
@@ -151,6 +167,14 @@ public class Donation {
         this.processedAt = processedAt;
     }
 
+    public Boolean getFundsApplied() {
+        return fundsApplied;
+    }
+
+    public void setFundsApplied(Boolean fundsApplied) {
+        this.fundsApplied = fundsApplied;
+    }
+
     @Override
     public String toString() {
         return "Donation{" +
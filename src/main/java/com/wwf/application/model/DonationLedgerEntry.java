@@ -0,0 +1,96 @@
+package com.wwf.application.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An entry in the donation ledger, appended for every state change of a donation and never
+ * changed apart from being marked as folded into its project's snapshot
+ */
+@Entity
+@Table(name = "donation_ledger")
+public class DonationLedgerEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "donation_ledger_seq")
+    @SequenceGenerator(name = "donation_ledger_seq", sequenceName = "donation_ledger_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "donation_id", nullable = false, updatable = false)
+    private Long donationId;
+
+    @Column(name = "project_id", updatable = false)
+    private Long projectId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entry_type", nullable = false, updatable = false)
+    private LedgerEntryType entryType;
+
+    @Column(name = "amount", nullable = false, precision = 15, scale = 2, updatable = false)
+    private BigDecimal amount;
+
+    /**
+     * What this entry adds to the donated funds of its project
+     */
+    @Column(name = "funds_delta", nullable = false, precision = 15, scale = 2, updatable = false)
+    private BigDecimal fundsDelta;
+
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+
+    /**
+     * Whether fundsDelta has been added to the snapshot of the project; set only by the snapshot run
+     */
+    @Column(name = "folded", nullable = false, updatable = false)
+    private Boolean folded = false;
+
+    // Constructors
+    public DonationLedgerEntry() {
+        this.recordedAt = LocalDateTime.now();
+    }
+
+    public DonationLedgerEntry(Long donationId, Long projectId, LedgerEntryType entryType,
+                               BigDecimal amount, BigDecimal fundsDelta) {
+        this();
+        this.donationId = donationId;
+        this.projectId = projectId;
+        this.entryType = entryType;
+        this.amount = amount;
+        this.fundsDelta = fundsDelta;
+    }
+
+    // Getters
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDonationId() {
+        return donationId;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public LedgerEntryType getEntryType() {
+        return entryType;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public BigDecimal getFundsDelta() {
+        return fundsDelta;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public Boolean getFolded() {
+        return folded;
+    }
+}
@@ -0,0 +1,27 @@
+package com.wwf.application.model;
+
+/**
+ * Donation ledger entry type enumeration
+ */
+public enum LedgerEntryType {
+    CREATED("Created"),
+    PROCESSING("Processing"),
+    COMPLETED("Completed"),
+    FAILED("Failed"),
+    REFUNDED("Refunded");
+
+    private final String displayName;
+
+    LedgerEntryType(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,59 @@
+package com.wwf.application.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Donated funds of a project folded from the ledger entries marked as folded
+ */
+@Entity
+@Table(name = "project_ledger_snapshots")
+public class ProjectLedgerSnapshot {
+
+    @Id
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "donated_funds", nullable = false, precision = 15, scale = 2)
+    private BigDecimal donatedFunds;
+
+    @Column(name = "taken_at", nullable = false)
+    private LocalDateTime takenAt;
+
+    // Constructors
+    public ProjectLedgerSnapshot() {
+    }
+
+    public ProjectLedgerSnapshot(Long projectId, BigDecimal donatedFunds, LocalDateTime takenAt) {
+        this.projectId = projectId;
+        this.donatedFunds = donatedFunds;
+        this.takenAt = takenAt;
+    }
+
+    // Getters and Setters
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public BigDecimal getDonatedFunds() {
+        return donatedFunds;
+    }
+
+    public void setDonatedFunds(BigDecimal donatedFunds) {
+        this.donatedFunds = donatedFunds;
+    }
+
+    public LocalDateTime getTakenAt() {
+        return takenAt;
+    }
+
+    public void setTakenAt(LocalDateTime takenAt) {
+        this.takenAt = takenAt;
+    }
+}
@@ -1,9 +1,13 @@
 package com.wwf.application.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -13,11 +17,30 @@ import java.util.List;
  * Represents a wildlife species in the WWF conservation database
  */
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 @Table(name = "wildlife_species")
+@NamedEntityGraph(name = WildlifeSpecies.WITH_PROJECTS, attributeNodes = @NamedAttributeNode("conservationProjects"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = WildlifeSpecies.CACHE_REGION)
 public class WildlifeSpecies {
 
+    /**
+     * Second-level cache region of species
+     */
+    public static final String CACHE_REGION = "species";
+
+    /**
+     * Query cache region of the endangered species list
+     */
+    public static final String ENDANGERED_QUERY_REGION = "endangeredSpeciesQuery";
+
+    /**
+     * Fetch plan loading the conservation projects together with the species
+     */
+    public static final String WITH_PROJECTS = "WildlifeSpecies.withProjects";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "wildlife_species_seq")
+    @SequenceGenerator(name = "wildlife_species_seq", sequenceName = "wildlife_species_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Species name is required")
@@ -52,6 +75,7 @@ public class WildlifeSpecies {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "species", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<ConservationProject> conservationProjects = new ArrayList<>();
 
@@ -0,0 +1,20 @@
+package com.wwf.application.payment;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Abstraction over the payment provider used to charge donations
+ */
+public interface PaymentGateway {
+
+    /**
+     * Charge a donation. Implementations must not block the calling thread
+     * while waiting on the provider.
+     *
+     * @param donationId the donation being charged, used as idempotency reference
+     * @param amount     the amount to charge
+     * @return a future completed with the outcome of the charge
+     */
+    CompletableFuture<PaymentResult> charge(Long donationId, BigDecimal amount);
+}
@@ -0,0 +1,46 @@
+package com.wwf.application.payment;
+
+/**
+ * Outcome of a payment attempt
+ */
+public class PaymentResult {
+
+    private final boolean success;
+    private final String transactionId;
+    private final String failureReason;
+
+    private PaymentResult(boolean success, String transactionId, String failureReason) {
+        this.success = success;
+        this.transactionId = transactionId;
+        this.failureReason = failureReason;
+    }
+
+    public static PaymentResult success(String transactionId) {
+        return new PaymentResult(true, transactionId, null);
+    }
+
+    public static PaymentResult failure(String failureReason) {
+        return new PaymentResult(false, null, failureReason);
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    public String getFailureReason() {
+        return failureReason;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentResult{" +
+                "success=" + success +
+                ", transactionId='" + transactionId + '\'' +
+                ", failureReason='" + failureReason + '\'' +
+                '}';
+    }
+}
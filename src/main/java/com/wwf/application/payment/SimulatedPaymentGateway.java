@@ -0,0 +1,91 @@
+package com.wwf.application.payment;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process payment gateway stub with configurable latency and failure rate.
+ *
+ * Latency is drawn uniformly between the configured minimum and maximum, with an
+ * optional slow tail. Pending charges are parked on a small scheduler rather than
+ * on a thread each, so thousands of charges can be in flight at once.
+ */
+@Component
+@ConditionalOnProperty(name = "wwf.payment.gateway", havingValue = "simulated", matchIfMissing = true)
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final long minLatencyMs;
+    private final long maxLatencyMs;
+    private final long tailLatencyMs;
+    private final double tailProbability;
+    private final double failureRate;
+    private final ScheduledExecutorService scheduler;
+
+    public SimulatedPaymentGateway(@Value("${wwf.payment.simulated.latency-min-ms:500}") long minLatencyMs,
+                                   @Value("${wwf.payment.simulated.latency-max-ms:1500}") long maxLatencyMs,
+                                   @Value("${wwf.payment.simulated.tail-latency-ms:5000}") long tailLatencyMs,
+                                   @Value("${wwf.payment.simulated.tail-probability:0.01}") double tailProbability,
+                                   @Value("${wwf.payment.simulated.failure-rate:0.1}") double failureRate,
+                                   @Value("${wwf.payment.simulated.scheduler-threads:2}") int schedulerThreads) {
+        if (minLatencyMs < 0 || maxLatencyMs < minLatencyMs) {
+            throw new IllegalArgumentException("Invalid simulated payment latency range: " +
+                minLatencyMs + ".." + maxLatencyMs);
+        }
+        this.minLatencyMs = minLatencyMs;
+        this.maxLatencyMs = maxLatencyMs;
+        this.tailLatencyMs = tailLatencyMs;
+        this.tailProbability = tailProbability;
+        this.failureRate = failureRate;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(schedulerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "payment-sim-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public CompletableFuture<PaymentResult> charge(Long donationId, BigDecimal amount) {
+        CompletableFuture<PaymentResult> future = new CompletableFuture<>();
+        scheduler.schedule(() -> future.complete(outcome()), nextLatencyMs(), TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    private long nextLatencyMs() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (tailProbability > 0 && random.nextDouble() < tailProbability) {
+            return tailLatencyMs;
+        }
+        return minLatencyMs == maxLatencyMs ? minLatencyMs : random.nextLong(minLatencyMs, maxLatencyMs + 1);
+    }
+
+    private PaymentResult outcome() {
+        if (ThreadLocalRandom.current().nextDouble() < failureRate) {
+            return PaymentResult.failure("Payment declined by simulated gateway");
+        }
+        return PaymentResult.success(UUID.randomUUID().toString());
+    }
+
+    /**
+     * Complete the pending charges before stopping, waiting at most the longest latency
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+        if (!scheduler.awaitTermination(Math.max(maxLatencyMs, tailLatencyMs), TimeUnit.MILLISECONDS)) {
+            scheduler.shutdownNow();
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.wwf.application.repository;
 
+import com.wwf.application.dto.ProjectSummary;
 import com.wwf.application.model.ConservationProject;
 import com.wwf.application.model.ProjectStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for ConservationProject entity
@@ -17,40 +24,59 @@ import java.util.List;
 @Repository
 public interface ConservationProjectRepository extends JpaRepository<ConservationProject, Long> {
 
+    String SUMMARY = "SELECT new com.wwf.application.dto.ProjectSummary(p.id, p.name, p.description, " +
+                     "p.startDate, p.endDate, p.budget, p.fundsRaised, p.status, p.location, p.species.id, " +
+                     "p.createdAt, p.updatedAt, p.version) FROM ConservationProject p ";
+
     /**
-     * Find projects by status
+     * Find all projects as summaries
+     */
+    @Query(SUMMARY)
+    List<ProjectSummary> findAllSummaries();
+
+    /**
+     * Find a project summary by ID
+     */
+    @Query(SUMMARY + "WHERE p.id = :id")
+    Optional<ProjectSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find the summaries of the projects with the given IDs, in no particular order
      */
-    List<ConservationProject> findByStatus(ProjectStatus status);
+    @Query(SUMMARY + "WHERE p.id IN :ids")
+    List<ProjectSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
-     * Find projects by location containing text (case insensitive)
+     * Find projects by status
      */
-    List<ConservationProject> findByLocationContainingIgnoreCase(String location);
+    @Query(SUMMARY + "WHERE p.status = :status")
+    List<ProjectSummary> findByStatus(@Param("status") ProjectStatus status);
 
     /**
      * Find projects by species ID
      */
-    List<ConservationProject> findBySpeciesId(Long speciesId);
+    @Query(SUMMARY + "WHERE p.species.id = :speciesId")
+    List<ProjectSummary> findBySpeciesId(@Param("speciesId") Long speciesId);
 
     /**
      * Find active projects (status = ACTIVE)
      */
-    @Query("SELECT p FROM ConservationProject p WHERE p.status = 'ACTIVE'")
-    List<ConservationProject> findActiveProjects();
+    @Query(SUMMARY + "WHERE p.status = 'ACTIVE'")
+    List<ProjectSummary> findActiveProjects();
 
     /**
      * Find projects starting within date range
      */
-    @Query("SELECT p FROM ConservationProject p WHERE p.startDate BETWEEN :startDate AND :endDate")
-    List<ConservationProject> findProjectsStartingBetween(
+    @Query(SUMMARY + "WHERE p.startDate BETWEEN :startDate AND :endDate")
+    List<ProjectSummary> findProjectsStartingBetween(
             @Param("startDate") LocalDate startDate, 
             @Param("endDate") LocalDate endDate);
 
     /**
      * Find projects needing funding (funds raised < budget)
      */
-    @Query("SELECT p FROM ConservationProject p WHERE p.fundsRaised < p.budget AND p.status IN ('PLANNING', 'ACTIVE')")
-    List<ConservationProject> findProjectsNeedingFunding();
+    @Query(SUMMARY + "WHERE p.fundsRaised < p.budget AND p.status IN ('PLANNING', 'ACTIVE')")
+    List<ProjectSummary> findProjectsNeedingFunding();
 
     /**
      * Find projects by funding progress percentage
@@ -80,4 +106,58 @@ public interface ConservationProjectRepository extends JpaRepository<Conservatio
      */
     @Query("SELECT p.status, COUNT(p) FROM ConservationProject p GROUP BY p.status")
     List<Object[]> countProjectsByStatus();
-}
\ No newline at end of file
+
+    /**
+     * Find the next page of projects after the given id (keyset pagination)
+     */
+    @Query(SUMMARY + "WHERE p.id > :id ORDER BY p.id")
+    List<ProjectSummary> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Atomically add to the funds raised for a project in a single statement
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ConservationProject p SET p.fundsRaised = COALESCE(p.fundsRaised, 0) + :amount, " +
+           "p.updatedAt = :updatedAt WHERE p.id = :projectId")
+    int incrementFundsRaised(@Param("projectId") Long projectId,
+                             @Param("amount") BigDecimal amount,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Atomically subtract from the funds raised for a project in a single statement, never going below zero
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE ConservationProject p SET p.fundsRaised = CASE WHEN COALESCE(p.fundsRaised, 0) > :amount " +
+           "THEN COALESCE(p.fundsRaised, 0) - :amount ELSE 0 END, " +
+           "p.updatedAt = :updatedAt WHERE p.id = :projectId")
+    int decrementFundsRaised(@Param("projectId") Long projectId,
+                             @Param("amount") BigDecimal amount,
+                             @Param("updatedAt") LocalDateTime updatedAt);
+
+    /**
+     * Ids and locations of all projects, for building a search index
+     */
+    @Query("SELECT p.id, p.location FROM ConservationProject p")
+    List<Object[]> findSearchFields();
+
+    /**
+     * Ids of the projects whose location contains the pattern or is similar to the query,
+     * most similar first (PostgreSQL, served by the location trigram index)
+     */
+    @Query(value = "SELECT id FROM conservation_projects " +
+                   "WHERE lower(location) LIKE :pattern OR lower(location) %> :query " +
+                   "ORDER BY lower(location) <->> :query, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchByLocation(@Param("query") String query, @Param("pattern") String pattern,
+                                @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Locations starting with the prefix or with a word starting with it (PostgreSQL)
+     */
+    @Query(value = "SELECT location FROM (SELECT DISTINCT location FROM conservation_projects " +
+                   "WHERE lower(location) LIKE :prefix OR lower(location) LIKE :wordPrefix) matches " +
+                   "ORDER BY lower(location) LIKE :prefix DESC, length(location), location LIMIT :limit", nativeQuery = true)
+    List<String> suggestLocations(@Param("prefix") String prefix, @Param("wordPrefix") String wordPrefix,
+                                  @Param("limit") int limit);
+}
@@ -0,0 +1,67 @@
+package com.wwf.application.repository;
+
+import com.wwf.application.dto.LedgerEntrySummary;
+import com.wwf.application.model.DonationLedgerEntry;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Repository interface for the append-only donation ledger
+ */
+@Repository
+public interface DonationLedgerRepository extends JpaRepository<DonationLedgerEntry, Long> {
+
+    /**
+     * History of a donation, oldest entry first
+     */
+    @Query("SELECT new com.wwf.application.dto.LedgerEntrySummary(e.id, e.donationId, e.projectId, e.entryType, " +
+           "e.amount, e.fundsDelta, e.recordedAt) FROM DonationLedgerEntry e " +
+           "WHERE e.donationId = :donationId ORDER BY e.id")
+    List<LedgerEntrySummary> findHistory(@Param("donationId") Long donationId);
+
+    /**
+     * Funds a donation has credited to its project and not reversed
+     */
+    @Query("SELECT COALESCE(SUM(e.fundsDelta), 0) FROM DonationLedgerEntry e WHERE e.donationId = :donationId")
+    BigDecimal sumFundsDeltaForDonation(@Param("donationId") Long donationId);
+
+    /**
+     * Funds donated to a project: its snapshot plus the entries not folded into it yet.
+     * One statement reads both, so a snapshot run committing meanwhile is seen entirely or not at all.
+     */
+    @Query("SELECT COALESCE(SUM(e.fundsDelta), 0) + " +
+           "COALESCE((SELECT s.donatedFunds FROM ProjectLedgerSnapshot s WHERE s.projectId = :projectId), 0) " +
+           "FROM DonationLedgerEntry e WHERE e.projectId = :projectId AND e.folded = false AND e.fundsDelta <> 0")
+    BigDecimal sumDonatedFunds(@Param("projectId") Long projectId);
+
+    /**
+     * Lock the next entries that change funds and are not folded yet.
+     * A snapshot run on another instance skips them once this one has committed.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e.id FROM DonationLedgerEntry e WHERE e.folded = false AND e.fundsDelta <> 0 ORDER BY e.id")
+    List<Long> lockUnfolded(Pageable pageable);
+
+    /**
+     * Funds donated per project by the given entries (project id, funds)
+     */
+    @Query("SELECT e.projectId, SUM(e.fundsDelta) FROM DonationLedgerEntry e " +
+           "WHERE e.id IN :ids AND e.projectId IS NOT NULL GROUP BY e.projectId")
+    List<Object[]> sumFundsDeltaByProject(@Param("ids") List<Long> ids);
+
+    /**
+     * Mark entries as folded into the snapshots of their projects
+     */
+    @Modifying
+    @Query("UPDATE DonationLedgerEntry e SET e.folded = true WHERE e.id IN :ids")
+    int markFolded(@Param("ids") List<Long> ids);
+}
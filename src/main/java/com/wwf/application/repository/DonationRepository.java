@@ -1,15 +1,24 @@
 package com.wwf.application.repository;
 
+import com.wwf.application.dto.DonationSummary;
 import com.wwf.application.model.Donation;
 import com.wwf.application.model.DonationStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for Donation entity
@@ -17,20 +26,62 @@ import java.util.List;
 @Repository
 public interface DonationRepository extends JpaRepository<Donation, Long> {
 
+    String SUMMARY = "SELECT new com.wwf.application.dto.DonationSummary(d.id, d.amount, d.donorName, d.donorEmail, " +
+                     "d.message, p.id, d.status, d.transactionId, d.createdAt, d.processedAt) " +
+                     "FROM Donation d LEFT JOIN d.project p ";
+
+    /**
+     * Find all donations as summaries
+     */
+    @Query(SUMMARY)
+    List<DonationSummary> findAllSummaries();
+
+    /**
+     * Find a donation summary by ID
+     */
+    @Query(SUMMARY + "WHERE d.id = :id")
+    Optional<DonationSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find a donation together with its project, for state changes that describe the project in their events
+     */
+    @EntityGraph(Donation.WITH_PROJECT)
+    Optional<Donation> findWithProjectById(Long id);
+
+    /**
+     * Find a donation together with its project and lock its row, so only one of concurrent
+     * state changes sees the status it expects
+     */
+    @EntityGraph(Donation.WITH_PROJECT)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM Donation d WHERE d.id = :id")
+    Optional<Donation> lockWithProjectById(@Param("id") Long id);
+
+    /**
+     * Ids of donations that entered PROCESSING before the cutoff and are still there,
+     * including those from before the start time was recorded
+     */
+    @Query("SELECT d.id FROM Donation d WHERE d.status = 'PROCESSING' " +
+           "AND (d.processedAt < :cutoff OR d.processedAt IS NULL) ORDER BY d.id")
+    List<Long> findStuckProcessingIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
     /**
      * Find donations by status
      */
-    List<Donation> findByStatus(DonationStatus status);
+    @Query(SUMMARY + "WHERE d.status = :status")
+    List<DonationSummary> findByStatus(@Param("status") DonationStatus status);
 
     /**
      * Find donations by donor email
      */
-    List<Donation> findByDonorEmailIgnoreCase(String donorEmail);
+    @Query(SUMMARY + "WHERE UPPER(d.donorEmail) = UPPER(:donorEmail)")
+    List<DonationSummary> findByDonorEmailIgnoreCase(@Param("donorEmail") String donorEmail);
 
     /**
      * Find donations by project ID
      */
-    List<Donation> findByProjectId(Long projectId);
+    @Query(SUMMARY + "WHERE p.id = :projectId")
+    List<DonationSummary> findByProjectId(@Param("projectId") Long projectId);
 
     /**
      * Find donations by donor name containing text (case insensitive)
@@ -48,8 +99,8 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
     /**
      * Find large donations (amount >= specified value)
      */
-    @Query("SELECT d FROM Donation d WHERE d.amount >= :minAmount")
-    List<Donation> findLargeDonations(@Param("minAmount") BigDecimal minAmount);
+    @Query(SUMMARY + "WHERE d.amount >= :minAmount")
+    List<DonationSummary> findLargeDonations(@Param("minAmount") BigDecimal minAmount);
 
     /**
      * Calculate total donations by status
@@ -64,11 +115,37 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
     BigDecimal calculateTotalDonationsForProject(@Param("projectId") Long projectId);
 
     /**
-     * Find top donors by total donation amount
+     * Find the top donors by total completed donations (donor email, total)
+     */
+    @Query("SELECT d.donorEmail, SUM(d.amount) as total FROM Donation d " +
+           "WHERE d.status = 'COMPLETED' AND d.donorEmail IS NOT NULL GROUP BY d.donorEmail ORDER BY total DESC")
+    List<Object[]> findTopDonors(Pageable pageable);
+
+    /**
+     * Find the top donors of a project by total completed donations (donor email, total)
+     */
+    @Query("SELECT d.donorEmail, SUM(d.amount) as total FROM Donation d " +
+           "WHERE d.project.id = :projectId AND d.status = 'COMPLETED' AND d.donorEmail IS NOT NULL " +
+           "GROUP BY d.donorEmail ORDER BY total DESC")
+    List<Object[]> findTopDonorsForProject(@Param("projectId") Long projectId, Pageable pageable);
+
+    /**
+     * Find the top donors by total completed donations created since the given time (donor email, total)
+     */
+    @Query("SELECT d.donorEmail, SUM(d.amount) as total FROM Donation d " +
+           "WHERE d.status = 'COMPLETED' AND d.createdAt >= :since AND d.donorEmail IS NOT NULL " +
+           "GROUP BY d.donorEmail ORDER BY total DESC")
+    List<Object[]> findTopDonorsSince(@Param("since") LocalDateTime since, Pageable pageable);
+
+    /**
+     * Find the top donors of a project by total completed donations created since the given time
      */
     @Query("SELECT d.donorEmail, SUM(d.amount) as total FROM Donation d " +
-           "WHERE d.status = 'COMPLETED' GROUP BY d.donorEmail ORDER BY total DESC")
-    List<Object[]> findTopDonors();
+           "WHERE d.project.id = :projectId AND d.status = 'COMPLETED' AND d.createdAt >= :since " +
+           "AND d.donorEmail IS NOT NULL GROUP BY d.donorEmail ORDER BY total DESC")
+    List<Object[]> findTopDonorsForProjectSince(@Param("projectId") Long projectId,
+                                                @Param("since") LocalDateTime since,
+                                                Pageable pageable);
 
     /**
      * Count donations by status
@@ -76,15 +153,75 @@ public interface DonationRepository extends JpaRepository<Donation, Long> {
     @Query("SELECT d.status, COUNT(d) FROM Donation d GROUP BY d.status")
     List<Object[]> countDonationsByStatus();
 
+    /**
+     * Count and total donations by status (status, count, total amount)
+     */
+    @Query("SELECT d.status, COUNT(d), SUM(d.amount) FROM Donation d GROUP BY d.status")
+    List<Object[]> summarizeDonationsByStatus();
+
     /**
      * Find recent donations (last N days)
      */
-    @Query("SELECT d FROM Donation d WHERE d.createdAt >= :cutoffDate ORDER BY d.createdAt DESC")
-    List<Donation> findRecentDonations(@Param("cutoffDate") LocalDateTime cutoffDate);
+    @Query(SUMMARY + "WHERE d.createdAt >= :cutoffDate ORDER BY d.createdAt DESC")
+    List<DonationSummary> findRecentDonations(@Param("cutoffDate") LocalDateTime cutoffDate);
+
+    /**
+     * Find the next chunk of pending donations older than the cutoff, after the given id
+     */
+    @Query(SUMMARY + "WHERE d.status = 'PENDING' AND d.createdAt < :cutoffDate AND d.id > :afterId ORDER BY d.id")
+    List<DonationSummary> findStalePendingSummaries(@Param("cutoffDate") LocalDateTime cutoffDate,
+                                                    @Param("afterId") Long afterId,
+                                                    Pageable pageable);
+
+    /**
+     * Fail the given donations if they are still pending; processedAt marks the rows this call changed
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Donation d SET d.status = 'FAILED', d.processedAt = :processedAt " +
+           "WHERE d.id IN :ids AND d.status = 'PENDING'")
+    int failPendingDonations(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Find which of the given donations were failed at the given time
+     */
+    @Query("SELECT d.id FROM Donation d WHERE d.id IN :ids AND d.status = 'FAILED' AND d.processedAt = :processedAt")
+    List<Long> findFailedAt(@Param("ids") Collection<Long> ids, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Find the next page of donations after the given id (keyset pagination)
+     */
+    @Query(SUMMARY + "WHERE d.id > :id ORDER BY d.id")
+    List<DonationSummary> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Find completed donations whose amount has not yet been added to their project (id, project id, amount)
+     */
+    @Query("SELECT d.id, d.project.id, d.amount FROM Donation d " +
+           "WHERE d.status = 'COMPLETED' AND d.fundsApplied = false AND d.project IS NOT NULL")
+    List<Object[]> findUnappliedCompletedDonations();
+
+    /**
+     * Lock those of the given donations whose amount has not yet been added to their project.
+     * A flush, replay or refund claiming the same donation elsewhere blocks until this one commits.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d.id FROM Donation d WHERE d.id IN :ids AND d.fundsApplied = false")
+    List<Long> lockUnappliedDonations(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Mark donations as applied to their project's funds, skipping any already applied
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Donation d SET d.fundsApplied = true WHERE d.id IN :ids AND d.fundsApplied = false")
+    int markFundsApplied(@Param("ids") Collection<Long> ids);
 
     /**
-     * Find pending donations older than specified time
+     * Claim the funds of a donation still held by an accumulator, so no flush applies them.
+     * Returns 0 if they were already applied to the project.
      */
-    @Query("SELECT d FROM Donation d WHERE d.status = 'PENDING' AND d.createdAt < :cutoffDate")
-    List<Donation> findStalePendingDonations(@Param("cutoffDate") LocalDateTime cutoffDate);
-}
\ No newline at end of file
+    @Modifying
+    @Query("UPDATE Donation d SET d.fundsApplied = true WHERE d.id = :id AND d.fundsApplied = false")
+    int claimUnappliedFunds(@Param("id") Long id);
+}
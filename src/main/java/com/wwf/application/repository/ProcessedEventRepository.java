@@ -0,0 +1,50 @@
+package com.wwf.application.repository;
+
+import com.wwf.application.model.ProcessedEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for ProcessedEvent entity
+ */
+@Repository
+public interface ProcessedEventRepository extends JpaRepository<ProcessedEvent, String> {
+
+    /**
+     * Record an event id straight away, without the select save() does for assigned ids.
+     * Fails with a constraint violation if the id is already recorded. The statement names
+     * the table it touches, so Hibernate does not invalidate every second-level cache region.
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "processed_events"))
+    @Query(value = "INSERT INTO processed_events (event_id, processed_at) VALUES (:eventId, :processedAt)",
+           nativeQuery = true)
+    int insert(@Param("eventId") String eventId, @Param("processedAt") LocalDateTime processedAt);
+
+    /**
+     * Forget an event id again, so that a redelivery of the event is processed
+     */
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "processed_events"))
+    @Query(value = "DELETE FROM processed_events WHERE event_id = :eventId", nativeQuery = true)
+    int release(@Param("eventId") String eventId);
+
+    /**
+     * Forget events processed before the cutoff
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM ProcessedEvent e WHERE e.processedAt < :cutoff")
+    int deleteProcessedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
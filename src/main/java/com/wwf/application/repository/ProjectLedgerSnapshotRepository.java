@@ -0,0 +1,28 @@
+package com.wwf.application.repository;
+
+import com.wwf.application.model.ProjectLedgerSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for ProjectLedgerSnapshot entity
+ */
+@Repository
+public interface ProjectLedgerSnapshotRepository extends JpaRepository<ProjectLedgerSnapshot, Long> {
+
+    /**
+     * Fold donated funds into the snapshot of a project
+     */
+    @Modifying
+    @Query("UPDATE ProjectLedgerSnapshot s SET s.donatedFunds = s.donatedFunds + :funds, " +
+           "s.takenAt = :takenAt WHERE s.projectId = :projectId")
+    int addToSnapshot(@Param("projectId") Long projectId,
+                      @Param("funds") BigDecimal funds,
+                      @Param("takenAt") LocalDateTime takenAt);
+}
@@ -1,12 +1,21 @@
 package com.wwf.application.repository;
 
+import com.wwf.application.dto.SpeciesSummary;
 import com.wwf.application.model.ConservationStatus;
 import com.wwf.application.model.WildlifeSpecies;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,38 +25,69 @@ import java.util.Optional;
 @Repository
 public interface WildlifeSpeciesRepository extends JpaRepository<WildlifeSpecies, Long> {
 
+    String SUMMARY = "SELECT new com.wwf.application.dto.SpeciesSummary(w.id, w.name, w.scientificName, " +
+                     "w.conservationStatus, w.description, w.habitat, w.populationEstimate, w.createdAt, w.updatedAt) " +
+                     "FROM WildlifeSpecies w ";
+
     /**
      * Find species by scientific name (case insensitive)
      */
     Optional<WildlifeSpecies> findByScientificNameIgnoreCase(String scientificName);
 
     /**
-     * Find species by name containing text (case insensitive)
+     * Load and lock a species for an update. Being a query, this reads the row from the
+     * database, never from the second-level cache, which may be older than a change
+     * committed on another instance.
      */
-    List<WildlifeSpecies> findByNameContainingIgnoreCase(String name);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT w FROM WildlifeSpecies w WHERE w.id = :id")
+    Optional<WildlifeSpecies> lockById(@Param("id") Long id);
 
     /**
-     * Find species by conservation status
+     * Find a species together with its conservation projects, for deletes that cascade to them
      */
-    List<WildlifeSpecies> findByConservationStatus(ConservationStatus status);
+    @EntityGraph(WildlifeSpecies.WITH_PROJECTS)
+    Optional<WildlifeSpecies> findWithProjectsById(Long id);
 
     /**
-     * Find endangered species (critically endangered, endangered, vulnerable)
+     * Find all species as summaries
+     */
+    @Query(SUMMARY)
+    List<SpeciesSummary> findAllSummaries();
+
+    /**
+     * Find a species summary by ID
+     */
+    @Query(SUMMARY + "WHERE w.id = :id")
+    Optional<SpeciesSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Find the summaries of the species with the given IDs, in no particular order
      */
-    @Query("SELECT w FROM WildlifeSpecies w WHERE w.conservationStatus IN " +
-           "('CRITICALLY_ENDANGERED', 'ENDANGERED', 'VULNERABLE')")
-    List<WildlifeSpecies> findEndangeredSpecies();
+    @Query(SUMMARY + "WHERE w.id IN :ids")
+    List<SpeciesSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 
     /**
-     * Find species by habitat containing text (case insensitive)
+     * Find species by conservation status
+     */
+    @Query(SUMMARY + "WHERE w.conservationStatus = :status")
+    List<SpeciesSummary> findByConservationStatus(@Param("status") ConservationStatus status);
+
+    /**
+     * Find endangered species (critically endangered, endangered, vulnerable)
      */
-    List<WildlifeSpecies> findByHabitatContainingIgnoreCase(String habitat);
+    @Query(SUMMARY + "WHERE w.conservationStatus IN ('CRITICALLY_ENDANGERED', 'ENDANGERED', 'VULNERABLE')")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = WildlifeSpecies.ENDANGERED_QUERY_REGION)
+    })
+    List<SpeciesSummary> findEndangeredSpecies();
 
     /**
      * Find species with population estimate less than specified value
      */
-    @Query("SELECT w FROM WildlifeSpecies w WHERE w.populationEstimate < :maxPopulation")
-    List<WildlifeSpecies> findSpeciesWithLowPopulation(@Param("maxPopulation") Integer maxPopulation);
+    @Query(SUMMARY + "WHERE w.populationEstimate < :maxPopulation")
+    List<SpeciesSummary> findSpeciesWithLowPopulation(@Param("maxPopulation") Integer maxPopulation);
 
     /**
      * Count species by conservation status
@@ -59,4 +99,60 @@ public interface WildlifeSpeciesRepository extends JpaRepository<WildlifeSpecies
      * Check if species exists by scientific name
      */
     boolean existsByScientificNameIgnoreCase(String scientificName);
-}
\ No newline at end of file
+
+    /**
+     * Find which of the given upper-cased scientific names already exist
+     */
+    @Query("SELECT UPPER(w.scientificName) FROM WildlifeSpecies w WHERE UPPER(w.scientificName) IN :names")
+    List<String> findExistingScientificNames(@Param("names") Collection<String> names);
+
+    /**
+     * Find the next page of species after the given id (keyset pagination)
+     */
+    @Query(SUMMARY + "WHERE w.id > :id ORDER BY w.id")
+    List<SpeciesSummary> findByIdGreaterThanOrderByIdAsc(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Ids and searchable fields of all species (id, name, habitat), for building a search index
+     */
+    @Query("SELECT w.id, w.name, w.habitat FROM WildlifeSpecies w")
+    List<Object[]> findSearchFields();
+
+    /**
+     * Ids of the species whose name contains the pattern or is similar to the query,
+     * most similar first (PostgreSQL, served by the name trigram index)
+     */
+    @Query(value = "SELECT id FROM wildlife_species " +
+                   "WHERE lower(name) LIKE :pattern OR lower(name) %> :query " +
+                   "ORDER BY lower(name) <->> :query, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchByName(@Param("query") String query, @Param("pattern") String pattern,
+                            @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Ids of the species whose habitat contains the pattern or is similar to the query,
+     * most similar first (PostgreSQL, served by the habitat trigram index)
+     */
+    @Query(value = "SELECT id FROM wildlife_species " +
+                   "WHERE lower(habitat) LIKE :pattern OR lower(habitat) %> :query " +
+                   "ORDER BY lower(habitat) <->> :query, id LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchByHabitat(@Param("query") String query, @Param("pattern") String pattern,
+                               @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Species names starting with the prefix or with a word starting with it (PostgreSQL)
+     */
+    @Query(value = "SELECT name FROM (SELECT DISTINCT name FROM wildlife_species " +
+                   "WHERE lower(name) LIKE :prefix OR lower(name) LIKE :wordPrefix) matches " +
+                   "ORDER BY lower(name) LIKE :prefix DESC, length(name), name LIMIT :limit", nativeQuery = true)
+    List<String> suggestNames(@Param("prefix") String prefix, @Param("wordPrefix") String wordPrefix,
+                              @Param("limit") int limit);
+
+    /**
+     * Habitats starting with the prefix or with a word starting with it (PostgreSQL)
+     */
+    @Query(value = "SELECT habitat FROM (SELECT DISTINCT habitat FROM wildlife_species " +
+                   "WHERE lower(habitat) LIKE :prefix OR lower(habitat) LIKE :wordPrefix) matches " +
+                   "ORDER BY lower(habitat) LIKE :prefix DESC, length(habitat), habitat LIMIT :limit", nativeQuery = true)
+    List<String> suggestHabitats(@Param("prefix") String prefix, @Param("wordPrefix") String wordPrefix,
+                                 @Param("limit") int limit);
+}
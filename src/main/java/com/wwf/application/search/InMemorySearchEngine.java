@@ -0,0 +1,88 @@
+package com.wwf.application.search;
+
+import com.wwf.application.repository.ConservationProjectRepository;
+import com.wwf.application.repository.WildlifeSpeciesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Search engine backed by in-memory trigram indexes, for H2 and tests.
+ *
+ * The indexes are built from the database when the application starts and kept up to
+ * date by the write paths after each commit. They only see writes made through this
+ * instance, which holds for the embedded H2 database.
+ */
+@Component
+@ConditionalOnProperty(name = "wwf.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemorySearchEngine implements SearchEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemorySearchEngine.class);
+
+    private final WildlifeSpeciesRepository speciesRepository;
+    private final ConservationProjectRepository projectRepository;
+    private final Map<SearchField, NGramIndex> indexes = new EnumMap<>(SearchField.class);
+
+    @Autowired
+    public InMemorySearchEngine(WildlifeSpeciesRepository speciesRepository,
+                                ConservationProjectRepository projectRepository,
+                                @Value("${wwf.search.similarity-threshold:0.6}") double similarityThreshold) {
+        this.speciesRepository = speciesRepository;
+        this.projectRepository = projectRepository;
+        for (SearchField field : SearchField.values()) {
+            indexes.put(field, new NGramIndex(similarityThreshold));
+        }
+    }
+
+    /**
+     * Build the indexes once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        for (Object[] row : speciesRepository.findSearchFields()) {
+            indexes.get(SearchField.SPECIES_NAME).put((Long) row[0], (String) row[1]);
+            indexes.get(SearchField.SPECIES_HABITAT).put((Long) row[0], (String) row[2]);
+        }
+        for (Object[] row : projectRepository.findSearchFields()) {
+            indexes.get(SearchField.PROJECT_LOCATION).put((Long) row[0], (String) row[1]);
+        }
+        logger.info("Built search indexes over {} species and {} projects",
+            indexes.get(SearchField.SPECIES_NAME).size(), indexes.get(SearchField.PROJECT_LOCATION).size());
+    }
+
+    @Override
+    public List<Long> search(SearchField field, String query, int offset, int limit) {
+        return indexes.get(field).search(query, offset, limit);
+    }
+
+    @Override
+    public List<String> suggest(SearchField field, String prefix, int limit) {
+        return indexes.get(field).suggest(prefix, limit);
+    }
+
+    @Override
+    public void indexAfterCommit(SearchField field, Long id, String value) {
+        NGramIndex index = indexes.get(field);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    index.put(id, value);
+                }
+            });
+        } else {
+            index.put(id, value);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.wwf.application.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory trigram and word index over one text field, modelled on PostgreSQL's pg_trgm.
+ *
+ * Every word is padded with two leading blanks and one trailing blank and split into
+ * trigrams. A query is looked up through the posting lists of its own trigrams only, so
+ * the work per search depends on how many records share them rather than on the number
+ * of records. Similarity is the share of the query trigrams found in a record, which
+ * approximates pg_trgm's word_similarity. Queries shorter than a trigram only share
+ * padded word-start trigrams with the records, so they are also matched by a scan to
+ * find them inside words.
+ */
+final class NGramIndex {
+
+    private final double threshold;
+
+    private final Map<Long, String> values = new HashMap<>();
+    private final Map<Long, String> normalized = new HashMap<>();
+    private final Map<String, Set<Long>> trigramPostings = new HashMap<>();
+    private final TreeMap<String, Set<Long>> wordPostings = new TreeMap<>();
+
+    NGramIndex(double threshold) {
+        if (threshold <= 0 || threshold > 1) {
+            throw new IllegalArgumentException("Similarity threshold must be in (0, 1], got " + threshold);
+        }
+        this.threshold = threshold;
+    }
+
+    /**
+     * Index the value of a record, replacing its previous value; null removes the record
+     */
+    synchronized void put(Long id, String value) {
+        remove(id);
+        if (value == null) {
+            return;
+        }
+        String text = normalize(value);
+        values.put(id, value);
+        normalized.put(id, text);
+        for (String trigram : trigrams(text)) {
+            trigramPostings.computeIfAbsent(trigram, t -> new HashSet<>()).add(id);
+        }
+        for (String word : words(text)) {
+            wordPostings.computeIfAbsent(word, w -> new HashSet<>()).add(id);
+        }
+    }
+
+    synchronized void remove(Long id) {
+        String text = normalized.remove(id);
+        if (text == null) {
+            return;
+        }
+        values.remove(id);
+        for (String trigram : trigrams(text)) {
+            removePosting(trigramPostings, trigram, id);
+        }
+        for (String word : words(text)) {
+            removePosting(wordPostings, word, id);
+        }
+    }
+
+    synchronized int size() {
+        return values.size();
+    }
+
+    /**
+     * Ids of the records containing the query or similar to it, most similar first
+     */
+    synchronized List<Long> search(String query, int offset, int limit) {
+        String text = normalize(query);
+        Set<String> queryTrigrams = trigrams(text);
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            for (Long id : trigramPostings.getOrDefault(trigram, Set.of())) {
+                shared.merge(id, 1, Integer::sum);
+            }
+        }
+        if (text.length() < 3) {
+            normalized.forEach((id, value) -> {
+                if (value.contains(text)) {
+                    shared.putIfAbsent(id, 0);
+                }
+            });
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        shared.forEach((id, count) -> {
+            double similarity = (double) count / queryTrigrams.size();
+            if (similarity >= threshold || normalized.get(id).contains(text)) {
+                hits.add(new Hit(id, similarity));
+            }
+        });
+        hits.sort(Comparator.comparingDouble(Hit::similarity).reversed().thenComparing(Hit::id));
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = offset; i < hits.size() && ids.size() < limit; i++) {
+            ids.add(hits.get(i).id());
+        }
+        return ids;
+    }
+
+    /**
+     * Distinct values starting with the prefix or containing a word starting with it,
+     * values starting with the prefix first, then the shortest
+     */
+    synchronized List<String> suggest(String prefix, int limit) {
+        String text = normalize(prefix);
+        List<String> prefixWords = words(text);
+        if (prefixWords.isEmpty()) {
+            return List.of();
+        }
+
+        // Candidates have a word starting with the first word of the prefix
+        String first = prefixWords.get(0);
+        Set<String> matches = new LinkedHashSet<>();
+        for (Set<Long> ids : wordPostings.subMap(first, first + Character.MAX_VALUE).values()) {
+            for (Long id : ids) {
+                if (startsAtWord(normalized.get(id), text)) {
+                    matches.add(values.get(id));
+                }
+            }
+        }
+
+        return matches.stream()
+            .sorted(Comparator.comparing((String value) -> !normalize(value).startsWith(text))
+                .thenComparingInt(String::length)
+                .thenComparing(Comparator.naturalOrder()))
+            .limit(limit)
+            .toList();
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Words of a normalized text: runs of letters and digits
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        for (String word : words(text)) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    /**
+     * Whether the text contains the prefix at the start of one of its words
+     */
+    private static boolean startsAtWord(String text, String prefix) {
+        for (int i = text.indexOf(prefix); i >= 0; i = text.indexOf(prefix, i + 1)) {
+            if (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void removePosting(Map<String, Set<Long>> postings, String key, Long id) {
+        Set<Long> ids = postings.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(key);
+            }
+        }
+    }
+
+    private record Hit(Long id, double similarity) {
+    }
+}
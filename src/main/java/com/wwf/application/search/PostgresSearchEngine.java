@@ -0,0 +1,76 @@
+package com.wwf.application.search;
+
+import com.wwf.application.repository.ConservationProjectRepository;
+import com.wwf.application.repository.WildlifeSpeciesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search engine backed by the pg_trgm indexes of the PostgreSQL schema.
+ *
+ * Matching uses the server's pg_trgm.word_similarity_threshold (0.6 by default), and the
+ * indexes are maintained by the database, so writes need no further bookkeeping.
+ */
+@Component
+@ConditionalOnProperty(name = "wwf.search.engine", havingValue = "postgresql")
+public class PostgresSearchEngine implements SearchEngine {
+
+    private final WildlifeSpeciesRepository speciesRepository;
+    private final ConservationProjectRepository projectRepository;
+
+    @Autowired
+    public PostgresSearchEngine(WildlifeSpeciesRepository speciesRepository,
+                                ConservationProjectRepository projectRepository) {
+        this.speciesRepository = speciesRepository;
+        this.projectRepository = projectRepository;
+    }
+
+    @Override
+    public List<Long> search(SearchField field, String query, int offset, int limit) {
+        String text = normalize(query);
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        String pattern = "%" + escapeLike(text) + "%";
+        return switch (field) {
+            case SPECIES_NAME -> speciesRepository.searchByName(text, pattern, limit, offset);
+            case SPECIES_HABITAT -> speciesRepository.searchByHabitat(text, pattern, limit, offset);
+            case PROJECT_LOCATION -> projectRepository.searchByLocation(text, pattern, limit, offset);
+        };
+    }
+
+    @Override
+    public List<String> suggest(SearchField field, String prefix, int limit) {
+        String text = normalize(prefix);
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        String startsWith = escapeLike(text) + "%";
+        String wordStartsWith = "% " + startsWith;
+        return switch (field) {
+            case SPECIES_NAME -> speciesRepository.suggestNames(startsWith, wordStartsWith, limit);
+            case SPECIES_HABITAT -> speciesRepository.suggestHabitats(startsWith, wordStartsWith, limit);
+            case PROJECT_LOCATION -> projectRepository.suggestLocations(startsWith, wordStartsWith, limit);
+        };
+    }
+
+    @Override
+    public void indexAfterCommit(SearchField field, Long id, String value) {
+        // Maintained by the trigram indexes
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT).trim();
+    }
+
+    /**
+     * Escape the LIKE wildcards, with PostgreSQL's default escape character
+     */
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
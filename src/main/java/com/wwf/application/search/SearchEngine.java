@@ -0,0 +1,61 @@
+package com.wwf.application.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Relevance-ranked search and prefix autocomplete over the searchable text fields.
+ *
+ * A record matches when its field contains the query or is similar to it by trigrams,
+ * which tolerates typos; the most similar records come first.
+ */
+public interface SearchEngine {
+
+    int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Ids of the records whose field matches the query, best match first
+     */
+    List<Long> search(SearchField field, String query, int offset, int limit);
+
+    /**
+     * Distinct values of the field that start with the prefix or contain a word starting
+     * with it, values starting with the prefix first
+     */
+    List<String> suggest(SearchField field, String prefix, int limit);
+
+    /**
+     * Record the new value of a field, or null once the record is deleted. Engines that
+     * keep their own index apply it when the surrounding transaction commits.
+     */
+    void indexAfterCommit(SearchField field, Long id, String value);
+
+    /**
+     * Clamp a requested page size to the supported range
+     */
+    static int normalizeSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    /**
+     * Order loaded records like the ranked ids they were loaded by, skipping ids whose
+     * record has been deleted in the meantime
+     */
+    static <T> List<T> inRankOrder(List<Long> ids, Iterable<T> records, Function<T, Long> idExtractor) {
+        Map<Long, T> byId = new HashMap<>();
+        for (T record : records) {
+            byId.put(idExtractor.apply(record), record);
+        }
+        List<T> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            T record = byId.get(id);
+            if (record != null) {
+                ordered.add(record);
+            }
+        }
+        return ordered;
+    }
+}
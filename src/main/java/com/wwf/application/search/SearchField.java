@@ -0,0 +1,10 @@
+package com.wwf.application.search;
+
+/**
+ * Text fields that can be searched and autocompleted
+ */
+public enum SearchField {
+    SPECIES_NAME,
+    SPECIES_HABITAT,
+    PROJECT_LOCATION
+}
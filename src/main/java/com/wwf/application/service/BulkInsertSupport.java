@@ -0,0 +1,60 @@
+package com.wwf.application.service;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inserts large lists of entities using JDBC batching.
+ *
+ * Entities are persisted in chunks of the configured Hibernate batch size; each chunk is
+ * flushed as one JDBC batch and then detached, so the persistence context stays small
+ * no matter how many rows are inserted. Must be called inside a transaction.
+ */
+@Component
+public class BulkInsertSupport {
+
+    private final EntityManager entityManager;
+    private final int batchSize;
+    private final int maxSize;
+
+    @Autowired
+    public BulkInsertSupport(EntityManager entityManager,
+                             @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}") int batchSize,
+                             @Value("${wwf.batch.max-size:10000}") int maxSize) {
+        this.entityManager = entityManager;
+        this.batchSize = batchSize;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Reject empty or oversized bulk requests
+     */
+    public void validateSize(List<?> entities) {
+        if (entities == null || entities.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one item");
+        }
+        if (entities.size() > maxSize) {
+            throw new IllegalArgumentException("Batch size " + entities.size() + " exceeds the maximum of " + maxSize);
+        }
+    }
+
+    /**
+     * Save all entities, flushing and clearing the persistence context after every batch
+     */
+    public <T> List<T> saveAll(JpaRepository<T, Long> repository, List<T> entities) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += batchSize) {
+            int to = Math.min(from + batchSize, entities.size());
+            saved.addAll(repository.saveAll(entities.subList(from, to)));
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return saved;
+    }
+}
@@ -0,0 +1,101 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.CacheConfig;
+import com.wwf.application.kafka.BaseEvent;
+import com.wwf.application.kafka.SpeciesDeletedEvent;
+import com.wwf.application.kafka.SpeciesUpdatedEvent;
+import com.wwf.application.model.WildlifeSpecies;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts locally cached species and project lookups when another replica changes them,
+ * from the Spring cache and, for species, the Hibernate second-level cache. Every event on
+ * a topic evicts the cached lists; species updates and deletes also evict the species by
+ * id, and the project lists that show its name.
+ *
+ * Each application instance joins its own consumer group, named after the stable
+ * wwf.instance-id (the pod's host name), so that every replica sees every event and a
+ * restarted instance rejoins its group instead of leaving an orphan one on the broker. A
+ * new group starts from the latest offset since older events can only refer to entries
+ * that have already expired.
+ */
+@Service
+@Profile("!test")  // Exclude from test profile
+public class CacheInvalidationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheInvalidationListener.class);
+
+    private final CacheManager cacheManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    public CacheInvalidationListener(CacheManager cacheManager, EntityManagerFactory entityManagerFactory) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Evict species lookups when a species is added, updated or deleted
+     */
+    @KafkaListener(topics = "wwf.species.events",
+                   groupId = "wwf-cache-species-${wwf.instance-id}",
+                   properties = "auto.offset.reset=latest")
+    public void onSpeciesEvent(@Payload BaseEvent event, Acknowledgment acknowledgment) {
+        logger.debug("Evicting species caches for event: {}", event.getEventType());
+        evict(CacheConfig.SPECIES_BY_STATUS);
+        evict(CacheConfig.ENDANGERED_SPECIES);
+        Long speciesId = null;
+        if (event instanceof SpeciesUpdatedEvent updated) {
+            speciesId = updated.getSpeciesId();
+        } else if (event instanceof SpeciesDeletedEvent deleted) {
+            speciesId = deleted.getSpeciesId();
+        }
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictQueryRegion(WildlifeSpecies.ENDANGERED_QUERY_REGION);
+        if (speciesId != null) {
+            evict(CacheConfig.SPECIES, speciesId);
+            sessionFactory.getCache().evictEntityData(WildlifeSpecies.class, speciesId);
+            evict(CacheConfig.ACTIVE_PROJECTS);
+            evict(CacheConfig.PROJECTS_BY_SPECIES);
+        }
+        acknowledgment.acknowledge();
+    }
+
+    /**
+     * Evict project lookups when a project is created, updated or deleted
+     */
+    @KafkaListener(topics = "wwf.project.events",
+                   groupId = "wwf-cache-project-${wwf.instance-id}",
+                   properties = "auto.offset.reset=latest")
+    public void onProjectEvent(@Payload BaseEvent event, Acknowledgment acknowledgment) {
+        logger.debug("Evicting project caches for event: {}", event.getEventType());
+        evict(CacheConfig.ACTIVE_PROJECTS);
+        evict(CacheConfig.PROJECTS_BY_SPECIES);
+        acknowledgment.acknowledge();
+    }
+
+    private void evict(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+}
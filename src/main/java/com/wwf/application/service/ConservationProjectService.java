@@ -1,21 +1,37 @@
 package com.wwf.application.service;
 
+import com.wwf.application.config.CacheConfig;
+import com.wwf.application.dto.CursorPage;
+import com.wwf.application.dto.ProjectSummary;
 import com.wwf.application.kafka.ProjectCreatedEvent;
+import com.wwf.application.kafka.ProjectDeletedEvent;
+import com.wwf.application.kafka.ProjectUpdatedEvent;
 import com.wwf.application.model.ConservationProject;
 import com.wwf.application.model.ProjectStatus;
 import com.wwf.application.model.WildlifeSpecies;
 import com.wwf.application.repository.ConservationProjectRepository;
 import com.wwf.application.repository.WildlifeSpeciesRepository;
+import com.wwf.application.search.SearchEngine;
+import com.wwf.application.search.SearchField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,20 +47,34 @@ public class ConservationProjectService {
 
     private final ConservationProjectRepository repository;
     private final WildlifeSpeciesRepository speciesRepository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final DashboardAggregates aggregates;
+    private final EventOutbox eventOutbox;
+    private final SearchEngine searchEngine;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<String> aggregateQueries;
 
     @Autowired
     public ConservationProjectService(ConservationProjectRepository repository,
                                     WildlifeSpeciesRepository speciesRepository,
-                                    KafkaTemplate<String, Object> kafkaTemplate) {
+                                    DashboardAggregates aggregates,
+                                    EventOutbox eventOutbox,
+                                    SearchEngine searchEngine,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${wwf.single-flight.result-ttl:0ms}") Duration singleFlightTtl) {
         this.repository = repository;
         this.speciesRepository = speciesRepository;
-        this.kafkaTemplate = kafkaTemplate;
+        this.aggregates = aggregates;
+        this.eventOutbox = eventOutbox;
+        this.searchEngine = searchEngine;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.aggregateQueries = new SingleFlight<>(singleFlightTtl);
     }
 
     /**
      * Create a new conservation project
      */
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_PROJECTS, CacheConfig.PROJECTS_BY_SPECIES}, allEntries = true)
     public ConservationProject createProject(ConservationProject project) {
         logger.info("Creating new project: {}", project.getName());
         
@@ -57,6 +87,8 @@ public class ConservationProjectService {
         }
         
         ConservationProject savedProject = repository.save(project);
+        aggregates.projectAdded(savedProject.getStatus(), savedProject.getBudget(), savedProject.getFundsRaised());
+        searchEngine.indexAfterCommit(SearchField.PROJECT_LOCATION, savedProject.getId(), savedProject.getLocation());
         
         // Publish event
         publishProjectCreatedEvent(savedProject);
@@ -68,12 +100,21 @@ public class ConservationProjectService {
     /**
      * Update an existing conservation project
      */
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_PROJECTS, CacheConfig.PROJECTS_BY_SPECIES}, allEntries = true)
     public ConservationProject updateProject(Long id, ConservationProject updatedProject) {
         logger.info("Updating project with ID: {}", id);
         
         ConservationProject existingProject = repository.findById(id)
             .orElseThrow(() -> new RuntimeException("Project not found with ID: " + id));
         
+        // Reject updates based on a stale copy of the project
+        if (updatedProject.getVersion() != null && !updatedProject.getVersion().equals(existingProject.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(ConservationProject.class, id);
+        }
+        
+        ProjectStatus previousStatus = existingProject.getStatus();
+        BigDecimal previousBudget = existingProject.getBudget();
+        
         // Update fields
         existingProject.setName(updatedProject.getName());
         existingProject.setDescription(updatedProject.getDescription());
@@ -92,6 +133,13 @@ public class ConservationProjectService {
         }
         
         ConservationProject savedProject = repository.save(existingProject);
+        aggregates.projectChanged(previousStatus, savedProject.getStatus(), previousBudget, savedProject.getBudget());
+        searchEngine.indexAfterCommit(SearchField.PROJECT_LOCATION, savedProject.getId(), savedProject.getLocation());
+        
+        // Other replicas evict their cached project lists
+        ProjectUpdatedEvent event = new ProjectUpdatedEvent(id, savedProject.getName(), savedProject.getStatus());
+        event.setSpeciesId(savedProject.getSpecies() != null ? savedProject.getSpecies().getId() : null);
+        eventOutbox.publish(PROJECT_TOPIC, String.valueOf(id), event);
         logger.info("Successfully updated project with ID: {}", savedProject.getId());
         
         return savedProject;
@@ -101,96 +149,130 @@ public class ConservationProjectService {
      * Get project by ID
      */
     @Transactional(readOnly = true)
-    public Optional<ConservationProject> getProjectById(Long id) {
-        return repository.findById(id);
+    public Optional<ProjectSummary> getProjectById(Long id) {
+        return repository.findSummaryById(id);
     }
 
     /**
      * Get all projects
      */
     @Transactional(readOnly = true)
-    public List<ConservationProject> getAllProjects() {
-        return repository.findAll();
+    public List<ProjectSummary> getAllProjects() {
+        return repository.findAllSummaries();
+    }
+
+    /**
+     * Get a page of projects after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<ProjectSummary> getProjectsPage(Long after, int size) {
+        List<ProjectSummary> projects = repository.findByIdGreaterThanOrderByIdAsc(
+            after != null ? after : 0L, PageRequest.of(0, size));
+        return CursorPage.of(projects, size, ProjectSummary::id);
     }
 
     /**
      * Find projects by status
      */
     @Transactional(readOnly = true)
-    public List<ConservationProject> findProjectsByStatus(ProjectStatus status) {
+    public List<ProjectSummary> findProjectsByStatus(ProjectStatus status) {
         return repository.findByStatus(status);
     }
 
     /**
      * Get active projects
      */
+    @Cacheable(CacheConfig.ACTIVE_PROJECTS)
     @Transactional(readOnly = true)
-    public List<ConservationProject> getActiveProjects() {
+    public List<ProjectSummary> getActiveProjects() {
         return repository.findActiveProjects();
     }
 
     /**
-     * Find projects by location
+     * Search projects by location, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectSummary> findProjectsByLocation(String location, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative, got " + page);
+        }
+        int pageSize = SearchEngine.normalizeSize(size);
+        List<Long> ids = searchEngine.search(SearchField.PROJECT_LOCATION, location, page * pageSize, pageSize);
+        return SearchEngine.inRankOrder(ids, repository.findSummariesByIdIn(ids), ProjectSummary::id);
+    }
+
+    /**
+     * Suggest project locations for a prefix
      */
     @Transactional(readOnly = true)
-    public List<ConservationProject> findProjectsByLocation(String location) {
-        return repository.findByLocationContainingIgnoreCase(location);
+    public List<String> suggestLocations(String prefix, int limit) {
+        return searchEngine.suggest(SearchField.PROJECT_LOCATION, prefix, SearchEngine.normalizeSize(limit));
     }
 
     /**
      * Find projects by species
      */
+    @Cacheable(cacheNames = CacheConfig.PROJECTS_BY_SPECIES, key = "#speciesId")
     @Transactional(readOnly = true)
-    public List<ConservationProject> findProjectsBySpecies(Long speciesId) {
+    public List<ProjectSummary> findProjectsBySpecies(Long speciesId) {
         return repository.findBySpeciesId(speciesId);
     }
 
     /**
-     * Find projects needing funding
+     * Find projects needing funding. Concurrent callers share a single query, which runs in
+     * a transaction of its own so that callers waiting for it hold no connection.
      */
-    @Transactional(readOnly = true)
-    public List<ConservationProject> getProjectsNeedingFunding() {
-        return repository.findProjectsNeedingFunding();
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<ProjectSummary> getProjectsNeedingFunding() {
+        return aggregateQueries.execute("projectsNeedingFunding", () -> readOnlyTransaction.execute(
+            status -> List.copyOf(repository.findProjectsNeedingFunding())));
     }
 
     /**
      * Find projects by date range
      */
     @Transactional(readOnly = true)
-    public List<ConservationProject> findProjectsByDateRange(LocalDate startDate, LocalDate endDate) {
+    public List<ProjectSummary> findProjectsByDateRange(LocalDate startDate, LocalDate endDate) {
         return repository.findProjectsStartingBetween(startDate, endDate);
     }
 
     /**
-     * Add funds to a project
+     * Add funds to a project. The project is read back with a summary query, as an entity
+     * already in the persistence context would still hold the funds and version from
+     * before the bulk update.
      */
-    public ConservationProject addFundsToProject(Long projectId, BigDecimal amount) {
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_PROJECTS, CacheConfig.PROJECTS_BY_SPECIES}, allEntries = true)
+    public ProjectSummary addFundsToProject(Long projectId, BigDecimal amount) {
         logger.info("Adding funds {} to project ID: {}", amount, projectId);
         
-        ConservationProject project = repository.findById(projectId)
-            .orElseThrow(() -> new RuntimeException("Project not found with ID: " + projectId));
-        
-        BigDecimal currentFunds = project.getFundsRaised() != null ? 
-            project.getFundsRaised() : BigDecimal.ZERO;
-        project.setFundsRaised(currentFunds.add(amount));
+        if (repository.incrementFundsRaised(projectId, amount, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Project not found with ID: " + projectId);
+        }
+        aggregates.fundsRaisedChanged(amount);
         
-        ConservationProject savedProject = repository.save(project);
         logger.info("Successfully added funds to project ID: {}", projectId);
         
-        return savedProject;
+        return repository.findSummaryById(projectId)
+            .orElseThrow(() -> new RuntimeException("Project not found with ID: " + projectId));
     }
 
     /**
      * Delete project by ID
      */
+    @CacheEvict(cacheNames = {CacheConfig.ACTIVE_PROJECTS, CacheConfig.PROJECTS_BY_SPECIES}, allEntries = true)
     public void deleteProject(Long id) {
         logger.info("Deleting project with ID: {}", id);
         
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Project not found with ID: " + id);
-        }
+        ConservationProject project = repository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Project not found with ID: " + id));
+        
+        repository.delete(project);
+        aggregates.projectRemoved(project.getStatus(), project.getBudget(), project.getFundsRaised());
+        searchEngine.indexAfterCommit(SearchField.PROJECT_LOCATION, id, null);
         
-        repository.deleteById(id);
+        // Other replicas evict their cached project lists
+        eventOutbox.publish(PROJECT_TOPIC, String.valueOf(id),
+            new ProjectDeletedEvent(id, project.getSpecies() != null ? project.getSpecies().getId() : null));
         logger.info("Successfully deleted project with ID: {}", id);
     }
 
@@ -199,51 +281,55 @@ public class ConservationProjectService {
      */
     @Transactional(readOnly = true)
     public List<Object[]> getProjectStatistics() {
+        if (aggregates.isSeeded()) {
+            return aggregates.getProjectCountsByStatus();
+        }
         return repository.countProjectsByStatus();
     }
 
     /**
-     * Get total budget and funds raised
+     * Get total budget and funds raised. Until the aggregates are seeded, concurrent callers
+     * share a single pair of queries.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ProjectFinancialSummary getFinancialSummary() {
-        BigDecimal totalBudget = repository.calculateTotalBudget();
-        BigDecimal totalFundsRaised = repository.calculateTotalFundsRaised();
+        if (aggregates.isSeeded()) {
+            return new ProjectFinancialSummary(aggregates.getTotalBudget(), aggregates.getTotalFundsRaised());
+        }
         
-        return new ProjectFinancialSummary(
-            totalBudget != null ? totalBudget : BigDecimal.ZERO,
-            totalFundsRaised != null ? totalFundsRaised : BigDecimal.ZERO
-        );
+        return aggregateQueries.execute("financialSummary", () -> readOnlyTransaction.execute(status -> {
+            BigDecimal totalBudget = repository.calculateTotalBudget();
+            BigDecimal totalFundsRaised = repository.calculateTotalFundsRaised();
+            
+            return new ProjectFinancialSummary(
+                totalBudget != null ? totalBudget : BigDecimal.ZERO,
+                totalFundsRaised != null ? totalFundsRaised : BigDecimal.ZERO
+            );
+        }));
     }
 
     /**
-     * Publish project created event to Kafka
+     * Record project created event in the outbox
      */
     private void publishProjectCreatedEvent(ConservationProject project) {
-        try {
-            ProjectCreatedEvent event = new ProjectCreatedEvent(
-                project.getId(),
-                project.getName(),
-                project.getStartDate(),
-                project.getBudget()
-            );
-            event.setDescription(project.getDescription());
-            event.setEndDate(project.getEndDate());
-            event.setStatus(project.getStatus());
-            event.setLocation(project.getLocation());
-            
-            if (project.getSpecies() != null) {
-                event.setSpeciesId(project.getSpecies().getId());
-                event.setSpeciesName(project.getSpecies().getName());
-            }
-            
-            kafkaTemplate.send(PROJECT_TOPIC, event);
-            logger.info("Published ProjectCreatedEvent for project ID: {}", project.getId());
-            
-        } catch (Exception e) {
-            logger.error("Failed to publish ProjectCreatedEvent for project ID: {}", 
-                project.getId(), e);
+        ProjectCreatedEvent event = new ProjectCreatedEvent(
+            project.getId(),
+            project.getName(),
+            project.getStartDate(),
+            project.getBudget()
+        );
+        event.setDescription(project.getDescription());
+        event.setEndDate(project.getEndDate());
+        event.setStatus(project.getStatus());
+        event.setLocation(project.getLocation());
+        
+        if (project.getSpecies() != null) {
+            event.setSpeciesId(project.getSpecies().getId());
+            event.setSpeciesName(project.getSpecies().getName());
         }
+        
+        eventOutbox.publish(PROJECT_TOPIC, String.valueOf(project.getId()), event);
+        logger.debug("Recorded ProjectCreatedEvent for project ID: {}", project.getId());
     }
 
     /**
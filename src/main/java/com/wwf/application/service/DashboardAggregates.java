@@ -0,0 +1,402 @@
+package com.wwf.application.service;
+
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.model.ProjectStatus;
+import com.wwf.application.repository.ConservationProjectRepository;
+import com.wwf.application.repository.DonationRepository;
+import com.wwf.application.repository.WildlifeSpeciesRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Materialized dashboard aggregates maintained incrementally by the write paths.
+ *
+ * The store is seeded from the database once at startup. After that every create,
+ * update, process, refund and delete applies an O(1) delta once its transaction has
+ * committed, so the statistics and financial summary endpoints no longer scan whole
+ * tables. A scheduled reconciliation recomputes the aggregates from the database and
+ * corrects any drift, e.g. from writes made by other replicas.
+ *
+ * Deltas keep being applied while the reconciliation reads the database. The deltas of
+ * each aggregate applied from just before its query until it is corrected are recorded
+ * and re-applied to the totals read, since their transactions committed after the read
+ * started. A commit landing between the start of the window and the query snapshot is
+ * counted twice until the next reconciliation, so drift is only reported for aggregates
+ * that saw no writes during their window.
+ */
+@Component
+public class DashboardAggregates {
+
+    private static final Logger logger = LoggerFactory.getLogger(DashboardAggregates.class);
+
+    private final WildlifeSpeciesRepository speciesRepository;
+    private final ConservationProjectRepository projectRepository;
+    private final DonationRepository donationRepository;
+    private final Counter corrections;
+
+    private final Map<ConservationStatus, Aggregate> speciesCounts = new ConcurrentHashMap<>();
+    private final Map<ProjectStatus, Aggregate> projectCounts = new ConcurrentHashMap<>();
+    private final Map<DonationStatus, Aggregate> donationCounts = new ConcurrentHashMap<>();
+    private final Map<DonationStatus, Aggregate> donationCents = new ConcurrentHashMap<>();
+    private final Aggregate totalBudgetCents = new Aggregate();
+    private final Aggregate totalFundsRaisedCents = new Aggregate();
+
+    private volatile boolean seeded;
+
+    @Autowired
+    public DashboardAggregates(WildlifeSpeciesRepository speciesRepository,
+                               ConservationProjectRepository projectRepository,
+                               DonationRepository donationRepository,
+                               MeterRegistry meterRegistry) {
+        this.speciesRepository = speciesRepository;
+        this.projectRepository = projectRepository;
+        this.donationRepository = donationRepository;
+        this.corrections = Counter.builder("wwf.aggregates.corrections")
+            .description("Dashboard aggregates corrected by reconciliation")
+            .register(meterRegistry);
+    }
+
+    // Species
+
+    public void speciesAdded(ConservationStatus status) {
+        afterCommit(() -> add(speciesCounts, status, 1));
+    }
+
+    public void speciesStatusChanged(ConservationStatus from, ConservationStatus to) {
+        if (from != to) {
+            afterCommit(() -> {
+                add(speciesCounts, from, -1);
+                add(speciesCounts, to, 1);
+            });
+        }
+    }
+
+    public void speciesRemoved(ConservationStatus status) {
+        afterCommit(() -> add(speciesCounts, status, -1));
+    }
+
+    // Projects
+
+    public void projectAdded(ProjectStatus status, BigDecimal budget, BigDecimal fundsRaised) {
+        afterCommit(() -> {
+            add(projectCounts, status, 1);
+            totalBudgetCents.add(toCents(budget));
+            totalFundsRaisedCents.add(toCents(fundsRaised));
+        });
+    }
+
+    public void projectChanged(ProjectStatus fromStatus, ProjectStatus toStatus,
+                               BigDecimal fromBudget, BigDecimal toBudget) {
+        afterCommit(() -> {
+            if (fromStatus != toStatus) {
+                add(projectCounts, fromStatus, -1);
+                add(projectCounts, toStatus, 1);
+            }
+            totalBudgetCents.add(toCents(toBudget) - toCents(fromBudget));
+        });
+    }
+
+    public void projectRemoved(ProjectStatus status, BigDecimal budget, BigDecimal fundsRaised) {
+        afterCommit(() -> {
+            add(projectCounts, status, -1);
+            totalBudgetCents.add(-toCents(budget));
+            totalFundsRaisedCents.add(-toCents(fundsRaised));
+        });
+    }
+
+    public void fundsRaisedChanged(BigDecimal delta) {
+        afterCommit(() -> totalFundsRaisedCents.add(toCents(delta)));
+    }
+
+    // Donations
+
+    public void donationAdded(DonationStatus status, BigDecimal amount) {
+        afterCommit(() -> {
+            add(donationCounts, status, 1);
+            add(donationCents, status, toCents(amount));
+        });
+    }
+
+    public void donationStatusChanged(DonationStatus from, DonationStatus to, BigDecimal amount) {
+        donationStatusChanged(from, to, 1, amount);
+    }
+
+    public void donationStatusChanged(DonationStatus from, DonationStatus to, long count, BigDecimal amount) {
+        if (from != to) {
+            afterCommit(() -> {
+                long cents = toCents(amount);
+                add(donationCounts, from, -count);
+                add(donationCents, from, -cents);
+                add(donationCounts, to, count);
+                add(donationCents, to, cents);
+            });
+        }
+    }
+
+    // Reads
+
+    /**
+     * Whether the aggregates have been seeded from the database and can be served
+     */
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    public List<Object[]> getSpeciesCountsByStatus() {
+        return toRows(speciesCounts);
+    }
+
+    public List<Object[]> getProjectCountsByStatus() {
+        return toRows(projectCounts);
+    }
+
+    public List<Object[]> getDonationCountsByStatus() {
+        return toRows(donationCounts);
+    }
+
+    public BigDecimal getTotalDonationsByStatus(DonationStatus status) {
+        Aggregate cents = donationCents.get(status);
+        return BigDecimal.valueOf(cents != null ? cents.sum() : 0, 2);
+    }
+
+    public BigDecimal getTotalBudget() {
+        return BigDecimal.valueOf(totalBudgetCents.sum(), 2);
+    }
+
+    public BigDecimal getTotalFundsRaised() {
+        return BigDecimal.valueOf(totalFundsRaisedCents.sum(), 2);
+    }
+
+    /**
+     * Seed the aggregates once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Recompute the aggregates from the database and correct any drift
+     */
+    @Scheduled(fixedDelayString = "${wwf.aggregates.reconcile-interval-ms:300000}",
+               initialDelayString = "${wwf.aggregates.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        try {
+            int drift = 0;
+
+            drift += reconcile(speciesCounts, ConservationStatus.values(), () -> {
+                Map<ConservationStatus, Long> species = new EnumMap<>(ConservationStatus.class);
+                for (Object[] row : speciesRepository.countSpeciesByConservationStatus()) {
+                    species.put((ConservationStatus) row[0], (Long) row[1]);
+                }
+                return species;
+            });
+
+            drift += reconcile(projectCounts, ProjectStatus.values(), () -> {
+                Map<ProjectStatus, Long> projects = new EnumMap<>(ProjectStatus.class);
+                for (Object[] row : projectRepository.countProjectsByStatus()) {
+                    projects.put((ProjectStatus) row[0], (Long) row[1]);
+                }
+                return projects;
+            });
+
+            // Counts and totals per donation status come from one query
+            List<Aggregate> donationAggregates = new ArrayList<>();
+            for (DonationStatus status : DonationStatus.values()) {
+                donationAggregates.add(aggregate(donationCounts, status));
+                donationAggregates.add(aggregate(donationCents, status));
+            }
+            drift += reconcile(donationAggregates, () -> {
+                Map<DonationStatus, Object[]> rows = new EnumMap<>(DonationStatus.class);
+                for (Object[] row : donationRepository.summarizeDonationsByStatus()) {
+                    rows.put((DonationStatus) row[0], row);
+                }
+                List<Long> actual = new ArrayList<>();
+                for (DonationStatus status : DonationStatus.values()) {
+                    Object[] row = rows.get(status);
+                    actual.add(row != null ? (Long) row[1] : 0L);
+                    actual.add(row != null ? toCents((BigDecimal) row[2]) : 0L);
+                }
+                return actual;
+            });
+
+            drift += reconcile(List.of(totalBudgetCents),
+                () -> List.of(toCents(projectRepository.calculateTotalBudget())));
+            drift += reconcile(List.of(totalFundsRaisedCents),
+                () -> List.of(toCents(projectRepository.calculateTotalFundsRaised())));
+
+            if (!seeded) {
+                seeded = true;
+                logger.info("Seeded dashboard aggregates from the database");
+            } else if (drift > 0) {
+                corrections.increment(drift);
+                logger.warn("Corrected {} drifted dashboard aggregates", drift);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to reconcile dashboard aggregates", e);
+        }
+    }
+
+    private static <K extends Enum<K>> int reconcile(Map<K, Aggregate> aggregates, K[] keys,
+                                                     Supplier<Map<K, Long>> read) {
+        List<Aggregate> keyed = new ArrayList<>();
+        for (K key : keys) {
+            keyed.add(aggregate(aggregates, key));
+        }
+        return reconcile(keyed, () -> {
+            Map<K, Long> actual = read.get();
+            List<Long> values = new ArrayList<>();
+            for (K key : keys) {
+                values.add(actual.getOrDefault(key, 0L));
+            }
+            return values;
+        });
+    }
+
+    /**
+     * Correct the aggregates to the values read, in the same order, plus the deltas
+     * applied to them while reading
+     *
+     * @return the number of aggregates that drifted
+     */
+    private static int reconcile(List<Aggregate> aggregates, Supplier<List<Long>> read) {
+        aggregates.forEach(Aggregate::openWindow);
+        List<Long> actual;
+        try {
+            actual = read.get();
+        } catch (RuntimeException e) {
+            aggregates.forEach(aggregate -> aggregate.closeWindow(null));
+            throw e;
+        }
+        int drift = 0;
+        for (int i = 0; i < aggregates.size(); i++) {
+            if (aggregates.get(i).closeWindow(actual.get(i))) {
+                drift++;
+            }
+        }
+        return drift;
+    }
+
+    private static <K extends Enum<K>> Aggregate aggregate(Map<K, Aggregate> aggregates, K key) {
+        return aggregates.computeIfAbsent(key, k -> new Aggregate());
+    }
+
+    private static <K extends Enum<K>> void add(Map<K, Aggregate> aggregates, K key, long delta) {
+        if (key != null) {
+            aggregate(aggregates, key).add(delta);
+        }
+    }
+
+    private static <K extends Enum<K>> List<Object[]> toRows(Map<K, Aggregate> aggregates) {
+        List<Object[]> rows = new ArrayList<>();
+        aggregates.forEach((key, count) -> {
+            long value = count.sum();
+            if (value > 0) {
+                rows.add(new Object[]{key, value});
+            }
+        });
+        return rows;
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * A running total. While it is being reconciled, the deltas applied to it are also
+     * recorded in a window so they can be re-applied to the value read from the database.
+     */
+    private static final class Aggregate {
+
+        private final LongAdder total = new LongAdder();
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private LongAdder window;
+        private LongAdder windowWrites;
+
+        void add(long delta) {
+            lock.readLock().lock();
+            try {
+                total.add(delta);
+                if (window != null) {
+                    window.add(delta);
+                    windowWrites.increment();
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        long sum() {
+            return total.sum();
+        }
+
+        void openWindow() {
+            lock.writeLock().lock();
+            try {
+                window = new LongAdder();
+                windowWrites = new LongAdder();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * Set the total to the value read plus the deltas of the window, or only close the
+         * window if nothing was read
+         *
+         * @return whether the total drifted while no writes were applied during the window
+         */
+        boolean closeWindow(Long actual) {
+            lock.writeLock().lock();
+            try {
+                long corrected = actual != null ? actual + window.sum() : total.sum();
+                boolean quiet = windowWrites.sum() == 0;
+                window = null;
+                windowWrites = null;
+                long delta = corrected - total.sum();
+                if (delta == 0) {
+                    return false;
+                }
+                total.add(delta);
+                return quiet;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.wwf.application.service;
+
+import com.wwf.application.dto.ReplayResult;
+import com.wwf.application.kafka.EventRetryTopology;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays records from the dead-letter topic of an event topic back onto the event topic.
+ *
+ * Records are copied as raw bytes with their original key and type headers, so they are
+ * consumed exactly like fresh events. Progress is tracked by a consumer group on the DLT:
+ * offsets are committed only once the replayed records are acknowledged by the broker.
+ */
+@Service
+@Profile("!test")  // Exclude from test profile
+public class DeadLetterReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(DeadLetterReplayService.class);
+    private static final String REPLAY_GROUP = "wwf-dlt-replay";
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(2);
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final KafkaTemplate<Object, Object> kafkaTemplate;
+    private final EventRetryTopology retryTopology;
+    private final long sendTimeoutMs;
+
+    @Autowired
+    public DeadLetterReplayService(ConsumerFactory<String, byte[]> deadLetterConsumerFactory,
+                                   KafkaTemplate<Object, Object> deadLetterKafkaTemplate,
+                                   EventRetryTopology retryTopology,
+                                   @Value("${wwf.kafka.dlt.replay.send-timeout-ms:30000}") long sendTimeoutMs) {
+        this.consumerFactory = deadLetterConsumerFactory;
+        this.kafkaTemplate = deadLetterKafkaTemplate;
+        this.retryTopology = retryTopology;
+        this.sendTimeoutMs = sendTimeoutMs;
+    }
+
+    /**
+     * Replay up to maxRecords dead-lettered records of an event topic
+     */
+    public synchronized ReplayResult replay(String topic, int maxRecords) {
+        if (!EventRetryTopology.EVENT_TOPICS.contains(topic)) {
+            throw new IllegalArgumentException("Unknown event topic: " + topic);
+        }
+        if (maxRecords < 1) {
+            throw new IllegalArgumentException("maxRecords must be positive, got " + maxRecords);
+        }
+        String deadLetterTopic = retryTopology.deadLetterTopic(topic);
+
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(REPLAY_GROUP, null)) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (PartitionInfo info : consumer.partitionsFor(deadLetterTopic)) {
+                partitions.add(new TopicPartition(deadLetterTopic, info.partition()));
+            }
+            consumer.assign(partitions);
+            // Only records dead-lettered before the replay started, so records that fail
+            // again and return to the DLT are not picked up by the same replay
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            List<CompletableFuture<SendResult<Object, Object>>> sends = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+            while (sends.size() < maxRecords && !caughtUp(consumer, endOffsets)) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                if (records.isEmpty()) {
+                    break;
+                }
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (sends.size() == maxRecords || record.offset() >= endOffsets.get(partition)) {
+                        continue;
+                    }
+                    sends.add(kafkaTemplate.send(replayRecord(topic, record)));
+                    offsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            if (!offsets.isEmpty()) {
+                consumer.commitSync(offsets);
+            }
+            logger.info("Replayed {} records from {} to {}", sends.size(), deadLetterTopic, topic);
+            return new ReplayResult(deadLetterTopic, topic, sends.size());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while replaying " + deadLetterTopic, e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Failed to replay " + deadLetterTopic, e);
+        }
+    }
+
+    private boolean caughtUp(Consumer<String, byte[]> consumer, Map<TopicPartition, Long> endOffsets) {
+        for (Map.Entry<TopicPartition, Long> end : endOffsets.entrySet()) {
+            if (consumer.position(end.getKey()) < end.getValue()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * A copy of a dead-lettered record for the event topic, without the failure and retry headers
+     */
+    private ProducerRecord<Object, Object> replayRecord(String topic, ConsumerRecord<String, byte[]> record) {
+        RecordHeaders headers = new RecordHeaders();
+        for (Header header : record.headers()) {
+            if (!header.key().startsWith(KafkaHeaders.PREFIX + "dlt-")
+                    && !header.key().startsWith(SerializationUtils.DESERIALIZER_EXCEPTION_HEADER_PREFIX)
+                    && !header.key().equals(EventRetryTopology.DUE_AT_HEADER)) {
+                headers.add(header);
+            }
+        }
+        return new ProducerRecord<>(topic, null, record.key(), record.value(), headers);
+    }
+}
@@ -0,0 +1,206 @@
+package com.wwf.application.service;
+
+import com.wwf.application.dto.DonationStatusCounts;
+import com.wwf.application.dto.DonorTotal;
+import com.wwf.application.dto.ProjectDonationTotals;
+import com.wwf.application.kafka.DonationProcessedEvent;
+import com.wwf.application.model.DonationStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory donation analytics built from the donation event stream.
+ *
+ * Keeps per-status donation counts, net donations per project, in total and in tumbling
+ * windows of event time, and a Space-Saving sketch of the top donors. State is bounded:
+ * windows older than the retention are dropped and the sketch tracks a fixed number of
+ * donors. Reads are served from memory and never touch the database.
+ *
+ * The state is rebuilt from the events still retained on the topic, so totals and counts
+ * cover only the events since the oldest one applied, which every read reports; all-time
+ * figures come from the database. Events are applied once by id: the ids of at least the
+ * last dedup capacity events are remembered, in two generations that rotate when the newer
+ * one is full, so resent and replayed events within that horizon are skipped.
+ */
+@Component
+public class DonationAnalytics {
+
+    private final long windowSeconds;
+    private final Duration retention;
+    private final Map<DonationStatus, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final Map<Long, ProjectTotals> projects = new ConcurrentHashMap<>();
+    private final SpaceSavingTopK<String> topDonors;
+    private final LongAccumulator oldestEvent = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final int dedupCapacity;
+    private Set<String> appliedEvents = new HashSet<>();
+    private Set<String> previousAppliedEvents = new HashSet<>();
+
+    public DonationAnalytics(@Value("${wwf.analytics.window:1h}") Duration window,
+                             @Value("${wwf.analytics.retention:7d}") Duration retention,
+                             @Value("${wwf.analytics.top-donors.capacity:1000}") int topDonorsCapacity,
+                             @Value("${wwf.analytics.dedup.capacity:100000}") int dedupCapacity) {
+        if (window.getSeconds() <= 0 || retention.compareTo(window) < 0) {
+            throw new IllegalArgumentException("Invalid analytics windows: size " + window + ", retention " + retention);
+        }
+        if (dedupCapacity <= 0) {
+            throw new IllegalArgumentException("Analytics dedup capacity must be positive, got " + dedupCapacity);
+        }
+        this.windowSeconds = window.getSeconds();
+        this.retention = retention;
+        this.topDonors = new SpaceSavingTopK<>(topDonorsCapacity);
+        this.dedupCapacity = dedupCapacity;
+    }
+
+    /**
+     * Apply a donation event, unless an event with the same id was applied before. A refund
+     * reverses the completed donation it refunds.
+     *
+     * @return false if the event was skipped
+     */
+    public boolean apply(DonationProcessedEvent event) {
+        if (event.getStatus() == null || !firstApplication(event.getEventId())) {
+            return false;
+        }
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now();
+        oldestEvent.accumulate(timestamp.toEpochSecond(ZoneOffset.UTC));
+        add(event.getStatus(), 1);
+
+        long cents = toCents(event.getAmount());
+        switch (event.getStatus()) {
+            case COMPLETED:
+                addToProject(event, cents);
+                topDonors.add(donorOf(event), cents);
+                break;
+            case REFUNDED:
+                add(DonationStatus.COMPLETED, -1);
+                addToProject(event, -cents);
+                topDonors.subtract(donorOf(event), cents);
+                break;
+            default:
+                break;
+        }
+        return true;
+    }
+
+    /**
+     * Number of processed donations per status among the retained events
+     */
+    public DonationStatusCounts getStatusCounts() {
+        Map<DonationStatus, Long> counts = new EnumMap<>(DonationStatus.class);
+        statusCounts.forEach((status, count) -> counts.put(status, count.sum()));
+        return new DonationStatusCounts(getRetainedSince(), counts);
+    }
+
+    /**
+     * Net donations of a project among the retained events, with the windows within the retention
+     */
+    public ProjectDonationTotals getProjectTotals(Long projectId) {
+        ProjectTotals totals = projects.get(projectId);
+        if (totals == null) {
+            return new ProjectDonationTotals(projectId, BigDecimal.ZERO.setScale(2), getRetainedSince(), List.of());
+        }
+        long oldest = windowOf(LocalDateTime.now().minus(retention));
+        List<ProjectDonationTotals.Window> windows = new ArrayList<>();
+        totals.windows.tailMap(oldest, true).forEach((start, cents) -> windows.add(new ProjectDonationTotals.Window(
+            toDateTime(start), toDateTime(start + windowSeconds), BigDecimal.valueOf(cents.sum(), 2))));
+        return new ProjectDonationTotals(projectId, BigDecimal.valueOf(totals.cents.sum(), 2), getRetainedSince(),
+            windows);
+    }
+
+    /**
+     * The donors with the highest net donations, highest first
+     */
+    public List<DonorTotal> getTopDonors(int limit) {
+        List<DonorTotal> donors = new ArrayList<>();
+        for (SpaceSavingTopK.Estimate<String> estimate : topDonors.top(limit)) {
+            donors.add(new DonorTotal(estimate.key(), BigDecimal.valueOf(estimate.weight(), 2),
+                BigDecimal.valueOf(estimate.error(), 2)));
+        }
+        return donors;
+    }
+
+    /**
+     * Time of the oldest event applied, or null before the first one
+     */
+    private LocalDateTime getRetainedSince() {
+        long oldest = oldestEvent.get();
+        return oldest != Long.MAX_VALUE ? toDateTime(oldest) : null;
+    }
+
+    private synchronized boolean firstApplication(String eventId) {
+        if (eventId == null) {
+            return true;
+        }
+        if (appliedEvents.contains(eventId) || previousAppliedEvents.contains(eventId)) {
+            return false;
+        }
+        if (appliedEvents.size() >= dedupCapacity) {
+            previousAppliedEvents = appliedEvents;
+            appliedEvents = new HashSet<>();
+        }
+        appliedEvents.add(eventId);
+        return true;
+    }
+
+    private void add(DonationStatus status, long delta) {
+        statusCounts.computeIfAbsent(status, s -> new LongAdder()).add(delta);
+    }
+
+    private void addToProject(DonationProcessedEvent event, long cents) {
+        if (event.getProjectId() == null) {
+            return;
+        }
+        ProjectTotals totals = projects.computeIfAbsent(event.getProjectId(), id -> new ProjectTotals());
+        totals.cents.add(cents);
+
+        LocalDateTime timestamp = event.getTimestamp() != null ? event.getTimestamp() : LocalDateTime.now();
+        totals.windows.computeIfAbsent(windowOf(timestamp), start -> new LongAdder()).add(cents);
+        totals.windows.headMap(windowOf(LocalDateTime.now().minus(retention))).clear();
+    }
+
+    private long windowOf(LocalDateTime timestamp) {
+        long seconds = timestamp.toEpochSecond(ZoneOffset.UTC);
+        return Math.floorDiv(seconds, windowSeconds) * windowSeconds;
+    }
+
+    private static LocalDateTime toDateTime(long epochSeconds) {
+        return LocalDateTime.ofEpochSecond(epochSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private static String donorOf(DonationProcessedEvent event) {
+        if (event.getDonorEmail() != null && !event.getDonorEmail().isBlank()) {
+            return event.getDonorEmail().trim().toLowerCase(Locale.ROOT);
+        }
+        return event.getDonorName() != null ? event.getDonorName() : "anonymous";
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    /**
+     * Net donations of one project, in minor currency units, overall and by window start
+     */
+    private static final class ProjectTotals {
+        private final LongAdder cents = new LongAdder();
+        private final NavigableMap<Long, LongAdder> windows = new ConcurrentSkipListMap<>();
+    }
+}
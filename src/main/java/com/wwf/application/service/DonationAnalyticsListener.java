@@ -0,0 +1,72 @@
+package com.wwf.application.service;
+
+import com.wwf.application.kafka.DonationProcessedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Feeds the donation event stream into the in-memory donation analytics.
+ *
+ * Each application instance joins its own consumer group, named after its instance id so
+ * restarts reuse it rather than leaving orphaned groups behind. The first time a partition
+ * is assigned after startup the listener seeks to its earliest retained offset, so every
+ * replica rebuilds the analytics from the retained events and serves analytics reads on
+ * its own; a later reassignment carries on from the current position.
+ */
+@Service
+@Profile("!test")  // Exclude from test profile
+public class DonationAnalyticsListener implements ConsumerSeekAware {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationAnalyticsListener.class);
+
+    private final DonationAnalytics analytics;
+    private final Set<TopicPartition> rebuiltPartitions = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public DonationAnalyticsListener(DonationAnalytics analytics) {
+        this.analytics = analytics;
+    }
+
+    /**
+     * Read partitions assigned for the first time since startup from the beginning
+     */
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        List<TopicPartition> rebuild = assignments.keySet().stream()
+            .filter(rebuiltPartitions::add)
+            .toList();
+        if (!rebuild.isEmpty()) {
+            logger.info("Rebuilding donation analytics from the beginning of {}", rebuild);
+            callback.seekToBeginning(rebuild);
+        }
+    }
+
+    /**
+     * Apply a batch of donation events to the analytics
+     */
+    @KafkaListener(id = "donationAnalyticsListener", topics = "wwf.donation.events",
+                   groupId = "wwf-donation-analytics-${wwf.instance-id}",
+                   containerFactory = "analyticsKafkaListenerContainerFactory")
+    public void onDonationEvents(List<ConsumerRecord<String, Object>> records) {
+        int applied = 0;
+        for (ConsumerRecord<String, Object> record : records) {
+            // Records that could not be deserialized arrive with a null value
+            if (record.value() instanceof DonationProcessedEvent event && analytics.apply(event)) {
+                applied++;
+            }
+        }
+        logger.debug("Applied {} of {} donation events to the analytics", applied, records.size());
+    }
+}
@@ -0,0 +1,190 @@
+package com.wwf.application.service;
+
+import com.wwf.application.dto.DonationSummary;
+import com.wwf.application.dto.LedgerEntrySummary;
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.DonationLedgerEntry;
+import com.wwf.application.model.LedgerEntryType;
+import com.wwf.application.model.ProjectLedgerSnapshot;
+import com.wwf.application.repository.DonationLedgerRepository;
+import com.wwf.application.repository.ProjectLedgerSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Append-only ledger of donation state changes.
+ *
+ * Every change of a donation appends an entry in the transaction that makes it; entries
+ * are never deleted and only ever marked as folded, so they double as the audit trail.
+ * Each entry carries what it adds to its project's donated funds, which makes those funds
+ * a projection of the ledger: a periodic snapshot folds the entries per project, and a
+ * read adds the entries not folded yet.
+ *
+ * A snapshot run marks the entries it folds in the same transaction, instead of folding up
+ * to a watermark. Neither recording time nor pooled ids follow commit order, so an entry
+ * committed late would fall behind any watermark and never be counted; an unmarked entry
+ * is folded by whichever run first sees it committed.
+ */
+@Component
+public class DonationLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationLedger.class);
+    private static final int FOLD_BATCH_SIZE = 1000;
+
+    private final DonationLedgerRepository repository;
+    private final ProjectLedgerSnapshotRepository snapshotRepository;
+    private final BulkInsertSupport bulkInsertSupport;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer snapshotTimer;
+
+    @Autowired
+    public DonationLedger(DonationLedgerRepository repository,
+                          ProjectLedgerSnapshotRepository snapshotRepository,
+                          BulkInsertSupport bulkInsertSupport,
+                          PlatformTransactionManager transactionManager,
+                          MeterRegistry meterRegistry) {
+        this.repository = repository;
+        this.snapshotRepository = snapshotRepository;
+        this.bulkInsertSupport = bulkInsertSupport;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTimer = Timer.builder("wwf.ledger.snapshot")
+            .description("Time taken to fold new ledger entries into the project snapshots")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Append an entry for a donation that does not change its project's funds
+     */
+    @Transactional
+    public DonationLedgerEntry record(Donation donation, LedgerEntryType type) {
+        return record(donation, type, BigDecimal.ZERO);
+    }
+
+    /**
+     * Append an entry for a donation that adds the given funds to its project
+     */
+    @Transactional
+    public DonationLedgerEntry record(Donation donation, LedgerEntryType type, BigDecimal fundsDelta) {
+        Long projectId = donation.getProject() != null ? donation.getProject().getId() : null;
+        return repository.save(new DonationLedgerEntry(donation.getId(), projectId, type, donation.getAmount(),
+            projectId != null ? fundsDelta : BigDecimal.ZERO));
+    }
+
+    /**
+     * Append the CREATED entries of many donations using batched inserts
+     */
+    @Transactional
+    public void recordCreated(List<Donation> donations) {
+        List<DonationLedgerEntry> entries = new ArrayList<>(donations.size());
+        for (Donation donation : donations) {
+            entries.add(new DonationLedgerEntry(donation.getId(),
+                donation.getProject() != null ? donation.getProject().getId() : null,
+                LedgerEntryType.CREATED, donation.getAmount(), BigDecimal.ZERO));
+        }
+        bulkInsertSupport.saveAll(repository, entries);
+    }
+
+    /**
+     * Append FAILED entries for donations failed in bulk
+     */
+    @Transactional
+    public void recordFailed(List<DonationSummary> donations) {
+        List<DonationLedgerEntry> entries = new ArrayList<>(donations.size());
+        for (DonationSummary donation : donations) {
+            entries.add(new DonationLedgerEntry(donation.id(), donation.projectId(), LedgerEntryType.FAILED,
+                donation.amount(), BigDecimal.ZERO));
+        }
+        bulkInsertSupport.saveAll(repository, entries);
+    }
+
+    /**
+     * History of a donation, oldest entry first
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerEntrySummary> getHistory(Long donationId) {
+        return repository.findHistory(donationId);
+    }
+
+    /**
+     * Funds a donation has credited to its project and that have not been refunded
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getCreditedFunds(Long donationId) {
+        return repository.sumFundsDeltaForDonation(donationId);
+    }
+
+    /**
+     * Funds donated to a project: its snapshot plus the entries not folded into it yet
+     */
+    @Transactional(readOnly = true)
+    public BigDecimal getDonatedFunds(Long projectId) {
+        return repository.sumDonatedFunds(projectId);
+    }
+
+    /**
+     * Periodically fold new ledger entries into the project snapshots
+     */
+    @Scheduled(fixedDelayString = "${wwf.ledger.snapshot.interval-ms:60000}",
+               initialDelayString = "${wwf.ledger.snapshot.interval-ms:60000}")
+    public void scheduledSnapshot() {
+        try {
+            snapshot();
+        } catch (Exception e) {
+            logger.error("Failed to snapshot the donation ledger", e);
+        }
+    }
+
+    /**
+     * Fold the entries not folded yet into the snapshots of their projects, in batches of
+     * one transaction each
+     *
+     * @return the number of projects whose snapshot changed
+     */
+    public int snapshot() {
+        Set<Long> projects = new HashSet<>();
+        snapshotTimer.record(() -> {
+            Integer folded;
+            do {
+                folded = transactionTemplate.execute(status -> foldBatch(projects));
+            } while (folded != null && folded == FOLD_BATCH_SIZE);
+        });
+        if (!projects.isEmpty()) {
+            logger.info("Folded new ledger entries into {} project snapshots", projects.size());
+        }
+        return projects.size();
+    }
+
+    private int foldBatch(Set<Long> projects) {
+        List<Long> ids = repository.lockUnfolded(PageRequest.of(0, FOLD_BATCH_SIZE));
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (Object[] row : repository.sumFundsDeltaByProject(ids)) {
+            Long projectId = (Long) row[0];
+            BigDecimal delta = (BigDecimal) row[1];
+            if (snapshotRepository.addToSnapshot(projectId, delta, now) == 0) {
+                snapshotRepository.save(new ProjectLedgerSnapshot(projectId, delta, now));
+            }
+            projects.add(projectId);
+        }
+        repository.markFolded(ids);
+        return ids.size();
+    }
+}
@@ -0,0 +1,212 @@
+package com.wwf.application.service;
+
+import com.wwf.application.dto.DonationSummary;
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.payment.PaymentGateway;
+import com.wwf.application.payment.PaymentResult;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous donation processing pipeline.
+ *
+ * A donation is moved to PROCESSING in a short transaction and charged through the
+ * {@link PaymentGateway} with no transaction open. The outcome is committed in a second
+ * short transaction on a bounded worker pool, so no pooled connection is held while
+ * waiting on the payment provider. The number of charges in flight is capped, and
+ * submissions beyond the cap are rejected before the donation is touched.
+ *
+ * Donations whose outcome was never recorded, because recording it failed or the
+ * instance stopped, stay PROCESSING. A sweep at startup and on a schedule charges
+ * donations that have been PROCESSING for longer than the charge timeout again. The
+ * gateway takes the donation id as idempotency reference, so a charge that went through
+ * is not repeated and reports the same transaction id, which completeProcessing accepts
+ * once. On shutdown new submissions are rejected and the charges in flight are drained.
+ */
+@Service
+public class DonationProcessingPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(DonationProcessingPipeline.class);
+
+    private final DonationService donationService;
+    private final PaymentGateway paymentGateway;
+    private final ThreadPoolTaskExecutor executor;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+    private final Set<Long> processing = ConcurrentHashMap.newKeySet();
+    private final Duration chargeTimeout;
+    private final int recoveryBatchSize;
+    private final Duration drainTimeout;
+
+    private volatile boolean shuttingDown;
+
+    @Autowired
+    public DonationProcessingPipeline(DonationService donationService,
+                                      PaymentGateway paymentGateway,
+                                      @Qualifier("donationProcessingExecutor") ThreadPoolTaskExecutor executor,
+                                      @Value("${wwf.donation.processing.max-in-flight:10000}") int maxInFlight,
+                                      @Value("${wwf.donation.processing.charge-timeout:2m}") Duration chargeTimeout,
+                                      @Value("${wwf.donation.processing.recovery-batch-size:500}") int recoveryBatchSize,
+                                      @Value("${wwf.donation.processing.drain-timeout:30s}") Duration drainTimeout) {
+        this.donationService = donationService;
+        this.paymentGateway = paymentGateway;
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.chargeTimeout = chargeTimeout;
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.drainTimeout = drainTimeout;
+    }
+
+    /**
+     * Submit a donation for processing
+     *
+     * @throws TaskRejectedException if too many donations are already in flight or the
+     *                               application is shutting down; the donation is left PENDING
+     */
+    public Donation submit(Long donationId) {
+        if (shuttingDown) {
+            throw new TaskRejectedException("Donation processing pipeline is shutting down");
+        }
+        if (!inFlight.tryAcquire()) {
+            logger.warn("Donation processing pipeline saturated, rejecting donation ID: {}", donationId);
+            throw new TaskRejectedException("Too many donations in flight");
+        }
+
+        Donation donation;
+        try {
+            donation = donationService.startProcessing(donationId);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+
+        processing.add(donationId);
+        process(donationId, donation.getAmount());
+        logger.info("Queued donation ID: {} for processing", donationId);
+        return donation;
+    }
+
+    /**
+     * Charge again the donations that have been PROCESSING for longer than the charge
+     * timeout, unless this instance is still processing them
+     *
+     * @return the number of donations submitted again
+     */
+    @Scheduled(fixedDelayString = "${wwf.donation.processing.recovery-interval-ms:60000}",
+               initialDelayString = "${wwf.donation.processing.recovery-interval-ms:60000}")
+    public int recoverStuckDonations() {
+        int recovered = 0;
+        try {
+            List<Long> ids = donationService.findStuckProcessingIds(
+                LocalDateTime.now().minus(chargeTimeout), recoveryBatchSize);
+            for (Long donationId : ids) {
+                if (!processing.add(donationId)) {
+                    continue;
+                }
+                if (shuttingDown || !inFlight.tryAcquire()) {
+                    processing.remove(donationId);
+                    logger.info("Donation processing pipeline busy, leaving stuck donations for the next sweep");
+                    break;
+                }
+                try {
+                    DonationSummary donation = donationService.getDonationById(donationId).orElse(null);
+                    if (donation == null || donation.status() != DonationStatus.PROCESSING) {
+                        release(donationId);
+                        continue;
+                    }
+                    logger.warn("Donation ID: {} stuck in PROCESSING since {}, charging it again",
+                        donationId, donation.processedAt());
+                    process(donationId, donation.amount());
+                    recovered++;
+                } catch (RuntimeException e) {
+                    release(donationId);
+                    throw e;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to recover donations stuck in PROCESSING", e);
+        }
+        return recovered;
+    }
+
+    /**
+     * Recover donations left PROCESSING by a previous run once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverOnStartup() {
+        int recovered = recoverStuckDonations();
+        if (recovered > 0) {
+            logger.info("Charging {} donations left in PROCESSING again", recovered);
+        }
+    }
+
+    /**
+     * Reject new submissions and wait for the charges in flight to be recorded. Runs before
+     * the gateway and the worker pool are shut down, since the pipeline depends on them.
+     */
+    @PreDestroy
+    public void drain() throws InterruptedException {
+        shuttingDown = true;
+        if (inFlight.tryAcquire(maxInFlight, drainTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+            inFlight.release(maxInFlight);
+            return;
+        }
+        logger.warn("{} donations still processing after {}; they are recovered on the next start",
+            processing.size(), drainTimeout);
+    }
+
+    private void release(Long donationId) {
+        processing.remove(donationId);
+        inFlight.release();
+    }
+
+    private void process(Long donationId, BigDecimal amount) {
+        charge(donationId, amount)
+            .thenAcceptAsync(result -> recordOutcome(donationId, result), executor)
+            .whenComplete((ignored, e) -> {
+                release(donationId);
+                if (e != null) {
+                    logger.error("Failed to record processing outcome for donation ID: {}", donationId, e);
+                }
+            });
+    }
+
+    private CompletableFuture<PaymentResult> charge(Long donationId, BigDecimal amount) {
+        try {
+            return paymentGateway.charge(donationId, amount)
+                .exceptionally(e -> {
+                    logger.error("Error processing payment for donation ID: {}", donationId, e);
+                    return PaymentResult.failure(e.getMessage());
+                });
+        } catch (Exception e) {
+            logger.error("Error processing payment for donation ID: {}", donationId, e);
+            return CompletableFuture.completedFuture(PaymentResult.failure(e.getMessage()));
+        }
+    }
+
+    private void recordOutcome(Long donationId, PaymentResult result) {
+        donationService.completeProcessing(donationId, result.isSuccess(), result.getTransactionId());
+    }
+}
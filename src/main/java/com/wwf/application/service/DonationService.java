@@ -1,23 +1,40 @@
 package com.wwf.application.service;
 
+import com.wwf.application.dto.BulkCreateResult;
+import com.wwf.application.dto.CursorPage;
+import com.wwf.application.dto.DonationSummary;
+import com.wwf.application.dto.DonorTotal;
+import com.wwf.application.dto.LedgerEntrySummary;
 import com.wwf.application.kafka.DonationProcessedEvent;
 import com.wwf.application.model.ConservationProject;
 import com.wwf.application.model.Donation;
 import com.wwf.application.model.DonationStatus;
+import com.wwf.application.model.LedgerEntryType;
 import com.wwf.application.repository.ConservationProjectRepository;
 import com.wwf.application.repository.DonationRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
+import java.util.function.Consumer;
 
 /**
  * Service for managing donations
@@ -28,21 +45,47 @@ public class DonationService {
 
     private static final Logger logger = LoggerFactory.getLogger(DonationService.class);
     private static final String DONATION_TOPIC = "wwf.donation.events";
+    private static final int STREAM_PAGE_SIZE = 500;
 
     private final DonationRepository repository;
     private final ConservationProjectRepository projectRepository;
     private final ConservationProjectService projectService;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final FundAccumulator fundAccumulator;
+    private final DashboardAggregates aggregates;
+    private final BulkInsertSupport bulkInsertSupport;
+    private final StaleDonationCleaner staleDonationCleaner;
+    private final EventOutbox eventOutbox;
+    private final DonationLedger ledger;
+    private final TopDonorsTracker topDonors;
+    private final TransactionTemplate readOnlyTransaction;
+    private final SingleFlight<String> aggregateQueries;
 
     @Autowired
     public DonationService(DonationRepository repository,
                           ConservationProjectRepository projectRepository,
                           ConservationProjectService projectService,
-                          KafkaTemplate<String, Object> kafkaTemplate) {
+                          FundAccumulator fundAccumulator,
+                          DashboardAggregates aggregates,
+                          BulkInsertSupport bulkInsertSupport,
+                          StaleDonationCleaner staleDonationCleaner,
+                          EventOutbox eventOutbox,
+                          DonationLedger ledger,
+                          TopDonorsTracker topDonors,
+                          PlatformTransactionManager transactionManager,
+                          @Value("${wwf.single-flight.result-ttl:0ms}") Duration singleFlightTtl) {
         this.repository = repository;
         this.projectRepository = projectRepository;
         this.projectService = projectService;
-        this.kafkaTemplate = kafkaTemplate;
+        this.fundAccumulator = fundAccumulator;
+        this.aggregates = aggregates;
+        this.bulkInsertSupport = bulkInsertSupport;
+        this.staleDonationCleaner = staleDonationCleaner;
+        this.eventOutbox = eventOutbox;
+        this.ledger = ledger;
+        this.topDonors = topDonors;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.aggregateQueries = new SingleFlight<>(singleFlightTtl);
     }
 
     /**
@@ -60,15 +103,58 @@ public class DonationService {
         }
         
         Donation savedDonation = repository.save(donation);
+        ledger.record(savedDonation, LedgerEntryType.CREATED);
+        aggregates.donationAdded(savedDonation.getStatus(), savedDonation.getAmount());
         logger.info("Successfully created donation with ID: {}", savedDonation.getId());
         
         return savedDonation;
     }
 
     /**
-     * Process a donation (simulate payment processing)
+     * Create many donations in one transaction using batched inserts
      */
-    public Donation processDonation(Long donationId) {
+    public BulkCreateResult createDonations(List<Donation> donations) {
+        bulkInsertSupport.validateSize(donations);
+        logger.info("Creating batch of {} donations", donations.size());
+        
+        // Resolve all referenced projects with a single query
+        Set<Long> projectIds = new HashSet<>();
+        for (Donation donation : donations) {
+            if (donation.getProject() != null && donation.getProject().getId() != null) {
+                projectIds.add(donation.getProject().getId());
+            }
+        }
+        Map<Long, ConservationProject> projects = new HashMap<>();
+        for (ConservationProject project : projectRepository.findAllById(projectIds)) {
+            projects.put(project.getId(), project);
+        }
+        for (Donation donation : donations) {
+            if (donation.getProject() != null && donation.getProject().getId() != null) {
+                ConservationProject project = projects.get(donation.getProject().getId());
+                if (project == null) {
+                    throw new RuntimeException("Project not found with ID: " + donation.getProject().getId());
+                }
+                donation.setProject(project);
+            }
+        }
+        
+        List<Donation> savedDonations = bulkInsertSupport.saveAll(repository, donations);
+        ledger.recordCreated(savedDonations);
+        
+        List<Long> ids = new ArrayList<>(savedDonations.size());
+        for (Donation donation : savedDonations) {
+            aggregates.donationAdded(donation.getStatus(), donation.getAmount());
+            ids.add(donation.getId());
+        }
+        
+        logger.info("Successfully created batch of {} donations", ids.size());
+        return new BulkCreateResult(ids.size(), ids);
+    }
+
+    /**
+     * Move a pending donation to PROCESSING so it can be handed to the processing pipeline
+     */
+    public Donation startProcessing(Long donationId) {
         logger.info("Processing donation with ID: {}", donationId);
         
         Donation donation = repository.findById(donationId)
@@ -78,45 +164,61 @@ public class DonationService {
             throw new IllegalStateException("Donation is not in PENDING status");
         }
         
-        // Set status to processing
         donation.setStatus(DonationStatus.PROCESSING);
-        repository.save(donation);
+        // Marks when processing started, until the outcome is recorded
+        donation.setProcessedAt(LocalDateTime.now());
+        ledger.record(donation, LedgerEntryType.PROCESSING);
+        aggregates.donationStatusChanged(DonationStatus.PENDING, DonationStatus.PROCESSING, donation.getAmount());
+        return repository.save(donation);
+    }
+
+    /**
+     * Record the outcome of the payment step for a donation in PROCESSING status. Recording
+     * a successful charge again, with the same transaction id, leaves the donation as it is.
+     */
+    public Donation completeProcessing(Long donationId, boolean paymentSuccess, String transactionId) {
+        Donation donation = repository.lockWithProjectById(donationId)
+            .orElseThrow(() -> new RuntimeException("Donation not found with ID: " + donationId));
         
-        try {
-            // Simulate payment processing delay
-            Thread.sleep(1000);
-            
-            // Simulate payment success (90% success rate for demo)
-            boolean paymentSuccess = Math.random() < 0.9;
+        if (paymentSuccess && donation.getStatus() == DonationStatus.COMPLETED
+                && transactionId != null && transactionId.equals(donation.getTransactionId())) {
+            logger.info("Donation ID: {} already completed with transaction {}", donationId, transactionId);
+            return donation;
+        }
+        if (donation.getStatus() != DonationStatus.PROCESSING) {
+            throw new IllegalStateException("Donation is not in PROCESSING status");
+        }
+        
+        if (paymentSuccess) {
+            // Process successful payment
+            donation.setStatus(DonationStatus.COMPLETED);
+            donation.setTransactionId(transactionId);
+            ledger.record(donation, LedgerEntryType.COMPLETED, donation.getAmount());
+            topDonors.donationCompleted(donation.getDonorEmail(), donation.getAmount());
             
-            if (paymentSuccess) {
-                // Process successful payment
-                donation.setStatus(DonationStatus.COMPLETED);
-                donation.setTransactionId(UUID.randomUUID().toString());
-                
-                // Add funds to project if specified
-                if (donation.getProject() != null) {
+            // Add funds to project if specified
+            if (donation.getProject() != null) {
+                if (fundAccumulator.isEnabled()) {
+                    donation.setFundsApplied(false);
+                    fundAccumulator.addAfterCommit(donation.getProject().getId(), donationId, donation.getAmount());
+                } else {
                     projectService.addFundsToProject(donation.getProject().getId(), donation.getAmount());
+                    donation.setFundsApplied(true);
                 }
-                
-                logger.info("Successfully processed donation ID: {}", donationId);
-                
-            } else {
-                // Process failed payment
-                donation.setStatus(DonationStatus.FAILED);
-                logger.warn("Payment failed for donation ID: {}", donationId);
             }
             
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            donation.setStatus(DonationStatus.FAILED);
-            logger.error("Processing interrupted for donation ID: {}", donationId, e);
-        } catch (Exception e) {
+            logger.info("Successfully processed donation ID: {}", donationId);
+            
+        } else {
+            // Process failed payment
             donation.setStatus(DonationStatus.FAILED);
-            logger.error("Error processing donation ID: {}", donationId, e);
+            ledger.record(donation, LedgerEntryType.FAILED);
+            logger.warn("Payment failed for donation ID: {}", donationId);
         }
         
+        donation.setProcessedAt(LocalDateTime.now());
         Donation savedDonation = repository.save(donation);
+        aggregates.donationStatusChanged(DonationStatus.PROCESSING, savedDonation.getStatus(), savedDonation.getAmount());
         
         // Publish event
         publishDonationProcessedEvent(savedDonation);
@@ -124,27 +226,73 @@ public class DonationService {
         return savedDonation;
     }
 
+    /**
+     * Ids of donations that have been PROCESSING since before the cutoff
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findStuckProcessingIds(LocalDateTime cutoff, int limit) {
+        return repository.findStuckProcessingIds(cutoff, PageRequest.of(0, limit));
+    }
+
+    /**
+     * Get the processing status of a donation
+     */
+    @Transactional(readOnly = true)
+    public Optional<DonationStatusSummary> getDonationStatus(Long id) {
+        return repository.findById(id).map(DonationStatusSummary::new);
+    }
+
     /**
      * Get donation by ID
      */
     @Transactional(readOnly = true)
-    public Optional<Donation> getDonationById(Long id) {
-        return repository.findById(id);
+    public Optional<DonationSummary> getDonationById(Long id) {
+        return repository.findSummaryById(id);
     }
 
     /**
      * Get all donations
      */
     @Transactional(readOnly = true)
-    public List<Donation> getAllDonations() {
-        return repository.findAll();
+    public List<DonationSummary> getAllDonations() {
+        return repository.findAllSummaries();
+    }
+
+    /**
+     * Get a page of donations after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<DonationSummary> getDonationsPage(Long after, int size) {
+        List<DonationSummary> donations = repository.findByIdGreaterThanOrderByIdAsc(
+            after != null ? after : 0L, PageRequest.of(0, size));
+        return CursorPage.of(donations, size, DonationSummary::id);
+    }
+
+    /**
+     * Stream all donations to the given consumer without materializing them in memory. Pages
+     * are read by keyset, each in a short transaction of its own, so no connection is held
+     * while the consumer writes to a slow client. Donations added while streaming may be included.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamDonations(Consumer<DonationSummary> consumer) {
+        long after = 0;
+        List<DonationSummary> page;
+        do {
+            long cursor = after;
+            page = readOnlyTransaction.execute(status ->
+                repository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, STREAM_PAGE_SIZE)));
+            page.forEach(consumer);
+            if (!page.isEmpty()) {
+                after = page.get(page.size() - 1).id();
+            }
+        } while (page.size() == STREAM_PAGE_SIZE);
     }
 
     /**
      * Find donations by status
      */
     @Transactional(readOnly = true)
-    public List<Donation> findDonationsByStatus(DonationStatus status) {
+    public List<DonationSummary> findDonationsByStatus(DonationStatus status) {
         return repository.findByStatus(status);
     }
 
@@ -152,7 +300,7 @@ public class DonationService {
      * Find donations by donor email
      */
     @Transactional(readOnly = true)
-    public List<Donation> findDonationsByDonorEmail(String email) {
+    public List<DonationSummary> findDonationsByDonorEmail(String email) {
         return repository.findByDonorEmailIgnoreCase(email);
     }
 
@@ -160,7 +308,7 @@ public class DonationService {
      * Find donations by project
      */
     @Transactional(readOnly = true)
-    public List<Donation> findDonationsByProject(Long projectId) {
+    public List<DonationSummary> findDonationsByProject(Long projectId) {
         return repository.findByProjectId(projectId);
     }
 
@@ -168,7 +316,7 @@ public class DonationService {
      * Find recent donations
      */
     @Transactional(readOnly = true)
-    public List<Donation> getRecentDonations(int days) {
+    public List<DonationSummary> getRecentDonations(int days) {
         LocalDateTime cutoff = LocalDateTime.now().minusDays(days);
         return repository.findRecentDonations(cutoff);
     }
@@ -177,24 +325,56 @@ public class DonationService {
      * Find large donations
      */
     @Transactional(readOnly = true)
-    public List<Donation> findLargeDonations(BigDecimal minAmount) {
+    public List<DonationSummary> findLargeDonations(BigDecimal minAmount) {
         return repository.findLargeDonations(minAmount);
     }
 
     /**
-     * Get donation statistics
+     * Get donation statistics. Until the aggregates are seeded, concurrent callers share a
+     * single query, run outside their transaction so that waiting callers hold no connection.
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public List<Object[]> getDonationStatistics() {
-        return repository.countDonationsByStatus();
+        if (aggregates.isSeeded()) {
+            return aggregates.getDonationCountsByStatus();
+        }
+        return aggregateQueries.execute("donationStatistics", () -> readOnlyTransaction.execute(
+            status -> List.copyOf(repository.countDonationsByStatus())));
     }
 
     /**
-     * Get top donors
+     * Get the top donors by total completed donations, optionally for one project and
+     * for donations created since the given time
      */
     @Transactional(readOnly = true)
-    public List<Object[]> getTopDonors() {
-        return repository.findTopDonors();
+    public List<DonorTotal> getTopDonors(int limit, Long projectId, LocalDateTime since) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Limit must be positive, got " + limit);
+        }
+        if (projectId == null && since == null) {
+            Optional<List<DonorTotal>> tracked = topDonors.getTopDonors(limit);
+            if (tracked.isPresent()) {
+                return tracked.get();
+            }
+        }
+
+        Pageable page = PageRequest.of(0, limit);
+        List<Object[]> rows;
+        if (projectId != null && since != null) {
+            rows = repository.findTopDonorsForProjectSince(projectId, since, page);
+        } else if (projectId != null) {
+            rows = repository.findTopDonorsForProject(projectId, page);
+        } else if (since != null) {
+            rows = repository.findTopDonorsSince(since, page);
+        } else {
+            rows = repository.findTopDonors(page);
+        }
+
+        List<DonorTotal> donors = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            donors.add(new DonorTotal((String) row[0], (BigDecimal) row[1], BigDecimal.ZERO));
+        }
+        return donors;
     }
 
     /**
@@ -202,17 +382,27 @@ public class DonationService {
      */
     @Transactional(readOnly = true)
     public BigDecimal getTotalDonationsByStatus(DonationStatus status) {
+        if (aggregates.isSeeded()) {
+            return aggregates.getTotalDonationsByStatus(status);
+        }
         BigDecimal total = repository.calculateTotalDonationsByStatus(status);
         return total != null ? total : BigDecimal.ZERO;
     }
 
     /**
-     * Calculate total donations for a project
+     * Calculate total donations for a project, projected from the donation ledger
      */
     @Transactional(readOnly = true)
     public BigDecimal getTotalDonationsForProject(Long projectId) {
-        BigDecimal total = repository.calculateTotalDonationsForProject(projectId);
-        return total != null ? total : BigDecimal.ZERO;
+        return ledger.getDonatedFunds(projectId);
+    }
+
+    /**
+     * Get the ledger history of a donation
+     */
+    @Transactional(readOnly = true)
+    public List<LedgerEntrySummary> getDonationHistory(Long donationId) {
+        return ledger.getHistory(donationId);
     }
 
     /**
@@ -221,7 +411,7 @@ public class DonationService {
     public Donation refundDonation(Long donationId) {
         logger.info("Refunding donation with ID: {}", donationId);
         
-        Donation donation = repository.findById(donationId)
+        Donation donation = repository.findWithProjectById(donationId)
             .orElseThrow(() -> new RuntimeException("Donation not found with ID: " + donationId));
         
         if (donation.getStatus() != DonationStatus.COMPLETED) {
@@ -230,20 +420,25 @@ public class DonationService {
         
         donation.setStatus(DonationStatus.REFUNDED);
         
+        // Reverse what the ledger says was credited, not what the donation row says now
+        BigDecimal credited = ledger.getCreditedFunds(donationId);
+        ledger.record(donation, LedgerEntryType.REFUNDED, credited.negate());
+        topDonors.donationRefunded(donation.getDonorEmail(), donation.getAmount());
+        
         // Remove funds from project if applicable
         if (donation.getProject() != null) {
-            ConservationProject project = donation.getProject();
-            BigDecimal currentFunds = project.getFundsRaised() != null ? 
-                project.getFundsRaised() : BigDecimal.ZERO;
-            BigDecimal newFunds = currentFunds.subtract(donation.getAmount());
-            if (newFunds.compareTo(BigDecimal.ZERO) < 0) {
-                newFunds = BigDecimal.ZERO;
+            // Funds still held by an accumulator are claimed here so no flush applies them; the
+            // loaded flag may be stale, so only the guarded update tells whether they were applied
+            boolean applied = repository.claimUnappliedFunds(donationId) == 0;
+            donation.setFundsApplied(true);
+            if (applied && credited.signum() > 0) {
+                projectRepository.decrementFundsRaised(donation.getProject().getId(), credited, LocalDateTime.now());
+                aggregates.fundsRaisedChanged(credited.negate());
             }
-            project.setFundsRaised(newFunds);
-            projectRepository.save(project);
         }
         
         Donation savedDonation = repository.save(donation);
+        aggregates.donationStatusChanged(DonationStatus.COMPLETED, DonationStatus.REFUNDED, savedDonation.getAmount());
         
         // Publish event
         publishDonationProcessedEvent(savedDonation);
@@ -255,45 +450,64 @@ public class DonationService {
     /**
      * Clean up stale pending donations
      */
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public int cleanupStaleDonations(int hoursOld) {
-        LocalDateTime cutoff = LocalDateTime.now().minusHours(hoursOld);
-        List<Donation> staleDonations = repository.findStalePendingDonations(cutoff);
+        // Each chunk commits in its own transaction
+        return staleDonationCleaner.cleanup(hoursOld);
+    }
+
+    /**
+     * Record donation processed event in the outbox
+     */
+    private void publishDonationProcessedEvent(Donation donation) {
+        DonationProcessedEvent event = new DonationProcessedEvent(
+            donation.getId(),
+            donation.getProject() != null ? donation.getProject().getId() : null,
+            donation.getAmount(),
+            donation.getDonorName(),
+            donation.getStatus()
+        );
+        event.setDonorEmail(donation.getDonorEmail());
+        event.setTransactionId(donation.getTransactionId());
         
-        for (Donation donation : staleDonations) {
-            donation.setStatus(DonationStatus.FAILED);
-            repository.save(donation);
+        if (donation.getProject() != null) {
+            event.setProjectName(donation.getProject().getName());
         }
         
-        logger.info("Cleaned up {} stale pending donations", staleDonations.size());
-        return staleDonations.size();
+        eventOutbox.publish(DONATION_TOPIC, String.valueOf(donation.getId()), event);
+        logger.debug("Recorded DonationProcessedEvent for donation ID: {}", donation.getId());
     }
 
     /**
-     * Publish donation processed event to Kafka
+     * Inner class for donation processing status
      */
-    private void publishDonationProcessedEvent(Donation donation) {
-        try {
-            DonationProcessedEvent event = new DonationProcessedEvent(
-                donation.getId(),
-                donation.getProject() != null ? donation.getProject().getId() : null,
-                donation.getAmount(),
-                donation.getDonorName(),
-                donation.getStatus()
-            );
-            event.setDonorEmail(donation.getDonorEmail());
-            event.setTransactionId(donation.getTransactionId());
-            
-            if (donation.getProject() != null) {
-                event.setProjectName(donation.getProject().getName());
-            }
-            
-            kafkaTemplate.send(DONATION_TOPIC, event);
-            logger.info("Published DonationProcessedEvent for donation ID: {}", donation.getId());
-            
-        } catch (Exception e) {
-            logger.error("Failed to publish DonationProcessedEvent for donation ID: {}", 
-                donation.getId(), e);
+    public static class DonationStatusSummary {
+        private final Long donationId;
+        private final DonationStatus status;
+        private final String transactionId;
+        private final LocalDateTime processedAt;
+
+        public DonationStatusSummary(Donation donation) {
+            this.donationId = donation.getId();
+            this.status = donation.getStatus();
+            this.transactionId = donation.getTransactionId();
+            this.processedAt = donation.getProcessedAt();
+        }
+
+        public Long getDonationId() {
+            return donationId;
+        }
+
+        public DonationStatus getStatus() {
+            return status;
+        }
+
+        public String getTransactionId() {
+            return transactionId;
+        }
+
+        public LocalDateTime getProcessedAt() {
+            return processedAt;
         }
     }
-}
\ No newline at end of file
+}
@@ -1,100 +1,195 @@
 package com.wwf.application.service;
 
+import com.wwf.application.kafka.BaseEvent;
 import com.wwf.application.kafka.DonationProcessedEvent;
+import com.wwf.application.kafka.EventRetryTopology;
 import com.wwf.application.kafka.ProjectCreatedEvent;
 import com.wwf.application.kafka.SpeciesAddedEvent;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.log.LogAccessor;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.listener.MessageListenerContainer;
 import org.springframework.kafka.support.Acknowledgment;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Consumer;
+
 /**
- * Service to handle incoming Kafka events
+ * Service to handle incoming Kafka events.
+ *
+ * Failed records never block a partition: the error handler forwards them to the retry
+ * tiers of their topic, which are consumed by separate listeners that wait until each
+ * record is due, and finally to the topic's DLT. Redelivered events that were already
+ * processed are skipped by event id.
  */
 @Service
 @Profile("!test")  // Exclude from test profile
 public class EventListenerService {
 
     private static final Logger logger = LoggerFactory.getLogger(EventListenerService.class);
+    private static final LogAccessor logAccessor = new LogAccessor(EventListenerService.class);
+
+    private final EventRetryTopology retryTopology;
+    private final KeyOrderedBatchProcessor batchProcessor;
+    private final ProcessedEventStore processedEvents;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final TaskScheduler taskScheduler;
+
+    @Autowired
+    public EventListenerService(EventRetryTopology retryTopology,
+                                KeyOrderedBatchProcessor batchProcessor,
+                                ProcessedEventStore processedEvents,
+                                KafkaListenerEndpointRegistry listenerRegistry,
+                                TaskScheduler taskScheduler) {
+        this.retryTopology = retryTopology;
+        this.batchProcessor = batchProcessor;
+        this.processedEvents = processedEvents;
+        this.listenerRegistry = listenerRegistry;
+        this.taskScheduler = taskScheduler;
+    }
 
     /**
-     * Handle species added events
+     * Handle a batch of species added events
      */
-    @KafkaListener(topics = "wwf.species.events", groupId = "wwf-species-group")
-    public void handleSpeciesAddedEvent(@Payload SpeciesAddedEvent event,
-                                       @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                       @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-                                       @Header(KafkaHeaders.OFFSET) long offset,
-                                       Acknowledgment acknowledgment) {
-        try {
-            logger.info("Received SpeciesAddedEvent: {} from topic: {}, partition: {}, offset: {}", 
-                event, topic, partition, offset);
-            
-            // Process the event - could trigger notifications, analytics, etc.
-            processSpeciesAddedEvent(event);
-            
-            // Acknowledge message processing
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            logger.error("Error processing SpeciesAddedEvent: {}", event, e);
-            // In production, you might want to send to a dead letter queue
-        }
+    @KafkaListener(topics = "wwf.species.events", groupId = "wwf-species-group",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleSpeciesAddedEvents(List<ConsumerRecord<String, Object>> records) {
+        logger.info("Received batch of {} species events", records.size());
+        processBatch(records, SpeciesAddedEvent.class, this::processSpeciesAddedEvent);
+    }
+
+    /**
+     * Handle a batch of project created events
+     */
+    @KafkaListener(topics = "wwf.project.events", groupId = "wwf-project-group",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleProjectCreatedEvents(List<ConsumerRecord<String, Object>> records) {
+        logger.info("Received batch of {} project events", records.size());
+        processBatch(records, ProjectCreatedEvent.class, this::processProjectCreatedEvent);
+    }
+
+    /**
+     * Handle a batch of donation processed events
+     */
+    @KafkaListener(topics = "wwf.donation.events", groupId = "wwf-donation-group",
+                   containerFactory = "batchKafkaListenerContainerFactory")
+    public void handleDonationProcessedEvents(List<ConsumerRecord<String, Object>> records) {
+        logger.info("Received batch of {} donation events", records.size());
+        processBatch(records, DonationProcessedEvent.class, this::processDonationProcessedEvent);
+    }
+
+    /**
+     * Retry species added events that failed before
+     */
+    @KafkaListener(id = "speciesRetryListener", groupId = "wwf-species-group",
+                   topics = "#{@eventRetryTopology.retryTopics('wwf.species.events')}",
+                   containerFactory = "retryKafkaListenerContainerFactory")
+    public void retrySpeciesAddedEvents(List<ConsumerRecord<String, Object>> records, Acknowledgment ack) {
+        processRetryBatch("speciesRetryListener", records, ack, SpeciesAddedEvent.class, this::processSpeciesAddedEvent);
     }
 
     /**
-     * Handle project created events
+     * Retry project created events that failed before
      */
-    @KafkaListener(topics = "wwf.project.events", groupId = "wwf-project-group")
-    public void handleProjectCreatedEvent(@Payload ProjectCreatedEvent event,
-                                         @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                         @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-                                         @Header(KafkaHeaders.OFFSET) long offset,
-                                         Acknowledgment acknowledgment) {
+    @KafkaListener(id = "projectRetryListener", groupId = "wwf-project-group",
+                   topics = "#{@eventRetryTopology.retryTopics('wwf.project.events')}",
+                   containerFactory = "retryKafkaListenerContainerFactory")
+    public void retryProjectCreatedEvents(List<ConsumerRecord<String, Object>> records, Acknowledgment ack) {
+        processRetryBatch("projectRetryListener", records, ack, ProjectCreatedEvent.class, this::processProjectCreatedEvent);
+    }
+
+    /**
+     * Retry donation processed events that failed before
+     */
+    @KafkaListener(id = "donationRetryListener", groupId = "wwf-donation-group",
+                   topics = "#{@eventRetryTopology.retryTopics('wwf.donation.events')}",
+                   containerFactory = "retryKafkaListenerContainerFactory")
+    public void retryDonationProcessedEvents(List<ConsumerRecord<String, Object>> records, Acknowledgment ack) {
+        processRetryBatch("donationRetryListener", records, ack, DonationProcessedEvent.class, this::processDonationProcessedEvent);
+    }
+
+    /**
+     * Process the events of a batch, in parallel across keys and in order per key. The
+     * container commits the offsets of the whole batch once this returns; if an event fails,
+     * the records before it are committed, the failed record is handed to the error handler
+     * and the batch continues after it.
+     */
+    private <T extends BaseEvent> void processBatch(List<ConsumerRecord<String, Object>> records, Class<T> type,
+                                  Consumer<T> processor) {
+        batchProcessor.process(records, i -> process(records, i, type, processor));
+    }
+
+    /**
+     * Process a batch from the retry topics. At the first record that is not due yet, its
+     * partition is paused until the record is due and the rest of the batch is handed back;
+     * other partitions keep being consumed.
+     */
+    private <T extends BaseEvent> void processRetryBatch(String listenerId, List<ConsumerRecord<String, Object>> records,
+                                       Acknowledgment ack, Class<T> type, Consumer<T> processor) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<String, Object> record = records.get(i);
+            long waitMs = retryTopology.dueAt(record) - System.currentTimeMillis();
+            if (waitMs > 0) {
+                MessageListenerContainer container = listenerRegistry.getListenerContainer(listenerId);
+                TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                container.pausePartition(partition);
+                taskScheduler.schedule(() -> container.resumePartition(partition),
+                    Instant.now().plusMillis(waitMs));
+                ack.nack(i, Duration.ZERO);
+                return;
+            }
+            logger.info("Retrying event from topic: {}, partition: {}, offset: {}",
+                record.topic(), record.partition(), record.offset());
+            process(records, i, type, processor);
+        }
+        ack.acknowledge();
+    }
+
+    private <T extends BaseEvent> void process(List<ConsumerRecord<String, Object>> records, int index,
+                                               Class<T> type, Consumer<T> processor) {
+        ConsumerRecord<String, Object> record = records.get(index);
         try {
-            logger.info("Received ProjectCreatedEvent: {} from topic: {}, partition: {}, offset: {}", 
-                event, topic, partition, offset);
-            
-            // Process the event - could trigger notifications, analytics, etc.
-            processProjectCreatedEvent(event);
-            
-            // Acknowledge message processing
-            acknowledgment.acknowledge();
-            
+            if (record.value() instanceof BaseEvent other && !type.isInstance(other)) {
+                // Updates and deletes share the topic and only concern the cache listeners
+                logger.debug("Skipping {} event from topic: {}", other.getEventType(), record.topic());
+                return;
+            }
+            T event = eventOf(record, type);
+            processedEvents.processOnce(event.getEventId(), () -> processor.accept(event));
         } catch (Exception e) {
-            logger.error("Error processing ProjectCreatedEvent: {}", event, e);
-            // In production, you might want to send to a dead letter queue
+            logger.error("Error processing event from topic: {}, partition: {}, offset: {}",
+                record.topic(), record.partition(), record.offset(), e);
+            throw new BatchListenerFailedException("Failed to process event", e, index);
         }
     }
 
     /**
-     * Handle donation processed events
+     * The event of a record; fails for payloads that could not be read or are of another type
      */
-    @KafkaListener(topics = "wwf.donation.events", groupId = "wwf-donation-group")
-    public void handleDonationProcessedEvent(@Payload DonationProcessedEvent event,
-                                           @Header(KafkaHeaders.RECEIVED_TOPIC) String topic,
-                                           @Header(KafkaHeaders.RECEIVED_PARTITION) int partition,
-                                           @Header(KafkaHeaders.OFFSET) long offset,
-                                           Acknowledgment acknowledgment) {
-        try {
-            logger.info("Received DonationProcessedEvent: {} from topic: {}, partition: {}, offset: {}", 
-                event, topic, partition, offset);
-            
-            // Process the event - could trigger notifications, analytics, etc.
-            processDonationProcessedEvent(event);
-            
-            // Acknowledge message processing
-            acknowledgment.acknowledge();
-            
-        } catch (Exception e) {
-            logger.error("Error processing DonationProcessedEvent: {}", event, e);
-            // In production, you might want to send to a dead letter queue
+    private <T> T eventOf(ConsumerRecord<String, Object> record, Class<T> type) {
+        DeserializationException invalid = SerializationUtils.getExceptionFromHeader(record,
+            SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER, logAccessor);
+        if (invalid != null) {
+            throw invalid;
+        }
+        if (!type.isInstance(record.value())) {
+            throw new ClassCastException("Expected " + type.getSimpleName() + " but got "
+                + (record.value() == null ? "null" : record.value().getClass().getSimpleName()));
         }
+        return type.cast(record.value());
     }
 
     /**
@@ -102,7 +197,7 @@ public class EventListenerService {
      */
     private void processSpeciesAddedEvent(SpeciesAddedEvent event) {
         // Example processing - could send notifications, update analytics, etc.
-        logger.info("Processing species added: {} - Conservation Status: {}", 
+        logger.debug("Processing species added: {} - Conservation Status: {}", 
             event.getSpeciesName(), event.getConservationStatus());
         
         // If species is endangered, could trigger alerts
@@ -117,12 +212,12 @@ public class EventListenerService {
      */
     private void processProjectCreatedEvent(ProjectCreatedEvent event) {
         // Example processing - could send notifications, update analytics, etc.
-        logger.info("Processing project created: {} - Budget: {}", 
+        logger.debug("Processing project created: {} - Budget: {}", 
             event.getProjectName(), event.getBudget());
         
         // Could notify stakeholders, update dashboards, etc.
         if (event.getSpeciesName() != null) {
-            logger.info("Project {} created for species: {}", 
+            logger.debug("Project {} created for species: {}", 
                 event.getProjectName(), event.getSpeciesName());
         }
     }
@@ -132,12 +227,12 @@ public class EventListenerService {
      */
     private void processDonationProcessedEvent(DonationProcessedEvent event) {
         // Example processing - could send notifications, update analytics, etc.
-        logger.info("Processing donation: {} - Amount: {} - Status: {}", 
+        logger.debug("Processing donation: {} - Amount: {} - Status: {}", 
             event.getDonationId(), event.getAmount(), event.getStatus());
         
         switch (event.getStatus()) {
             case COMPLETED:
-                logger.info("Thank you message should be sent to: {}", event.getDonorEmail());
+                logger.debug("Thank you message should be sent to: {}", event.getDonorEmail());
                 // Could send thank you emails, update donor profiles, etc.
                 break;
             case FAILED:
@@ -145,11 +240,11 @@ public class EventListenerService {
                 // Could send failure notifications, retry mechanisms, etc.
                 break;
             case REFUNDED:
-                logger.info("Refund confirmation should be sent to: {}", event.getDonorEmail());
+                logger.debug("Refund confirmation should be sent to: {}", event.getDonorEmail());
                 // Could send refund confirmations, update accounting, etc.
                 break;
             default:
-                logger.info("Donation status update: {}", event.getStatus());
+                logger.debug("Donation status update: {}", event.getStatus());
         }
     }
 
@@ -0,0 +1,45 @@
+package com.wwf.application.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wwf.application.kafka.BaseEvent;
+import com.wwf.application.model.OutboxEvent;
+import com.wwf.application.repository.OutboxEventRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records Kafka events in the outbox table as part of the caller's transaction.
+ *
+ * An event is only relayed to Kafka by {@link OutboxRelay} once the transaction that
+ * wrote it has committed, so a rolled back change never publishes an event and a slow
+ * or unavailable broker never delays or fails the request.
+ */
+@Component
+public class EventOutbox {
+
+    private final OutboxEventRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Autowired
+    public EventOutbox(OutboxEventRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Record an event for the given topic, keyed by the id of the entity it describes
+     * so that all events of one entity land on the same partition in order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(String topic, String key, BaseEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(event);
+            repository.save(new OutboxEvent(topic, key, event.getClass().getName(), payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize " + event.getEventType() + " event", e);
+        }
+    }
+}
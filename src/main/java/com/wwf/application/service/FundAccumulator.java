@@ -0,0 +1,238 @@
+package com.wwf.application.service;
+
+import com.wwf.application.repository.ConservationProjectRepository;
+import com.wwf.application.repository.DonationRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory accumulator absorbing fund increments for hot projects.
+ *
+ * Amounts are held per project in minor currency units in a striped {@link LongAdder}
+ * and flushed to funds_raised with one UPDATE per project every flush interval. Each
+ * accumulated donation is marked as applied in the same transaction as the flush, so
+ * on startup any COMPLETED donation that is not yet applied is replayed into the
+ * accumulator and no money is lost across a crash.
+ *
+ * A replay also picks up donations another running instance still holds, and a refund
+ * may reverse a donation before it is flushed. A flush therefore claims its donations
+ * under a row lock and only adds the amounts of those still unapplied, so every donation
+ * is added to its project by exactly one flush, or by none if it was refunded first.
+ *
+ * Routing donations through the accumulator is opt-in; the flush and the startup replay
+ * always run so that donations accumulated before a restart are applied either way.
+ */
+@Component
+public class FundAccumulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(FundAccumulator.class);
+    private static final int CLAIM_CHUNK_SIZE = 1000;
+
+    private final ConservationProjectRepository projectRepository;
+    private final DonationRepository donationRepository;
+    private final DashboardAggregates aggregates;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final Map<Long, ProjectBucket> buckets = new ConcurrentHashMap<>();
+
+    @Autowired
+    public FundAccumulator(ConservationProjectRepository projectRepository,
+                           DonationRepository donationRepository,
+                           DashboardAggregates aggregates,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${wwf.funds.accumulator.enabled:false}") boolean enabled) {
+        this.projectRepository = projectRepository;
+        this.donationRepository = donationRepository;
+        this.aggregates = aggregates;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Whether completed donations should be routed through the accumulator
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Accumulate a donation's amount for a project once the current transaction commits
+     */
+    public void addAfterCommit(Long projectId, Long donationId, BigDecimal amount) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(projectId, donationId, amount);
+                }
+            });
+        } else {
+            add(projectId, donationId, amount);
+        }
+    }
+
+    /**
+     * Accumulate an amount for a project
+     */
+    public void add(Long projectId, Long donationId, BigDecimal amount) {
+        long cents = amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        ProjectBucket bucket = buckets.computeIfAbsent(projectId, id -> new ProjectBucket());
+        bucket.entries.add(new PendingAmount(donationId, cents));
+        bucket.pendingCents.add(cents);
+    }
+
+    /**
+     * Amount accumulated for a project that has not been flushed yet
+     */
+    public BigDecimal getPendingFunds(Long projectId) {
+        ProjectBucket bucket = buckets.get(projectId);
+        return bucket != null ? BigDecimal.valueOf(bucket.pendingCents.sum(), 2) : BigDecimal.ZERO;
+    }
+
+    /**
+     * Flush accumulated amounts to the database in one transaction
+     */
+    @Scheduled(fixedDelayString = "${wwf.funds.accumulator.flush-interval-ms:500}")
+    public void flush() {
+        Map<Long, List<PendingAmount>> drained = new HashMap<>();
+        buckets.forEach((projectId, bucket) -> {
+            List<PendingAmount> entries = new ArrayList<>();
+            PendingAmount entry;
+            while ((entry = bucket.entries.poll()) != null) {
+                entries.add(entry);
+            }
+            if (!entries.isEmpty()) {
+                drained.put(projectId, entries);
+            }
+        });
+
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> writeFlush(drained));
+        } catch (Exception e) {
+            logger.error("Failed to flush accumulated funds for {} projects, will retry", drained.size(), e);
+            drained.forEach((projectId, entries) -> buckets.get(projectId).entries.addAll(entries));
+            return;
+        }
+
+        drained.forEach((projectId, entries) ->
+            buckets.get(projectId).pendingCents.add(-sumCents(entries)));
+        logger.debug("Flushed accumulated funds for {} projects", drained.size());
+    }
+
+    /**
+     * Replay completed donations that were accumulated but not flushed before the last shutdown.
+     * Donations still held by another instance are replayed too; only one flush claims each.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recoverUnappliedDonations() {
+        List<Object[]> unapplied = donationRepository.findUnappliedCompletedDonations();
+        for (Object[] row : unapplied) {
+            add((Long) row[1], (Long) row[0], (BigDecimal) row[2]);
+        }
+        if (!unapplied.isEmpty()) {
+            logger.info("Recovered {} completed donations not yet applied to project funds", unapplied.size());
+            flush();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void writeFlush(Map<Long, List<PendingAmount>> drained) {
+        LocalDateTime now = LocalDateTime.now();
+        Set<Long> donationIds = new LinkedHashSet<>();
+        drained.values().forEach(entries -> entries.forEach(entry -> donationIds.add(entry.donationId)));
+
+        // Claim the donations nobody has applied yet; the rest were flushed elsewhere or refunded
+        Set<Long> claimed = new HashSet<>();
+        for (List<Long> chunk : chunks(new ArrayList<>(donationIds))) {
+            claimed.addAll(donationRepository.lockUnappliedDonations(chunk));
+        }
+        for (List<Long> chunk : chunks(new ArrayList<>(claimed))) {
+            donationRepository.markFundsApplied(chunk);
+        }
+
+        drained.forEach((projectId, entries) -> {
+            long cents = 0;
+            for (PendingAmount entry : entries) {
+                // Removing the id counts a donation replayed into the accumulator twice only once
+                if (claimed.remove(entry.donationId)) {
+                    cents += entry.cents;
+                }
+            }
+            if (cents > 0) {
+                projectRepository.incrementFundsRaised(projectId, BigDecimal.valueOf(cents, 2), now);
+                aggregates.fundsRaisedChanged(BigDecimal.valueOf(cents, 2));
+            }
+        });
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CLAIM_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + CLAIM_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private static long sumCents(List<PendingAmount> entries) {
+        long total = 0;
+        for (PendingAmount entry : entries) {
+            total += entry.cents;
+        }
+        return total;
+    }
+
+    /**
+     * Accumulated state of a single project
+     */
+    private static final class ProjectBucket {
+        private final LongAdder pendingCents = new LongAdder();
+        private final Queue<PendingAmount> entries = new ConcurrentLinkedQueue<>();
+    }
+
+    /**
+     * Amount accumulated for a single donation, in minor currency units
+     */
+    private static final class PendingAmount {
+        private final Long donationId;
+        private final long cents;
+
+        private PendingAmount(Long donationId, long cents) {
+            this.donationId = donationId;
+            this.cents = cents;
+        }
+    }
+}
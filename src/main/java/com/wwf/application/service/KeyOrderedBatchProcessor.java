@@ -0,0 +1,96 @@
+package com.wwf.application.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntConsumer;
+
+/**
+ * Processes the records of a consumed batch in parallel while keeping per-entity order.
+ *
+ * Records are grouped by key (records without a key by partition) and each group runs in
+ * order on the event worker pool, so slow handlers scale with the number of distinct keys
+ * in a batch rather than the number of partitions. A group stops at its first failure.
+ * The batch returns once every group is done; if any record failed, the failure with the
+ * lowest batch index is rethrown, so the container commits exactly the records before it,
+ * all of which have completed, and redelivers the rest.
+ *
+ * The redelivered rest includes records of other keys that had already completed in
+ * parallel, and those records run their side effects again. Every failure therefore
+ * repeats the side effects of completed records after it. Only the processed event check
+ * of ProcessedEventStore (wwf.kafka.dedup.enabled, on by default) skips them. With that
+ * check disabled, every handler must be idempotent, or key-parallel processing must be
+ * turned off, in which case processing stops at the failing record.
+ */
+@Component
+public class KeyOrderedBatchProcessor {
+
+    private final ThreadPoolTaskExecutor executor;
+    private final boolean parallel;
+
+    @Autowired
+    public KeyOrderedBatchProcessor(@Qualifier("eventProcessingExecutor") ThreadPoolTaskExecutor executor,
+                                    @Value("${wwf.kafka.processing.key-parallel:true}") boolean parallel) {
+        this.executor = executor;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Process every record of the batch by index
+     *
+     * @param processor processes one record, throwing BatchListenerFailedException with its index on failure
+     */
+    public void process(List<? extends ConsumerRecord<?, ?>> records, IntConsumer processor) {
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<?, ?> record = records.get(i);
+            Object key = record.key() != null ? record.key() : record.topic() + "-" + record.partition();
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        if (!parallel || groups.size() < 2) {
+            for (int i = 0; i < records.size(); i++) {
+                processor.accept(i);
+            }
+            return;
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(groups.size());
+        for (List<Integer> group : groups.values()) {
+            tasks.add(CompletableFuture.runAsync(() -> group.forEach(processor::accept), executor));
+        }
+
+        BatchListenerFailedException firstFailure = null;
+        RuntimeException unexpected = null;
+        for (CompletableFuture<Void> task : tasks) {
+            try {
+                task.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof BatchListenerFailedException failure) {
+                    if (firstFailure == null || failure.getIndex() < firstFailure.getIndex()) {
+                        firstFailure = failure;
+                    }
+                } else if (unexpected == null) {
+                    unexpected = e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+        }
+        if (firstFailure != null) {
+            throw firstFailure;
+        }
+        if (unexpected != null) {
+            throw unexpected;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.wwf.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wwf.application.kafka.BaseEvent;
+import com.wwf.application.model.OutboxEvent;
+import com.wwf.application.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays events from the outbox table to Kafka.
+ *
+ * Each batch locks the oldest events, sends them in write order, waits until the broker
+ * has acknowledged all of them and only then deletes them, in one transaction. A failed
+ * send rolls the batch back so it is retried on the next run: delivery is at least once,
+ * and the idempotent producer keeps retries within a batch from duplicating or reordering.
+ *
+ * Write order is assigned by the database when the event is inserted, not taken from the
+ * id, which each instance allocates from its own block. An event written after another
+ * one committed is always relayed after it, which covers the successive state changes of
+ * one donation, species or project. Events from transactions that overlap have no defined
+ * order: an event whose transaction commits late may be relayed after events written
+ * later. Consumers must not rely on ordering across keys.
+ *
+ * An event that cannot be deserialized is logged with its payload and deleted, so it does
+ * not block the events behind it; it can be republished from the log.
+ */
+@Component
+@ConditionalOnProperty(name = "wwf.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboxRelay {
+
+    private static final Logger logger = LoggerFactory.getLogger(OutboxRelay.class);
+    private static final String EVENT_PACKAGE = BaseEvent.class.getPackageName() + ".";
+
+    private final OutboxEventRepository repository;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long sendTimeoutMs;
+    private final Counter published;
+    private final Counter discarded;
+    private final Timer batchTimer;
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    @Autowired
+    public OutboxRelay(OutboxEventRepository repository,
+                       KafkaTemplate<String, Object> kafkaTemplate,
+                       ObjectMapper objectMapper,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${wwf.outbox.relay.batch-size:500}") int batchSize,
+                       @Value("${wwf.outbox.relay.max-batches-per-run:20}") int maxBatchesPerRun,
+                       @Value("${wwf.outbox.relay.send-timeout-ms:30000}") long sendTimeoutMs) {
+        this.repository = repository;
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.published = Counter.builder("wwf.outbox.relay.published")
+            .description("Outbox events published to Kafka")
+            .register(meterRegistry);
+        this.discarded = Counter.builder("wwf.outbox.relay.discarded")
+            .description("Outbox events discarded because they could not be deserialized")
+            .register(meterRegistry);
+        this.batchTimer = Timer.builder("wwf.outbox.relay.batch")
+            .description("Time taken to relay one batch of outbox events")
+            .register(meterRegistry);
+        Gauge.builder("wwf.outbox.relay.lag", lagMillis, lag -> lag.get() / 1000.0)
+            .description("Age in seconds of the oldest event waiting in the outbox")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Drain the outbox until it is empty or the per-run batch limit is reached
+     */
+    @Scheduled(fixedDelayString = "${wwf.outbox.relay.interval-ms:100}")
+    public void relay() {
+        try {
+            for (int i = 0; i < maxBatchesPerRun; i++) {
+                Integer relayed = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+                if (relayed == null || relayed < batchSize) {
+                    break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("Failed to relay outbox events to Kafka, will retry", e);
+        } finally {
+            updateLag();
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxEvent> batch = repository.lockNextBatch(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<SendResult<String, Object>>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            BaseEvent event = deserialize(outboxEvent);
+            if (event != null) {
+                sends.add(kafkaTemplate.send(outboxEvent.getTopic(), outboxEvent.getMessageKey(), event));
+            }
+        }
+        kafkaTemplate.flush();
+
+        try {
+            CompletableFuture.allOf(sends.toArray(new CompletableFuture<?>[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("Kafka did not acknowledge a batch of " + batch.size() + " outbox events", e);
+        }
+
+        repository.deleteAllInBatch(batch);
+        published.increment(sends.size());
+        logger.debug("Relayed {} outbox events to Kafka", sends.size());
+        return batch.size();
+    }
+
+    private BaseEvent deserialize(OutboxEvent outboxEvent) {
+        try {
+            if (!outboxEvent.getEventType().startsWith(EVENT_PACKAGE)) {
+                throw new IllegalArgumentException("Unexpected event type " + outboxEvent.getEventType());
+            }
+            Class<?> type = Class.forName(outboxEvent.getEventType());
+            return (BaseEvent) objectMapper.readValue(outboxEvent.getPayload(), type);
+        } catch (Exception e) {
+            logger.error("Discarding outbox event {} that cannot be deserialized: topic={}, key={}, type={}, payload={}",
+                outboxEvent.getId(), outboxEvent.getTopic(), outboxEvent.getMessageKey(),
+                outboxEvent.getEventType(), outboxEvent.getPayload(), e);
+            discarded.increment();
+            return null;
+        }
+    }
+
+    private void updateLag() {
+        try {
+            LocalDateTime oldest = repository.findOldestCreatedAt();
+            lagMillis.set(oldest != null ? Math.max(0, Duration.between(oldest, LocalDateTime.now()).toMillis()) : 0);
+        } catch (Exception e) {
+            logger.warn("Failed to measure outbox lag", e);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.wwf.application.service;
+
+import com.wwf.application.repository.ProcessedEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Idempotency store for consumed events, keyed by event id.
+ *
+ * An event is claimed by inserting its id into the processed_events table in a short
+ * transaction of its own before it is processed, so a second instance processing the same
+ * event concurrently sees it as a duplicate. The processor runs outside that transaction
+ * and holds no connection for the dedup while it works, however long it takes. If it
+ * fails, the claim is deleted again so the retry runs. An instance dying while processing
+ * leaves its claim, so that event is not processed again. Rows are kept for the TTL.
+ *
+ * An in-memory Bloom filter of the ids recorded by this instance sits in front of the
+ * table. Ids it has never seen, the normal case, are inserted straight away; only ids it
+ * might have seen are looked up first. The filter only decides which statement to run,
+ * the table decides what is a duplicate, so it may be lossy and is simply empty after a
+ * restart. It rotates between two generations every TTL to keep its memory fixed.
+ */
+@Component
+public class ProcessedEventStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProcessedEventStore.class);
+
+    private final ProcessedEventRepository repository;
+    private final boolean enabled;
+    private final Duration ttl;
+    private final long expectedEvents;
+    private final double falsePositiveRate;
+    private final Counter duplicates;
+
+    private volatile BloomFilter current;
+    private volatile BloomFilter previous;
+    private volatile LocalDateTime rotatedAt = LocalDateTime.now();
+
+    @Autowired
+    public ProcessedEventStore(ProcessedEventRepository repository,
+                               MeterRegistry meterRegistry,
+                               @Value("${wwf.kafka.dedup.enabled:true}") boolean enabled,
+                               @Value("${wwf.kafka.dedup.ttl:24h}") Duration ttl,
+                               @Value("${wwf.kafka.dedup.expected-events:5000000}") long expectedEvents,
+                               @Value("${wwf.kafka.dedup.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.expectedEvents = expectedEvents;
+        this.falsePositiveRate = falsePositiveRate;
+        this.current = new BloomFilter(expectedEvents, falsePositiveRate);
+        this.previous = new BloomFilter(expectedEvents, falsePositiveRate);
+        this.duplicates = Counter.builder("wwf.events.duplicates")
+            .description("Redelivered events skipped because they were already processed")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Run the processor for an event unless an event with the same id was processed before
+     *
+     * @return false if the event was a duplicate and skipped
+     */
+    public boolean processOnce(String eventId, Runnable processor) {
+        if (!enabled || eventId == null) {
+            processor.run();
+            return true;
+        }
+
+        boolean processed = claim(eventId);
+        if (processed) {
+            try {
+                processor.run();
+            } catch (RuntimeException | Error e) {
+                release(eventId);
+                throw e;
+            }
+        }
+
+        current.put(eventId);
+        if (!processed) {
+            duplicates.increment();
+            logger.info("Skipping duplicate event {}", eventId);
+        }
+        return processed;
+    }
+
+    /**
+     * Periodically forget events older than the TTL and rotate the Bloom filter
+     */
+    @Scheduled(fixedDelayString = "${wwf.kafka.dedup.purge-interval-ms:3600000}",
+               initialDelayString = "${wwf.kafka.dedup.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (!now.isBefore(rotatedAt.plus(ttl))) {
+                // Ids in the retired generation are older than the TTL, so their rows are purged below
+                previous = current;
+                current = new BloomFilter(expectedEvents, falsePositiveRate);
+                rotatedAt = now;
+            }
+            int purged = repository.deleteProcessedBefore(now.minus(ttl));
+            logger.info("Purged {} processed event ids older than {}", purged, ttl);
+        } catch (Exception e) {
+            logger.error("Failed to purge processed event ids", e);
+        }
+    }
+
+    /**
+     * Record the event id, in a transaction of its own
+     *
+     * @return false if it was recorded already
+     */
+    private boolean claim(String eventId) {
+        if (mightContain(eventId) && repository.existsById(eventId)) {
+            return false;
+        }
+        try {
+            repository.insert(eventId, LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Recorded by another instance, or by this one before a restart
+            return false;
+        }
+    }
+
+    private void release(String eventId) {
+        try {
+            repository.release(eventId);
+        } catch (Exception e) {
+            // The claim stays, so the retry of the event is skipped as a duplicate
+            logger.error("Failed to release the claim on event {} after its processing failed", eventId, e);
+        }
+    }
+
+    private boolean mightContain(String eventId) {
+        return current.mightContain(eventId) || previous.mightContain(eventId);
+    }
+}
@@ -0,0 +1,102 @@
+package com.wwf.application.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent identical calls, so the work done scales with distinct keys rather
+ * than with the call rate.
+ *
+ * The first caller for a key runs the loader; callers arriving while it is in flight wait
+ * for it and share its result instead of running it again. With a result TTL a completed
+ * result keeps being shared until it expires. A failure is passed to the callers already
+ * waiting on it but never retained. Shared results must not be modified by callers.
+ */
+final class SingleFlight<K> {
+
+    private final ConcurrentHashMap<K, Flight> flights = new ConcurrentHashMap<>();
+    private final long resultTtlNanos;
+
+    SingleFlight(Duration resultTtl) {
+        if (resultTtl.isNegative()) {
+            throw new IllegalArgumentException("Result TTL must not be negative, got " + resultTtl);
+        }
+        this.resultTtlNanos = resultTtl.toNanos();
+    }
+
+    /**
+     * Result of the loader for the key, shared with every concurrent caller of the same key.
+     * A key must always be loaded into the same type.
+     */
+    <T> T execute(K key, Supplier<T> loader) {
+        while (true) {
+            Flight current = flights.get(key);
+            if (current != null && !current.isExpired()) {
+                return current.await();
+            }
+            Flight flight = new Flight();
+            boolean leader = current == null
+                ? flights.putIfAbsent(key, flight) == null
+                : flights.replace(key, current, flight);
+            if (leader) {
+                return flight.run(key, loader);
+            }
+        }
+    }
+
+    /**
+     * Number of keys with a flight in progress or a result still shared
+     */
+    int size() {
+        return flights.size();
+    }
+
+    private final class Flight {
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        <T> T run(K key, Supplier<T> loader) {
+            T value;
+            try {
+                value = loader.get();
+            } catch (RuntimeException | Error e) {
+                // Forget the failure before waking the waiters, so the next caller starts afresh
+                flights.remove(key, this);
+                result.completeExceptionally(e);
+                throw e;
+            }
+            completedAt = System.nanoTime();
+            result.complete(value);
+            if (resultTtlNanos == 0) {
+                flights.remove(key, this);
+            }
+            return value;
+        }
+
+        boolean isExpired() {
+            if (!result.isDone()) {
+                return false;
+            }
+            return result.isCompletedExceptionally() || System.nanoTime() - completedAt >= resultTtlNanos;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T await() {
+            try {
+                return (T) result.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+}
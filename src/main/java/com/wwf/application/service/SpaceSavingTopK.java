@@ -0,0 +1,97 @@
+package com.wwf.application.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Weighted Space-Saving sketch of the heaviest keys in a stream, in fixed memory.
+ *
+ * At most {@code capacity} keys are tracked. When a new key arrives and the sketch is full,
+ * it takes over the counter of the lightest tracked key and inherits its weight as error,
+ * so a tracked weight overestimates the true weight by at most its error. Any key heavier
+ * than the total weight divided by the capacity is guaranteed to be tracked.
+ */
+final class SpaceSavingTopK<K extends Comparable<K>> {
+
+    private final int capacity;
+    private final Map<K, Counter<K>> counters = new HashMap<>();
+    private final TreeSet<Counter<K>> byWeight = new TreeSet<>((a, b) -> {
+        int weight = Long.compare(a.weight, b.weight);
+        return weight != 0 ? weight : a.key.compareTo(b.key);
+    });
+
+    SpaceSavingTopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+    }
+
+    synchronized void add(K key, long weight) {
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            reweigh(counter, counter.weight + weight);
+            return;
+        }
+        if (counters.size() < capacity) {
+            counter = new Counter<>(key, weight, 0);
+        } else {
+            Counter<K> lightest = byWeight.pollFirst();
+            counters.remove(lightest.key);
+            counter = new Counter<>(key, lightest.weight + weight, lightest.weight);
+        }
+        counters.put(key, counter);
+        byWeight.add(counter);
+    }
+
+    /**
+     * Take weight off a tracked key, e.g. for a reversal. Untracked keys are ignored.
+     */
+    synchronized void subtract(K key, long weight) {
+        Counter<K> counter = counters.get(key);
+        if (counter != null) {
+            reweigh(counter, Math.max(0, counter.weight - weight));
+        }
+    }
+
+    /**
+     * The heaviest tracked keys, heaviest first
+     */
+    synchronized List<Estimate<K>> top(int limit) {
+        List<Estimate<K>> top = new ArrayList<>(Math.min(limit, counters.size()));
+        Iterator<Counter<K>> heaviest = byWeight.descendingIterator();
+        while (heaviest.hasNext() && top.size() < limit) {
+            Counter<K> counter = heaviest.next();
+            top.add(new Estimate<>(counter.key, counter.weight, counter.error));
+        }
+        return top;
+    }
+
+    private void reweigh(Counter<K> counter, long weight) {
+        byWeight.remove(counter);
+        counter.weight = weight;
+        byWeight.add(counter);
+    }
+
+    /**
+     * Estimated weight of a key, at most error above its true weight
+     */
+    record Estimate<K>(K key, long weight, long error) {
+    }
+
+    private static final class Counter<K> {
+        private final K key;
+        private final long error;
+        private long weight;
+
+        private Counter(K key, long weight, long error) {
+            this.key = key;
+            this.weight = weight;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.wwf.application.service;
+
+import com.wwf.application.dto.DonationSummary;
+import com.wwf.application.kafka.DonationProcessedEvent;
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.repository.DonationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Fails stale PENDING donations with set-based updates in bounded chunks.
+ *
+ * Each chunk selects the next ids by keyset, fails them with a single UPDATE guarded on
+ * PENDING status and commits on its own, so memory use and transaction length stay flat
+ * no matter how many donations piled up. The ledger entries and DonationProcessedEvents
+ * for a chunk are recorded in the same transaction.
+ */
+@Component
+public class StaleDonationCleaner {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleDonationCleaner.class);
+    private static final String DONATION_TOPIC = "wwf.donation.events";
+
+    private final DonationRepository repository;
+    private final DashboardAggregates aggregates;
+    private final EventOutbox eventOutbox;
+    private final DonationLedger ledger;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int scheduledHoursOld;
+    private final Counter cleanedUp;
+    private final Timer chunkTimer;
+
+    @Autowired
+    public StaleDonationCleaner(DonationRepository repository,
+                                DashboardAggregates aggregates,
+                                EventOutbox eventOutbox,
+                                DonationLedger ledger,
+                                PlatformTransactionManager transactionManager,
+                                MeterRegistry meterRegistry,
+                                @Value("${wwf.donation.cleanup.chunk-size:5000}") int chunkSize,
+                                @Value("${wwf.donation.cleanup.hours-old:24}") int scheduledHoursOld) {
+        this.repository = repository;
+        this.aggregates = aggregates;
+        this.eventOutbox = eventOutbox;
+        this.ledger = ledger;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.scheduledHoursOld = scheduledHoursOld;
+        this.cleanedUp = Counter.builder("wwf.donations.cleanup.failed")
+            .description("Stale pending donations failed by the cleanup job")
+            .register(meterRegistry);
+        this.chunkTimer = Timer.builder("wwf.donations.cleanup.chunk")
+            .description("Time taken to clean up one chunk of stale donations")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Periodically fail donations that have been pending for too long
+     */
+    @Scheduled(fixedDelayString = "${wwf.donation.cleanup.interval-ms:3600000}",
+               initialDelayString = "${wwf.donation.cleanup.interval-ms:3600000}")
+    public void scheduledCleanup() {
+        try {
+            cleanup(scheduledHoursOld);
+        } catch (Exception e) {
+            logger.error("Scheduled cleanup of stale donations failed", e);
+        }
+    }
+
+    /**
+     * Fail all donations pending for longer than the given number of hours
+     */
+    public int cleanup(int hoursOld) {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(hoursOld);
+        long afterId = 0;
+        int total = 0;
+
+        while (true) {
+            List<DonationSummary> chunk = repository.findStalePendingSummaries(cutoff, afterId,
+                PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).id();
+
+            List<DonationSummary> failed = chunkTimer.record(() -> failChunk(chunk));
+
+            total += failed.size();
+            cleanedUp.increment(failed.size());
+            logger.info("Failed {} stale pending donations so far (up to ID {})", total, afterId);
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        logger.info("Cleaned up {} stale pending donations", total);
+        return total;
+    }
+
+    /**
+     * Fail one chunk in its own transaction and return the donations that were actually failed
+     */
+    private List<DonationSummary> failChunk(List<DonationSummary> chunk) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>(chunk.size());
+            chunk.forEach(donation -> ids.add(donation.id()));
+
+            LocalDateTime processedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            int updated = repository.failPendingDonations(ids, processedAt);
+
+            List<DonationSummary> failed = chunk;
+            if (updated < chunk.size()) {
+                // Some donations left PENDING since they were selected
+                Set<Long> failedIds = new HashSet<>(repository.findFailedAt(ids, processedAt));
+                failed = chunk.stream().filter(donation -> failedIds.contains(donation.id())).toList();
+            }
+
+            BigDecimal amount = BigDecimal.ZERO;
+            for (DonationSummary donation : failed) {
+                amount = amount.add(donation.amount());
+            }
+            aggregates.donationStatusChanged(DonationStatus.PENDING, DonationStatus.FAILED, failed.size(), amount);
+            ledger.recordFailed(failed);
+            publishFailedEvents(failed);
+            return failed;
+        });
+    }
+
+    private void publishFailedEvents(List<DonationSummary> failed) {
+        for (DonationSummary donation : failed) {
+            DonationProcessedEvent event = new DonationProcessedEvent(donation.id(), donation.projectId(),
+                donation.amount(), donation.donorName(), DonationStatus.FAILED);
+            event.setDonorEmail(donation.donorEmail());
+            eventOutbox.publish(DONATION_TOPIC, String.valueOf(donation.id()), event);
+        }
+    }
+}
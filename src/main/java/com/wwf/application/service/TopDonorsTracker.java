@@ -0,0 +1,154 @@
+package com.wwf.application.service;
+
+import com.wwf.application.dto.DonorTotal;
+import com.wwf.application.repository.DonationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Top donors by total completed donations, maintained incrementally by the write paths.
+ *
+ * Donor totals are kept in a Space-Saving sketch of fixed capacity, seeded at startup with
+ * the heaviest donors from a LIMITed query and updated once each completion or refund has
+ * committed. The sketch is reseeded periodically to take in completions and refunds made by
+ * other replicas and to reset the error accumulated by evictions. Until it has been seeded,
+ * callers fall back to the database.
+ *
+ * Updates applied while a reseed queries the database are buffered and replayed on the new
+ * sketch before it replaces the current one, so they are not lost with the old sketch. The
+ * buffer starts just before the query, so an update committed between the two is counted
+ * twice until the next reseed.
+ */
+@Component
+public class TopDonorsTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(TopDonorsTracker.class);
+
+    private final DonationRepository repository;
+    private final int capacity;
+
+    private final Object updateLock = new Object();
+
+    private volatile SpaceSavingTopK<String> sketch;
+    private volatile boolean seeded;
+    private List<Consumer<SpaceSavingTopK<String>>> buffered;
+
+    @Autowired
+    public TopDonorsTracker(DonationRepository repository,
+                            @Value("${wwf.donations.top-donors.capacity:1000}") int capacity) {
+        this.repository = repository;
+        this.capacity = capacity;
+        this.sketch = new SpaceSavingTopK<>(capacity);
+    }
+
+    public void donationCompleted(String donorEmail, BigDecimal amount) {
+        if (donorEmail != null) {
+            afterCommit(() -> update(donors -> donors.add(donorEmail, toCents(amount))));
+        }
+    }
+
+    public void donationRefunded(String donorEmail, BigDecimal amount) {
+        if (donorEmail != null) {
+            afterCommit(() -> update(donors -> donors.subtract(donorEmail, toCents(amount))));
+        }
+    }
+
+    /**
+     * The heaviest donors, or empty if the tracker has not been seeded yet
+     */
+    public Optional<List<DonorTotal>> getTopDonors(int limit) {
+        if (!seeded || limit > capacity) {
+            return Optional.empty();
+        }
+        List<DonorTotal> donors = new ArrayList<>();
+        for (SpaceSavingTopK.Estimate<String> estimate : sketch.top(limit)) {
+            donors.add(new DonorTotal(estimate.key(), BigDecimal.valueOf(estimate.weight(), 2),
+                BigDecimal.valueOf(estimate.error(), 2)));
+        }
+        return Optional.of(donors);
+    }
+
+    /**
+     * Seed the tracker once the application has started
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        reseed();
+    }
+
+    /**
+     * Rebuild the sketch from the heaviest donors in the database
+     */
+    @Scheduled(fixedDelayString = "${wwf.donations.top-donors.reseed-interval-ms:300000}",
+               initialDelayString = "${wwf.donations.top-donors.reseed-interval-ms:300000}")
+    public synchronized void reseed() {
+        synchronized (updateLock) {
+            buffered = new ArrayList<>();
+        }
+        try {
+            SpaceSavingTopK<String> seededSketch = new SpaceSavingTopK<>(capacity);
+            for (Object[] row : repository.findTopDonors(PageRequest.of(0, capacity))) {
+                seededSketch.add((String) row[0], toCents((BigDecimal) row[1]));
+            }
+            synchronized (updateLock) {
+                buffered.forEach(update -> update.accept(seededSketch));
+                sketch = seededSketch;
+            }
+            if (!seeded) {
+                seeded = true;
+                logger.info("Seeded top donors from the database");
+            }
+        } catch (Exception e) {
+            logger.error("Failed to seed top donors", e);
+        } finally {
+            synchronized (updateLock) {
+                buffered = null;
+            }
+        }
+    }
+
+    /**
+     * Apply an update to the sketch, and buffer it for the new sketch while reseeding
+     */
+    private void update(Consumer<SpaceSavingTopK<String>> update) {
+        synchronized (updateLock) {
+            update.accept(sketch);
+            if (buffered != null) {
+                buffered.add(update);
+            }
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount != null ? amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact() : 0;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+}
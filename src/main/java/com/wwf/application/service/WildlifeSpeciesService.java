@@ -1,18 +1,34 @@
 package com.wwf.application.service;
 
+import com.wwf.application.config.CacheConfig;
+import com.wwf.application.dto.BulkCreateResult;
+import com.wwf.application.dto.CursorPage;
+import com.wwf.application.dto.SpeciesSummary;
 import com.wwf.application.kafka.SpeciesAddedEvent;
+import com.wwf.application.kafka.SpeciesDeletedEvent;
+import com.wwf.application.kafka.SpeciesUpdatedEvent;
+import com.wwf.application.model.ConservationProject;
 import com.wwf.application.model.ConservationStatus;
 import com.wwf.application.model.WildlifeSpecies;
 import com.wwf.application.repository.WildlifeSpeciesRepository;
+import com.wwf.application.search.SearchEngine;
+import com.wwf.application.search.SearchField;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service for managing wildlife species
@@ -25,18 +41,31 @@ public class WildlifeSpeciesService {
     private static final String SPECIES_TOPIC = "wwf.species.events";
 
     private final WildlifeSpeciesRepository repository;
-    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final DashboardAggregates aggregates;
+    private final BulkInsertSupport bulkInsertSupport;
+    private final EventOutbox eventOutbox;
+    private final SearchEngine searchEngine;
 
     @Autowired
     public WildlifeSpeciesService(WildlifeSpeciesRepository repository, 
-                                 KafkaTemplate<String, Object> kafkaTemplate) {
+                                 DashboardAggregates aggregates,
+                                 BulkInsertSupport bulkInsertSupport,
+                                 EventOutbox eventOutbox,
+                                 SearchEngine searchEngine) {
         this.repository = repository;
-        this.kafkaTemplate = kafkaTemplate;
+        this.aggregates = aggregates;
+        this.bulkInsertSupport = bulkInsertSupport;
+        this.eventOutbox = eventOutbox;
+        this.searchEngine = searchEngine;
     }
 
     /**
      * Create a new wildlife species
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.SPECIES_BY_STATUS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ENDANGERED_SPECIES, allEntries = true)
+    })
     public WildlifeSpecies createSpecies(WildlifeSpecies species) {
         logger.info("Creating new species: {}", species.getName());
         
@@ -47,6 +76,8 @@ public class WildlifeSpeciesService {
         }
         
         WildlifeSpecies savedSpecies = repository.save(species);
+        aggregates.speciesAdded(savedSpecies.getConservationStatus());
+        indexForSearch(savedSpecies);
         
         // Publish event
         publishSpeciesAddedEvent(savedSpecies);
@@ -55,15 +86,63 @@ public class WildlifeSpeciesService {
         return savedSpecies;
     }
 
+    /**
+     * Create many wildlife species in one transaction using batched inserts
+     */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.SPECIES_BY_STATUS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ENDANGERED_SPECIES, allEntries = true)
+    })
+    public BulkCreateResult createSpeciesBatch(List<WildlifeSpecies> speciesList) {
+        bulkInsertSupport.validateSize(speciesList);
+        logger.info("Creating batch of {} species", speciesList.size());
+        
+        // Check for duplicates within the batch and against existing species with a single query
+        Set<String> names = new HashSet<>();
+        for (WildlifeSpecies species : speciesList) {
+            if (species.getScientificName() == null || !names.add(species.getScientificName().toUpperCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Duplicate or missing scientific name '" + 
+                    species.getScientificName() + "' in batch");
+            }
+        }
+        List<String> existing = repository.findExistingScientificNames(names);
+        if (!existing.isEmpty()) {
+            throw new IllegalArgumentException("Species with scientific name '" + 
+                existing.get(0) + "' already exists");
+        }
+        
+        List<WildlifeSpecies> savedSpecies = bulkInsertSupport.saveAll(repository, speciesList);
+        
+        List<Long> ids = new ArrayList<>(savedSpecies.size());
+        for (WildlifeSpecies species : savedSpecies) {
+            aggregates.speciesAdded(species.getConservationStatus());
+            indexForSearch(species);
+            publishSpeciesAddedEvent(species);
+            ids.add(species.getId());
+        }
+        
+        logger.info("Successfully created batch of {} species", ids.size());
+        return new BulkCreateResult(ids.size(), ids);
+    }
+
     /**
      * Update an existing wildlife species
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.SPECIES, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.SPECIES_BY_STATUS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ENDANGERED_SPECIES, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ACTIVE_PROJECTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.PROJECTS_BY_SPECIES, allEntries = true)
+    })
     public WildlifeSpecies updateSpecies(Long id, WildlifeSpecies updatedSpecies) {
         logger.info("Updating species with ID: {}", id);
         
-        WildlifeSpecies existingSpecies = repository.findById(id)
+        WildlifeSpecies existingSpecies = repository.lockById(id)
             .orElseThrow(() -> new RuntimeException("Species not found with ID: " + id));
         
+        ConservationStatus previousStatus = existingSpecies.getConservationStatus();
+        
         // Update fields
         existingSpecies.setName(updatedSpecies.getName());
         existingSpecies.setConservationStatus(updatedSpecies.getConservationStatus());
@@ -72,6 +151,12 @@ public class WildlifeSpeciesService {
         existingSpecies.setPopulationEstimate(updatedSpecies.getPopulationEstimate());
         
         WildlifeSpecies savedSpecies = repository.save(existingSpecies);
+        aggregates.speciesStatusChanged(previousStatus, savedSpecies.getConservationStatus());
+        indexForSearch(savedSpecies);
+        
+        // Other replicas evict their cached copies
+        eventOutbox.publish(SPECIES_TOPIC, String.valueOf(id),
+            new SpeciesUpdatedEvent(id, savedSpecies.getName(), savedSpecies.getConservationStatus()));
         logger.info("Successfully updated species with ID: {}", savedSpecies.getId());
         
         return savedSpecies;
@@ -80,70 +165,117 @@ public class WildlifeSpeciesService {
     /**
      * Get species by ID
      */
+    @Cacheable(cacheNames = CacheConfig.SPECIES, key = "#id", unless = "#result == null")
     @Transactional(readOnly = true)
-    public Optional<WildlifeSpecies> getSpeciesById(Long id) {
-        return repository.findById(id);
+    public Optional<SpeciesSummary> getSpeciesById(Long id) {
+        return repository.findSummaryById(id);
     }
 
     /**
      * Get all species
      */
     @Transactional(readOnly = true)
-    public List<WildlifeSpecies> getAllSpecies() {
-        return repository.findAll();
+    public List<SpeciesSummary> getAllSpecies() {
+        return repository.findAllSummaries();
+    }
+
+    /**
+     * Get a page of species after the given cursor
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<SpeciesSummary> getSpeciesPage(Long after, int size) {
+        List<SpeciesSummary> species = repository.findByIdGreaterThanOrderByIdAsc(
+            after != null ? after : 0L, PageRequest.of(0, size));
+        return CursorPage.of(species, size, SpeciesSummary::id);
+    }
+
+    /**
+     * Search species by name, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<SpeciesSummary> findSpeciesByName(String name, int page, int size) {
+        return search(SearchField.SPECIES_NAME, name, page, size);
     }
 
     /**
-     * Find species by name
+     * Suggest species names for a prefix
      */
     @Transactional(readOnly = true)
-    public List<WildlifeSpecies> findSpeciesByName(String name) {
-        return repository.findByNameContainingIgnoreCase(name);
+    public List<String> suggestSpeciesNames(String prefix, int limit) {
+        return searchEngine.suggest(SearchField.SPECIES_NAME, prefix, SearchEngine.normalizeSize(limit));
     }
 
     /**
      * Find species by conservation status
      */
+    @Cacheable(cacheNames = CacheConfig.SPECIES_BY_STATUS, key = "#status")
     @Transactional(readOnly = true)
-    public List<WildlifeSpecies> findSpeciesByConservationStatus(ConservationStatus status) {
+    public List<SpeciesSummary> findSpeciesByConservationStatus(ConservationStatus status) {
         return repository.findByConservationStatus(status);
     }
 
     /**
      * Get endangered species
      */
+    @Cacheable(CacheConfig.ENDANGERED_SPECIES)
     @Transactional(readOnly = true)
-    public List<WildlifeSpecies> getEndangeredSpecies() {
+    public List<SpeciesSummary> getEndangeredSpecies() {
         return repository.findEndangeredSpecies();
     }
 
     /**
-     * Find species by habitat
+     * Search species by habitat, best match first
+     */
+    @Transactional(readOnly = true)
+    public List<SpeciesSummary> findSpeciesByHabitat(String habitat, int page, int size) {
+        return search(SearchField.SPECIES_HABITAT, habitat, page, size);
+    }
+
+    /**
+     * Suggest habitats for a prefix
      */
     @Transactional(readOnly = true)
-    public List<WildlifeSpecies> findSpeciesByHabitat(String habitat) {
-        return repository.findByHabitatContainingIgnoreCase(habitat);
+    public List<String> suggestHabitats(String prefix, int limit) {
+        return searchEngine.suggest(SearchField.SPECIES_HABITAT, prefix, SearchEngine.normalizeSize(limit));
     }
 
     /**
      * Find species with low population
      */
     @Transactional(readOnly = true)
-    public List<WildlifeSpecies> findSpeciesWithLowPopulation(Integer maxPopulation) {
+    public List<SpeciesSummary> findSpeciesWithLowPopulation(Integer maxPopulation) {
         return repository.findSpeciesWithLowPopulation(maxPopulation);
     }
 
     /**
      * Delete species by ID
      */
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.SPECIES, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.SPECIES_BY_STATUS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ENDANGERED_SPECIES, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.ACTIVE_PROJECTS, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.PROJECTS_BY_SPECIES, allEntries = true)
+    })
     public void deleteSpecies(Long id) {
         logger.info("Deleting species with ID: {}", id);
         
-        if (!repository.existsById(id)) {
-            throw new RuntimeException("Species not found with ID: " + id);
+        WildlifeSpecies species = repository.findWithProjectsById(id)
+            .orElseThrow(() -> new RuntimeException("Species not found with ID: " + id));
+        
+        // Projects of the species are removed along with it
+        for (ConservationProject project : species.getConservationProjects()) {
+            aggregates.projectRemoved(project.getStatus(), project.getBudget(), project.getFundsRaised());
+            searchEngine.indexAfterCommit(SearchField.PROJECT_LOCATION, project.getId(), null);
         }
         
-        repository.deleteById(id);
+        repository.delete(species);
+        aggregates.speciesRemoved(species.getConservationStatus());
+        searchEngine.indexAfterCommit(SearchField.SPECIES_NAME, id, null);
+        searchEngine.indexAfterCommit(SearchField.SPECIES_HABITAT, id, null);
+        
+        // Other replicas evict their cached copies
+        eventOutbox.publish(SPECIES_TOPIC, String.valueOf(id), new SpeciesDeletedEvent(id));
         logger.info("Successfully deleted species with ID: {}", id);
     }
 
@@ -152,29 +284,40 @@ public class WildlifeSpeciesService {
      */
     @Transactional(readOnly = true)
     public List<Object[]> getSpeciesStatistics() {
+        if (aggregates.isSeeded()) {
+            return aggregates.getSpeciesCountsByStatus();
+        }
         return repository.countSpeciesByConservationStatus();
     }
 
+    private List<SpeciesSummary> search(SearchField field, String query, int page, int size) {
+        if (page < 0) {
+            throw new IllegalArgumentException("Page must not be negative, got " + page);
+        }
+        int pageSize = SearchEngine.normalizeSize(size);
+        List<Long> ids = searchEngine.search(field, query, page * pageSize, pageSize);
+        return SearchEngine.inRankOrder(ids, repository.findSummariesByIdIn(ids), SpeciesSummary::id);
+    }
+
+    private void indexForSearch(WildlifeSpecies species) {
+        searchEngine.indexAfterCommit(SearchField.SPECIES_NAME, species.getId(), species.getName());
+        searchEngine.indexAfterCommit(SearchField.SPECIES_HABITAT, species.getId(), species.getHabitat());
+    }
+
     /**
-     * Publish species added event to Kafka
+     * Record species added event in the outbox
      */
     private void publishSpeciesAddedEvent(WildlifeSpecies species) {
-        try {
-            SpeciesAddedEvent event = new SpeciesAddedEvent(
-                species.getId(),
-                species.getName(),
-                species.getScientificName(),
-                species.getConservationStatus()
-            );
-            event.setHabitat(species.getHabitat());
-            event.setPopulationEstimate(species.getPopulationEstimate());
-            
-            kafkaTemplate.send(SPECIES_TOPIC, event);
-            logger.info("Published SpeciesAddedEvent for species ID: {}", species.getId());
-            
-        } catch (Exception e) {
-            logger.error("Failed to publish SpeciesAddedEvent for species ID: {}", 
-                species.getId(), e);
-        }
+        SpeciesAddedEvent event = new SpeciesAddedEvent(
+            species.getId(),
+            species.getName(),
+            species.getScientificName(),
+            species.getConservationStatus()
+        );
+        event.setHabitat(species.getHabitat());
+        event.setPopulationEstimate(species.getPopulationEstimate());
+        
+        eventOutbox.publish(SPECIES_TOPIC, String.valueOf(species.getId()), event);
+        logger.debug("Recorded SpeciesAddedEvent for species ID: {}", species.getId());
     }
 }
\ No newline at end of file
@@ -0,0 +1,49 @@
+-- Baseline schema for the species, project and donation entities
+
+CREATE SEQUENCE wildlife_species_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE conservation_projects_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE donations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE wildlife_species (
+    id                  BIGINT       NOT NULL PRIMARY KEY,
+    name                VARCHAR(255) NOT NULL,
+    scientific_name     VARCHAR(255) NOT NULL UNIQUE,
+    conservation_status VARCHAR(255) NOT NULL CHECK (conservation_status IN ('EXTINCT', 'EXTINCT_IN_WILD',
+        'CRITICALLY_ENDANGERED', 'ENDANGERED', 'VULNERABLE', 'NEAR_THREATENED', 'LEAST_CONCERN',
+        'DATA_DEFICIENT', 'NOT_EVALUATED')),
+    description         VARCHAR(255),
+    habitat             VARCHAR(255),
+    population_estimate INTEGER,
+    created_at          TIMESTAMP(6) NOT NULL,
+    updated_at          TIMESTAMP(6)
+);
+
+CREATE TABLE conservation_projects (
+    id           BIGINT        NOT NULL PRIMARY KEY,
+    name         VARCHAR(255)  NOT NULL,
+    description  VARCHAR(255),
+    start_date   DATE          NOT NULL,
+    end_date     DATE,
+    budget       NUMERIC(15,2) NOT NULL,
+    funds_raised NUMERIC(15,2),
+    status       VARCHAR(255)  NOT NULL CHECK (status IN ('PLANNING', 'ACTIVE', 'ON_HOLD', 'COMPLETED', 'CANCELLED')),
+    location     VARCHAR(255),
+    species_id   BIGINT REFERENCES wildlife_species (id),
+    created_at   TIMESTAMP(6)  NOT NULL,
+    updated_at   TIMESTAMP(6),
+    version      BIGINT
+);
+
+CREATE TABLE donations (
+    id             BIGINT        NOT NULL PRIMARY KEY,
+    amount         NUMERIC(15,2) NOT NULL,
+    donor_name     VARCHAR(255)  NOT NULL,
+    donor_email    VARCHAR(255),
+    message        VARCHAR(255),
+    project_id     BIGINT REFERENCES conservation_projects (id),
+    status         VARCHAR(255)  NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'COMPLETED', 'FAILED', 'REFUNDED')),
+    transaction_id VARCHAR(255),
+    created_at     TIMESTAMP(6)  NOT NULL,
+    processed_at   TIMESTAMP(6),
+    funds_applied  BOOLEAN
+);
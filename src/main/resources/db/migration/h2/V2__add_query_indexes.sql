@@ -0,0 +1,15 @@
+-- Indexes backing the repository queries. H2 supports neither functional nor partial
+-- indexes, so this is the plain subset of the PostgreSQL migration.
+
+CREATE INDEX idx_donations_status_created_at ON donations (status, created_at);
+CREATE INDEX idx_donations_project_status ON donations (project_id, status);
+CREATE INDEX idx_donations_created_at ON donations (created_at);
+CREATE INDEX idx_donations_amount ON donations (amount);
+CREATE INDEX idx_donations_donor_email ON donations (donor_email);
+
+CREATE INDEX idx_projects_status ON conservation_projects (status);
+CREATE INDEX idx_projects_species_id ON conservation_projects (species_id);
+CREATE INDEX idx_projects_start_date ON conservation_projects (start_date);
+
+CREATE INDEX idx_species_conservation_status ON wildlife_species (conservation_status);
+CREATE INDEX idx_species_population_estimate ON wildlife_species (population_estimate);
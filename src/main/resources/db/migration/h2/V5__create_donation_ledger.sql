@@ -0,0 +1,27 @@
+-- Append-only ledger of donation state changes. funds_delta is what an entry adds to
+-- its project's donated funds: the amount on COMPLETED, minus the credited amount on
+-- REFUNDED, zero otherwise. The in-memory H2 database starts empty, so unlike the
+-- PostgreSQL migration there is no history to backfill.
+
+CREATE SEQUENCE donation_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE donation_ledger (
+    id          BIGINT        NOT NULL PRIMARY KEY,
+    donation_id BIGINT        NOT NULL,
+    project_id  BIGINT,
+    entry_type  VARCHAR(255)  NOT NULL CHECK (entry_type IN ('CREATED', 'PROCESSING', 'COMPLETED', 'FAILED', 'REFUNDED')),
+    amount      NUMERIC(15,2) NOT NULL,
+    funds_delta NUMERIC(15,2) NOT NULL,
+    recorded_at TIMESTAMP(6)  NOT NULL,
+    folded      BOOLEAN       DEFAULT FALSE NOT NULL
+);
+
+CREATE INDEX idx_donation_ledger_donation ON donation_ledger (donation_id, id);
+CREATE INDEX idx_donation_ledger_unfolded ON donation_ledger (folded, id);
+CREATE INDEX idx_donation_ledger_project_unfolded ON donation_ledger (project_id, folded);
+
+CREATE TABLE project_ledger_snapshots (
+    project_id    BIGINT        NOT NULL PRIMARY KEY,
+    donated_funds NUMERIC(15,2) NOT NULL,
+    taken_at      TIMESTAMP(6)  NOT NULL
+);
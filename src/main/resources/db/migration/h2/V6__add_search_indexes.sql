@@ -0,0 +1,4 @@
+-- H2 has no trigram indexes. Searches against H2 are served by the in-memory search
+-- engine (wwf.search.engine=memory), so this version only keeps the migrations in step.
+
+SELECT 1;
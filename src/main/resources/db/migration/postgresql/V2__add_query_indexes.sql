@@ -0,0 +1,45 @@
+-- Indexes backing the repository queries. Spring Data's IgnoreCase derived queries
+-- compare upper(column) = upper(?), so the case-insensitive indexes are on upper().
+
+-- Donations: findByStatus, countDonationsByStatus, calculateTotalDonationsByStatus
+CREATE INDEX idx_donations_status_created_at ON donations (status, created_at) INCLUDE (amount);
+
+-- Donations: findByDonorEmailIgnoreCase
+CREATE INDEX idx_donations_upper_donor_email ON donations (upper(donor_email));
+
+-- Donations: findByProjectId, calculateTotalDonationsForProject, project deletes
+CREATE INDEX idx_donations_project_status ON donations (project_id, status) INCLUDE (amount);
+
+-- Donations: findDonationsCreatedBetween, findRecentDonations
+CREATE INDEX idx_donations_created_at ON donations (created_at);
+
+-- Donations: findLargeDonations
+CREATE INDEX idx_donations_amount ON donations (amount);
+
+-- Donations: findTopDonors
+CREATE INDEX idx_donations_completed_donor_email ON donations (donor_email) INCLUDE (amount)
+    WHERE status = 'COMPLETED';
+
+-- Donations: stale cleanup walks pending donations in id order
+CREATE INDEX idx_donations_pending ON donations (id, created_at) WHERE status = 'PENDING';
+
+-- Donations: startup replay of completed donations not yet applied to project funds
+CREATE INDEX idx_donations_unapplied ON donations (id) WHERE status = 'COMPLETED' AND funds_applied = false;
+
+-- Projects: findByStatus, findActiveProjects, findProjectsNeedingFunding, countProjectsByStatus
+CREATE INDEX idx_projects_status ON conservation_projects (status);
+
+-- Projects: findBySpeciesId, species deletes
+CREATE INDEX idx_projects_species_id ON conservation_projects (species_id);
+
+-- Projects: findProjectsStartingBetween
+CREATE INDEX idx_projects_start_date ON conservation_projects (start_date);
+
+-- Species: findByScientificNameIgnoreCase, existsByScientificNameIgnoreCase, findExistingScientificNames
+CREATE INDEX idx_species_upper_scientific_name ON wildlife_species (upper(scientific_name));
+
+-- Species: findByConservationStatus, findEndangeredSpecies, countSpeciesByConservationStatus
+CREATE INDEX idx_species_conservation_status ON wildlife_species (conservation_status);
+
+-- Species: findSpeciesWithLowPopulation
+CREATE INDEX idx_species_population_estimate ON wildlife_species (population_estimate);
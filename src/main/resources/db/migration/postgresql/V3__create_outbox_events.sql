@@ -0,0 +1,23 @@
+-- Transactional outbox drained by the Kafka relay in write order
+
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+-- Relay order of outbox events. Ids come from blocks of 50 that each instance hands out
+-- on its own, so they say nothing about which event was written first across instances.
+-- write_order is drawn from an unpooled sequence by the database on insert, so an event
+-- written after another one has committed always relays after it.
+CREATE SEQUENCE outbox_events_write_order_seq START WITH 1 INCREMENT BY 1;
+
+CREATE TABLE outbox_events (
+    id          BIGINT         NOT NULL PRIMARY KEY,
+    topic       VARCHAR(255)   NOT NULL,
+    message_key VARCHAR(255),
+    event_type  VARCHAR(255)   NOT NULL,
+    payload     VARCHAR(65535) NOT NULL,
+    created_at  TIMESTAMP(6)   NOT NULL,
+    write_order BIGINT         NOT NULL DEFAULT nextval('outbox_events_write_order_seq')
+);
+
+ALTER SEQUENCE outbox_events_write_order_seq OWNED BY outbox_events.write_order;
+
+CREATE INDEX idx_outbox_events_write_order ON outbox_events (write_order);
@@ -0,0 +1,9 @@
+-- Ids of consumed Kafka events, so redelivered events are not processed twice.
+-- Rows older than the dedup TTL are purged by processed_at.
+
+CREATE TABLE processed_events (
+    event_id     VARCHAR(64)  NOT NULL PRIMARY KEY,
+    processed_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_processed_events_processed_at ON processed_events (processed_at);
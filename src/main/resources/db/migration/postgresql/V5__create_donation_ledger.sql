@@ -0,0 +1,58 @@
+-- Append-only ledger of donation state changes. funds_delta is what an entry adds to
+-- its project's donated funds: the amount on COMPLETED, minus the credited amount on
+-- REFUNDED, zero otherwise. folded marks the entries a snapshot run has added to their
+-- project's snapshot; it is set in the snapshot transaction rather than derived from a
+-- recording time watermark, as recorded_at comes from the application clock before commit
+-- and an entry committing late would fall behind any watermark.
+
+CREATE SEQUENCE donation_ledger_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE donation_ledger (
+    id          BIGINT        NOT NULL PRIMARY KEY,
+    donation_id BIGINT        NOT NULL,
+    project_id  BIGINT,
+    entry_type  VARCHAR(255)  NOT NULL CHECK (entry_type IN ('CREATED', 'PROCESSING', 'COMPLETED', 'FAILED', 'REFUNDED')),
+    amount      NUMERIC(15,2) NOT NULL,
+    funds_delta NUMERIC(15,2) NOT NULL,
+    recorded_at TIMESTAMP(6)  NOT NULL,
+    folded      BOOLEAN       NOT NULL DEFAULT FALSE
+);
+
+-- Donation history, credited amount of a refund
+CREATE INDEX idx_donation_ledger_donation ON donation_ledger (donation_id, id) INCLUDE (funds_delta);
+
+-- Entries still to fold, and the donated funds of a project not yet in its snapshot
+CREATE INDEX idx_donation_ledger_unfolded ON donation_ledger (id) WHERE NOT folded AND funds_delta <> 0;
+CREATE INDEX idx_donation_ledger_project_unfolded ON donation_ledger (project_id) INCLUDE (funds_delta)
+    WHERE NOT folded AND funds_delta <> 0;
+
+-- Donated funds per project of the entries marked folded
+CREATE TABLE project_ledger_snapshots (
+    project_id    BIGINT        NOT NULL PRIMARY KEY,
+    donated_funds NUMERIC(15,2) NOT NULL,
+    taken_at      TIMESTAMP(6)  NOT NULL
+);
+
+-- Backfill the history of existing donations
+INSERT INTO donation_ledger (id, donation_id, project_id, entry_type, amount, funds_delta, recorded_at)
+SELECT ROW_NUMBER() OVER (ORDER BY recorded_at, donation_id, step), donation_id, project_id, entry_type,
+       amount, funds_delta, recorded_at
+FROM (
+    SELECT id AS donation_id, project_id, 'CREATED' AS entry_type, amount, 0 AS funds_delta,
+           created_at AS recorded_at, 0 AS step
+    FROM donations
+    UNION ALL
+    SELECT id, project_id, status, amount, 0, COALESCE(processed_at, created_at), 1
+    FROM donations WHERE status IN ('PROCESSING', 'FAILED')
+    UNION ALL
+    SELECT id, project_id, 'COMPLETED', amount, CASE WHEN project_id IS NULL THEN 0 ELSE amount END,
+           COALESCE(processed_at, created_at), 1
+    FROM donations WHERE status IN ('COMPLETED', 'REFUNDED')
+    UNION ALL
+    SELECT id, project_id, 'REFUNDED', amount, CASE WHEN project_id IS NULL THEN 0 ELSE -amount END,
+           COALESCE(processed_at, created_at), 2
+    FROM donations WHERE status = 'REFUNDED'
+) history;
+
+-- Hibernate allocates ids in blocks of 50 below the sequence value, so start above the backfill
+SELECT setval('donation_ledger_seq', MAX(id) + 50, false) FROM donation_ledger HAVING MAX(id) IS NOT NULL;
@@ -0,0 +1,14 @@
+-- Trigram indexes backing the species and location search. They serve the substring
+-- (LIKE '%x%') and similarity (%>) filters as well as the similarity ordering (<->>),
+-- so the best matches are read from the index without scanning the table.
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Species: searchByName, suggestNames
+CREATE INDEX idx_species_name_trgm ON wildlife_species USING gist (lower(name) gist_trgm_ops);
+
+-- Species: searchByHabitat, suggestHabitats
+CREATE INDEX idx_species_habitat_trgm ON wildlife_species USING gist (lower(habitat) gist_trgm_ops);
+
+-- Projects: searchByLocation, suggestLocations
+CREATE INDEX idx_projects_location_trgm ON conservation_projects USING gist (lower(location) gist_trgm_ops);
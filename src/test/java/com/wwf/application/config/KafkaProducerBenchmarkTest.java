@@ -0,0 +1,107 @@
+package com.wwf.application.config;
+
+import com.wwf.application.kafka.DonationProcessedEvent;
+import com.wwf.application.model.DonationStatus;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaZKBroker;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing the previous producer settings with the throughput profile
+ * against an embedded broker, reporting msgs/sec and p99 send-to-ack latency.
+ *
+ * Disabled by default. Run with
+ * {@code mvn test -Dtest=KafkaProducerBenchmarkTest -Dwwf.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "wwf.benchmark", matches = "true")
+class KafkaProducerBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(KafkaProducerBenchmarkTest.class);
+    private static final String TOPIC = "wwf.benchmark.events";
+    private static final int MESSAGES = Integer.getInteger("wwf.benchmark.messages", 100_000);
+
+    private static EmbeddedKafkaBroker broker;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaZKBroker(1, false, 6, TOPIC);
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @Test
+    void compareProducerProfiles() throws Exception {
+        // Settings before the throughput profile: one request in flight, no batching delay, no compression
+        Map<String, Object> previous = new HashMap<>();
+        previous.put(ProducerConfig.ACKS_CONFIG, "all");
+        previous.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        previous.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 1);
+
+        Map<String, Object> throughput = KafkaConfig.producerTuning(5, "lz4", 10, 65536);
+
+        // Warm up the broker and the JIT
+        run("warm-up", previous, MESSAGES / 10);
+
+        run("previous", previous, MESSAGES);
+        run("throughput", throughput, MESSAGES);
+    }
+
+    private void run(String name, Map<String, Object> tuning, int messages) throws Exception {
+        Map<String, Object> configProps = new HashMap<>(tuning);
+        configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, broker.getBrokersAsString());
+        configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+
+        long[] latencies = new long[messages];
+        AtomicInteger acked = new AtomicInteger();
+
+        try (KafkaProducer<String, Object> producer = new KafkaProducer<>(configProps)) {
+            long start = System.nanoTime();
+            for (int i = 0; i < messages; i++) {
+                long donationId = i % 10_000;
+                DonationProcessedEvent event = new DonationProcessedEvent(donationId, donationId % 50,
+                    new BigDecimal("25.00"), "Donor " + donationId, DonationStatus.COMPLETED);
+                event.setDonorEmail("donor" + donationId + "@example.org");
+
+                int index = i;
+                long sentAt = System.nanoTime();
+                producer.send(new ProducerRecord<>(TOPIC, String.valueOf(donationId), event), (metadata, e) -> {
+                    latencies[index] = System.nanoTime() - sentAt;
+                    if (e == null) {
+                        acked.incrementAndGet();
+                    }
+                });
+            }
+            producer.flush();
+            double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            assertEquals(messages, acked.get());
+            Arrays.sort(latencies);
+            double p99Millis = latencies[(int) Math.ceil(messages * 0.99) - 1] / 1_000_000.0;
+            logger.info("Producer profile {}: {} msgs/sec, p99 send latency {} ms ({} messages)",
+                name, Math.round(messages / seconds), Math.round(p99Millis * 10) / 10.0, messages);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.wwf.application.controller;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.ProjectStatus;
+import com.wwf.application.model.WildlifeSpecies;
+import com.wwf.application.service.ConservationProjectService;
+import com.wwf.application.service.DonationService;
+import com.wwf.application.service.WildlifeSpeciesService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards against N+1 loading using Hibernate statistics: list endpoints issue the same
+ * constant number of statements however many rows they return, and state changes load
+ * the associations they walk with their fetch plan instead of one select per row.
+ */
+@SpringBootTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "wwf.outbox.relay.enabled=false",
+    "wwf.ledger.snapshot.interval-ms=3600000",
+    "wwf.aggregates.reconcile-interval-ms=3600000",
+    "wwf.donations.top-donors.reseed-interval-ms=3600000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class FetchPlanQueryCountTest {
+
+    private static final long MAX_STATEMENTS_PER_LIST_REQUEST = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private WildlifeSpeciesService speciesService;
+
+    @Autowired
+    private ConservationProjectService projectService;
+
+    @Autowired
+    private DonationService donationService;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void enableStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void listEndpointStatementCountDoesNotGrowWithRows() throws Exception {
+        WildlifeSpecies species = createSpecies("Fetch Plan Pangolin");
+        ConservationProject project = createProject("Fetch Plan Project 0", species);
+        createDonation(project, "fetch0@example.org");
+        List<String> endpoints = List.of("/api/projects", "/api/projects/active",
+            "/api/projects/species/" + species.getId(), "/api/donations",
+            "/api/donations/project/" + project.getId());
+
+        long[] before = statementsPerRequest(endpoints);
+        for (int i = 1; i <= 10; i++) {
+            createDonation(createProject("Fetch Plan Project " + i, createSpecies("Fetch Plan Species " + i)),
+                "fetch" + i + "@example.org");
+            createDonation(project, "fetch-more" + i + "@example.org");
+        }
+        long[] after = statementsPerRequest(endpoints);
+
+        for (int i = 0; i < endpoints.size(); i++) {
+            assertEquals(before[i], after[i], endpoints.get(i) + " statements grew with the number of rows");
+            assertEquals(MAX_STATEMENTS_PER_LIST_REQUEST, after[i], endpoints.get(i) + " statements per request");
+        }
+    }
+
+    @Test
+    void donationStateChangesLoadTheProjectWithTheDonation() {
+        ConservationProject project = createProject("Fetch Plan Donation Project", createSpecies("Fetch Plan Rhino"));
+        Long donationId = createDonation(project, "state@example.org").getId();
+        donationService.startProcessing(donationId);
+
+        statistics.clear();
+        donationService.completeProcessing(donationId, true, "TX-FETCH-PLAN");
+        assertEquals(0, statistics.getEntityStatistics(ConservationProject.class.getName()).getFetchCount(),
+            "completing a donation fetched its project separately");
+
+        statistics.clear();
+        donationService.refundDonation(donationId);
+        assertEquals(0, statistics.getEntityStatistics(ConservationProject.class.getName()).getFetchCount(),
+            "refunding a donation fetched its project separately");
+    }
+
+    @Test
+    void speciesDeleteLoadsItsProjectsWithTheSpecies() {
+        WildlifeSpecies species = createSpecies("Fetch Plan Vaquita");
+        createProject("Fetch Plan Delete Project 1", species);
+        createProject("Fetch Plan Delete Project 2", species);
+
+        statistics.clear();
+        speciesService.deleteSpecies(species.getId());
+        assertEquals(0, statistics.getCollectionStatistics(WildlifeSpecies.class.getName() + ".conservationProjects")
+            .getFetchCount(), "deleting a species fetched its projects separately");
+    }
+
+    private long[] statementsPerRequest(List<String> endpoints) throws Exception {
+        long[] counts = new long[endpoints.size()];
+        for (int i = 0; i < endpoints.size(); i++) {
+            cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+            statistics.clear();
+            mockMvc.perform(get(endpoints.get(i))).andExpect(status().isOk());
+            counts[i] = statistics.getPrepareStatementCount();
+        }
+        return counts;
+    }
+
+    private WildlifeSpecies createSpecies(String name) {
+        return speciesService.createSpecies(new WildlifeSpecies(name, name + " scientifica", ConservationStatus.ENDANGERED));
+    }
+
+    private ConservationProject createProject(String name, WildlifeSpecies species) {
+        ConservationProject project = new ConservationProject(name, LocalDate.now(), new BigDecimal("10000.00"));
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setSpecies(species);
+        return projectService.createProject(project);
+    }
+
+    private Donation createDonation(ConservationProject project, String email) {
+        Donation donation = new Donation(new BigDecimal("50.00"), "Fetch Plan Donor", email);
+        donation.setProject(project);
+        return donationService.createDonation(donation);
+    }
+}
@@ -0,0 +1,151 @@
+package com.wwf.application.controller;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.ProjectStatus;
+import com.wwf.application.model.WildlifeSpecies;
+import com.wwf.application.service.ConservationProjectService;
+import com.wwf.application.service.DonationService;
+import com.wwf.application.service.WildlifeSpeciesService;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each read endpoint issues, with caches cleared, and fails if
+ * any takes more than one. Responses are rendered without an open session, so a lazy
+ * association reached during serialization would fail the request instead.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import({TestKafkaConfig.class, ReadEndpointStatementCountTest.StatementCaptureConfig.class})
+class ReadEndpointStatementCountTest {
+
+    private static final List<String> capturedStatements = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private WildlifeSpeciesService speciesService;
+
+    @Autowired
+    private ConservationProjectService projectService;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Test
+    void readEndpointsIssueOneStatementEach() throws Exception {
+        WildlifeSpecies species = new WildlifeSpecies("Statement Count Gorilla", "Gorilla statementus",
+            ConservationStatus.ENDANGERED);
+        species.setHabitat("Montane cloud forest");
+        species.setPopulationEstimate(800);
+        Long speciesId = speciesService.createSpecies(species).getId();
+
+        ConservationProject project = new ConservationProject("Statement Count Project", LocalDate.now(),
+            new BigDecimal("5000.00"));
+        project.setStatus(ProjectStatus.ACTIVE);
+        project.setLocation("Virunga Mountains");
+        project.setSpecies(species);
+        Long projectId = projectService.createProject(project).getId();
+
+        Donation donation = new Donation(new BigDecimal("1500.00"), "Count Donor", "count@example.org");
+        donation.setProject(project);
+        Long donationId = donationService.createDonation(donation).getId();
+
+        List<String> endpoints = List.of(
+            "/api/species",
+            "/api/species/page?size=10",
+            "/api/species/" + speciesId,
+            "/api/species/status/ENDANGERED",
+            "/api/species/endangered",
+            "/api/species/search?name=statement count",
+            "/api/species/habitat?habitat=cloud forest",
+            "/api/species/low-population?maxPopulation=1000",
+            "/api/projects",
+            "/api/projects/page?size=10",
+            "/api/projects/" + projectId,
+            "/api/projects/status/ACTIVE",
+            "/api/projects/active",
+            "/api/projects/location?location=virunga",
+            "/api/projects/species/" + speciesId,
+            "/api/projects/funding-needed",
+            "/api/projects/date-range?startDate=" + LocalDate.now().minusDays(1) + "&endDate=" + LocalDate.now(),
+            "/api/donations",
+            "/api/donations/page?size=10",
+            "/api/donations/" + donationId,
+            "/api/donations/status/PENDING",
+            "/api/donations/donor?email=COUNT@example.org",
+            "/api/donations/project/" + projectId,
+            "/api/donations/recent",
+            "/api/donations/large?minAmount=1000");
+
+        List<String> failures = new ArrayList<>();
+        for (String endpoint : endpoints) {
+            cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+            capturedStatements.clear();
+            mockMvc.perform(get(endpoint)).andExpect(status().isOk()).andExpect(jsonPath("$").isNotEmpty());
+            if (capturedStatements.size() != 1) {
+                failures.add(endpoint + ": " + capturedStatements.size() + " statements\n"
+                    + String.join("\n", capturedStatements));
+            }
+        }
+        assertTrue(failures.isEmpty(), "Endpoints not served by a single statement:\n\n" + String.join("\n\n", failures));
+    }
+
+    @Test
+    void writeEndpointsRenderWithoutOpenSession() throws Exception {
+        Long projectId = projectService.createProject(new ConservationProject("Render Project", LocalDate.now(),
+            new BigDecimal("5000.00"))).getId();
+
+        mockMvc.perform(post("/api/donations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"amount\": 25.00, \"donorName\": \"Render Donor\", \"donorEmail\": \"render@example.org\", "
+                    + "\"project\": {\"id\": " + projectId + "}}"))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.projectId").value(projectId));
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                (StatementInspector) sql -> {
+                    capturedStatements.add(sql);
+                    return sql;
+                });
+        }
+    }
+}
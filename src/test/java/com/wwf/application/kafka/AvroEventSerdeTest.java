@@ -0,0 +1,92 @@
+package com.wwf.application.kafka;
+
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.model.ProjectStatus;
+import org.apache.avro.Schema;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for the Avro event serializer and deserializer
+ */
+class AvroEventSerdeTest {
+
+    private static final String TOPIC = "wwf.project.events";
+
+    @Test
+    void roundTripsEventsThroughTheRegisteredSchemas() {
+        ProjectCreatedEvent event = new ProjectCreatedEvent(7L, "Tiger Corridors", LocalDate.of(2026, 3, 1),
+            new BigDecimal("250000.50"));
+        event.setStatus(ProjectStatus.ACTIVE);
+        event.setSpeciesId(3L);
+        event.setTimestamp(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS));
+
+        byte[] data = new AvroEventSerializer().serialize(TOPIC, event);
+        ProjectCreatedEvent read = assertInstanceOf(ProjectCreatedEvent.class,
+            new AvroEventDeserializer().deserialize(TOPIC, data));
+
+        assertEquals(event.getEventId(), read.getEventId());
+        assertEquals(event.getEventType(), read.getEventType());
+        assertEquals(event.getTimestamp(), read.getTimestamp());
+        assertEquals(event.getProjectName(), read.getProjectName());
+        assertEquals(event.getStartDate(), read.getStartDate());
+        assertNull(read.getEndDate());
+        assertEquals(event.getBudget(), read.getBudget());
+        assertEquals(ProjectStatus.ACTIVE, read.getStatus());
+        assertEquals(3L, read.getSpeciesId());
+    }
+
+    @Test
+    void readsRecordsWrittenWithAnOlderSchemaVersion() {
+        Schema current = AvroSchemaRegistry.fromClasspath()
+            .getById(AvroSchemaRegistry.fromClasspath().getLatestId(DonationProcessedEvent.class.getName()));
+        List<Schema.Field> oldFields = current.getFields().stream()
+            .filter(field -> !field.name().equals("transactionId"))
+            .map(field -> new Schema.Field(field, field.schema()))
+            .toList();
+        Schema old = Schema.createRecord(current.getName(), null, current.getNamespace(), false, oldFields);
+
+        DonationProcessedEvent event = new DonationProcessedEvent(11L, 7L, new BigDecimal("25.00"),
+            "Jane Doe", DonationStatus.COMPLETED);
+        byte[] data = new AvroEventSerializer(new AvroSchemaRegistry(Map.of(1, old))).serialize(TOPIC, event);
+        Object read = new AvroEventDeserializer(new AvroSchemaRegistry(Map.of(1, old, 2, current)))
+            .deserialize(TOPIC, data);
+
+        DonationProcessedEvent donation = assertInstanceOf(DonationProcessedEvent.class, read);
+        assertEquals(11L, donation.getDonationId());
+        assertEquals(new BigDecimal("25.00"), donation.getAmount());
+        assertEquals(DonationStatus.COMPLETED, donation.getStatus());
+        assertNull(donation.getTransactionId());
+    }
+
+    @Test
+    void fallsBackToJsonForRecordsWithoutTheAvroMagicByte() {
+        DonationProcessedEvent event = new DonationProcessedEvent(12L, 7L, new BigDecimal("10.00"),
+            "John Doe", DonationStatus.FAILED);
+        RecordHeaders headers = new RecordHeaders();
+        byte[] json;
+        try (JsonSerializer<Object> serializer = new JsonSerializer<>()) {
+            json = serializer.serialize(TOPIC, headers, event);
+        }
+
+        AvroEventDeserializer deserializer = new AvroEventDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "com.wwf.application.kafka"), false);
+        DonationProcessedEvent read = assertInstanceOf(DonationProcessedEvent.class,
+            deserializer.deserialize(TOPIC, headers, json));
+        assertEquals(12L, read.getDonationId());
+        assertEquals(DonationStatus.FAILED, read.getStatus());
+    }
+}
@@ -0,0 +1,35 @@
+package com.wwf.application.kafka;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the naming and delays of the retry topology
+ */
+class EventRetryTopologyTest {
+
+    private final EventRetryTopology topology = new EventRetryTopology(3, 1000, 4.0, 10000);
+
+    @Test
+    void failedRecordsMoveThroughEachTierToTheDeadLetterTopic() {
+        String topic = "wwf.donation.events";
+
+        assertArrayEquals(new String[] {"wwf.donation.events.retry-0", "wwf.donation.events.retry-1",
+            "wwf.donation.events.retry-2"}, topology.retryTopics(topic));
+        assertEquals("wwf.donation.events.retry-0", topology.nextTopic(topic));
+        assertEquals("wwf.donation.events.retry-1", topology.nextTopic("wwf.donation.events.retry-0"));
+        assertEquals("wwf.donation.events.DLT", topology.nextTopic("wwf.donation.events.retry-2"));
+        assertEquals(topic, topology.baseTopic("wwf.donation.events.retry-1"));
+        assertEquals(topic, topology.baseTopic("wwf.donation.events.DLT"));
+        assertEquals(-1, topology.tierOf(topic));
+    }
+
+    @Test
+    void delaysGrowExponentiallyUpToTheMaximum() {
+        assertEquals(1000, topology.delayMs(0));
+        assertEquals(4000, topology.delayMs(1));
+        assertEquals(10000, topology.delayMs(2));
+    }
+}
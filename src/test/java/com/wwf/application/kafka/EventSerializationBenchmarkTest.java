@@ -0,0 +1,122 @@
+package com.wwf.application.kafka;
+
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.model.ProjectStatus;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.apache.kafka.common.serialization.Serializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing the JSON serde configured in KafkaConfig with the Avro serde:
+ * bytes on the wire per event (payload plus headers) and serialize/deserialize CPU time.
+ *
+ * Disabled by default. Run with
+ * {@code mvn test -Dtest=EventSerializationBenchmarkTest -Dwwf.benchmark=true}.
+ */
+@EnabledIfSystemProperty(named = "wwf.benchmark", matches = "true")
+class EventSerializationBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSerializationBenchmarkTest.class);
+    private static final String TOPIC = "wwf.benchmark.events";
+    private static final int EVENTS = Integer.getInteger("wwf.benchmark.events", 200_000);
+
+    @Test
+    void compareJsonAndAvro() {
+        List<BaseEvent> events = events(EVENTS);
+
+        JsonDeserializer<Object> jsonDeserializer = new JsonDeserializer<>();
+        jsonDeserializer.configure(Map.of(
+            JsonDeserializer.TRUSTED_PACKAGES, "com.wwf.application.kafka",
+            JsonDeserializer.VALUE_DEFAULT_TYPE, "com.wwf.application.kafka.BaseEvent"), false);
+        AvroEventDeserializer avroDeserializer = new AvroEventDeserializer();
+
+        // Warm up the JIT
+        run("warm-up", new JsonSerializer<>(), jsonDeserializer, events.subList(0, EVENTS / 10));
+        run("warm-up", new AvroEventSerializer(), avroDeserializer, events.subList(0, EVENTS / 10));
+
+        run("json", new JsonSerializer<>(), jsonDeserializer, events);
+        run("avro", new AvroEventSerializer(), avroDeserializer, events);
+    }
+
+    private void run(String name, Serializer<Object> serializer, Deserializer<Object> deserializer,
+                     List<BaseEvent> events) {
+        List<RecordHeaders> headers = new ArrayList<>(events.size());
+        List<byte[]> payloads = new ArrayList<>(events.size());
+        long bytes = 0;
+
+        long start = System.nanoTime();
+        for (BaseEvent event : events) {
+            RecordHeaders recordHeaders = new RecordHeaders();
+            payloads.add(serializer.serialize(TOPIC, recordHeaders, event));
+            headers.add(recordHeaders);
+        }
+        long serializeNanos = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        int read = 0;
+        for (int i = 0; i < payloads.size(); i++) {
+            if (deserializer.deserialize(TOPIC, headers.get(i), payloads.get(i)) instanceof BaseEvent) {
+                read++;
+            }
+        }
+        long deserializeNanos = System.nanoTime() - start;
+        assertEquals(events.size(), read);
+
+        for (int i = 0; i < payloads.size(); i++) {
+            bytes += payloads.get(i).length;
+            for (Header header : headers.get(i)) {
+                bytes += header.key().length() + header.value().length;
+            }
+        }
+        logger.info("Serde {}: {} bytes/event, serialize {} ns/event, deserialize {} ns/event ({} events)",
+            name, bytes / events.size(), serializeNanos / events.size(), deserializeNanos / events.size(),
+            events.size());
+    }
+
+    private List<BaseEvent> events(int count) {
+        List<BaseEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long id = i % 10_000;
+            switch (i % 3) {
+                case 0 -> {
+                    SpeciesAddedEvent species = new SpeciesAddedEvent(id, "Species " + id, "Genus species" + id,
+                        ConservationStatus.ENDANGERED);
+                    species.setHabitat("Tropical forest");
+                    species.setPopulationEstimate(3500);
+                    events.add(species);
+                }
+                case 1 -> {
+                    ProjectCreatedEvent project = new ProjectCreatedEvent(id, "Project " + id,
+                        LocalDate.of(2026, 1, 1), new BigDecimal("150000.00"));
+                    project.setStatus(ProjectStatus.ACTIVE);
+                    project.setLocation("Borneo");
+                    project.setSpeciesId(id % 50);
+                    events.add(project);
+                }
+                default -> {
+                    DonationProcessedEvent donation = new DonationProcessedEvent(id, id % 50,
+                        new BigDecimal("25.00"), "Donor " + id, DonationStatus.COMPLETED);
+                    donation.setDonorEmail("donor" + id + "@example.org");
+                    events.add(donation);
+                }
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,65 @@
+package com.wwf.application.payment;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the simulated payment gateway
+ */
+class SimulatedPaymentGatewayTest {
+
+    private static final int CHARGES = 5000;
+
+    @Test
+    void parksThousandsOfChargesOnTwoThreads() throws Exception {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(200, 300, 300, 0, 0, 2);
+        long start = System.nanoTime();
+
+        List<CompletableFuture<PaymentResult>> charges = new ArrayList<>();
+        for (long id = 1; id <= CHARGES; id++) {
+            charges.add(gateway.charge(id, new BigDecimal("10.00")));
+        }
+        // Charging returns straight away; the charges complete together, not one after another
+        assertTrue(charges.stream().noneMatch(CompletableFuture::isDone));
+        CompletableFuture.allOf(charges.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 5000);
+        assertTrue(charges.stream().allMatch(charge -> charge.join().isSuccess()));
+        gateway.shutdown();
+    }
+
+    @Test
+    void declinesAtTheFailureRate() throws Exception {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(0, 0, 0, 0, 1.0, 1);
+
+        PaymentResult result = gateway.charge(1L, new BigDecimal("10.00")).get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+        gateway.shutdown();
+    }
+
+    @Test
+    void completesPendingChargesOnShutdown() throws Exception {
+        SimulatedPaymentGateway gateway = new SimulatedPaymentGateway(200, 200, 200, 0, 0, 1);
+        CompletableFuture<PaymentResult> charge = gateway.charge(1L, new BigDecimal("10.00"));
+
+        gateway.shutdown();
+
+        assertTrue(charge.isDone());
+        assertTrue(charge.get().isSuccess());
+    }
+
+    @Test
+    void rejectsAnInvalidLatencyRange() {
+        assertThrows(IllegalArgumentException.class, () -> new SimulatedPaymentGateway(500, 100, 0, 0, 0, 1));
+    }
+}
@@ -0,0 +1,225 @@
+package com.wwf.application.repository;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.model.ProjectStatus;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs EXPLAIN on the SQL generated for each repository query against the PostgreSQL
+ * schema built by the Flyway migrations, and fails if any of them falls back to a
+ * sequential scan. Runs against a PostgreSQL 16 container, or without Docker against an
+ * empty database given by {@code -Dwwf.test.postgres.url} (with {@code .username} and
+ * {@code .password}); skipped if neither is available.
+ *
+ * Sequential scans are disabled for the session, so the planner only picks one when no
+ * index can serve the query, which makes the check independent of table sizes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import({TestKafkaConfig.class, RepositoryQueryPlanTest.StatementCaptureConfig.class})
+@EnabledIf("databaseAvailable")
+class RepositoryQueryPlanTest {
+
+    private static final String EXTERNAL_URL = System.getProperty("wwf.test.postgres.url");
+
+    private static final List<String> capturedStatements = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private WildlifeSpeciesRepository speciesRepository;
+
+    @Autowired
+    private ConservationProjectRepository projectRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private DonationLedgerRepository ledgerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static boolean databaseAvailable() {
+        return EXTERNAL_URL != null || DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (EXTERNAL_URL != null) {
+            registry.add("spring.datasource.url", () -> EXTERNAL_URL);
+            registry.add("spring.datasource.username", () -> System.getProperty("wwf.test.postgres.username", "postgres"));
+            registry.add("spring.datasource.password", () -> System.getProperty("wwf.test.postgres.password", ""));
+        } else {
+            // EXPLAIN (GENERIC_PLAN) needs PostgreSQL 16; the container is removed when the JVM exits
+            PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+            postgres.start();
+            registry.add("spring.datasource.url", postgres::getJdbcUrl);
+            registry.add("spring.datasource.username", postgres::getUsername);
+            registry.add("spring.datasource.password", postgres::getPassword);
+        }
+        registry.add("spring.datasource.driverClassName", () -> "org.postgresql.Driver");
+        // EXPLAIN (GENERIC_PLAN) takes unbound $n parameters, which only the simple query protocol passes through
+        registry.add("spring.datasource.hikari.data-source-properties.preferQueryMode", () -> "simple");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Test
+    void repositoryQueriesUseIndexes() {
+        List<String> failures = new ArrayList<>();
+
+        queries().forEach((name, query) -> {
+            capturedStatements.clear();
+            query.run();
+            List<String> selects = capturedStatements.stream()
+                .filter(sql -> sql.trim().toLowerCase().startsWith("select"))
+                .toList();
+            assertFalse(selects.isEmpty(), "No SQL captured for " + name);
+
+            for (String sql : selects) {
+                String plan = explain(sql);
+                if (plan.contains("Seq Scan")) {
+                    failures.add(name + ":\n" + sql + "\n" + plan);
+                }
+            }
+        });
+
+        assertTrue(failures.isEmpty(), "Queries using sequential scans:\n\n" + String.join("\n\n", failures));
+    }
+
+    /**
+     * Every repository query that is expected to be served by an index.
+     *
+     * Not listed: the remaining substring searches (findBy*ContainingIgnoreCase), which a
+     * b-tree cannot serve, and whole-table aggregates (calculateTotalBudget, calculateTotalFundsRaised,
+     * findProjectsByFundingProgress), which read every row by design.
+     */
+    private Map<String, Runnable> queries() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+
+        queries.put("species.findByScientificNameIgnoreCase", () -> speciesRepository.findByScientificNameIgnoreCase("Panthera uncia"));
+        queries.put("species.existsByScientificNameIgnoreCase", () -> speciesRepository.existsByScientificNameIgnoreCase("Panthera uncia"));
+        queries.put("species.findExistingScientificNames", () -> speciesRepository.findExistingScientificNames(List.of("PANTHERA UNCIA")));
+        queries.put("species.findByConservationStatus", () -> speciesRepository.findByConservationStatus(ConservationStatus.ENDANGERED));
+        queries.put("species.findEndangeredSpecies", () -> speciesRepository.findEndangeredSpecies());
+        queries.put("species.findSpeciesWithLowPopulation", () -> speciesRepository.findSpeciesWithLowPopulation(1000));
+        queries.put("species.countSpeciesByConservationStatus", () -> speciesRepository.countSpeciesByConservationStatus());
+        queries.put("species.findByIdGreaterThanOrderByIdAsc", () -> speciesRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 100)));
+        queries.put("species.findSummariesByIdIn", () -> speciesRepository.findSummariesByIdIn(List.of(1L, 2L)));
+        queries.put("species.searchByName", () -> speciesRepository.searchByName("tiger", "%tiger%", 20, 0));
+        queries.put("species.searchByHabitat", () -> speciesRepository.searchByHabitat("forest", "%forest%", 20, 0));
+        queries.put("species.suggestNames", () -> speciesRepository.suggestNames("ti%", "% ti%", 10));
+        queries.put("species.suggestHabitats", () -> speciesRepository.suggestHabitats("fo%", "% fo%", 10));
+
+        queries.put("projects.findByStatus", () -> projectRepository.findByStatus(ProjectStatus.ACTIVE));
+        queries.put("projects.findBySpeciesId", () -> projectRepository.findBySpeciesId(1L));
+        queries.put("projects.findSummariesByIdIn", () -> projectRepository.findSummariesByIdIn(List.of(1L, 2L)));
+        queries.put("projects.searchByLocation", () -> projectRepository.searchByLocation("borneo", "%borneo%", 20, 0));
+        queries.put("projects.suggestLocations", () -> projectRepository.suggestLocations("bo%", "% bo%", 10));
+        queries.put("projects.findActiveProjects", () -> projectRepository.findActiveProjects());
+        queries.put("projects.findProjectsStartingBetween", () -> projectRepository.findProjectsStartingBetween(LocalDate.now().minusYears(1), LocalDate.now()));
+        queries.put("projects.findProjectsNeedingFunding", () -> projectRepository.findProjectsNeedingFunding());
+        queries.put("projects.countProjectsByStatus", () -> projectRepository.countProjectsByStatus());
+        queries.put("projects.findByIdGreaterThanOrderByIdAsc", () -> projectRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 100)));
+
+        queries.put("donations.findByStatus", () -> donationRepository.findByStatus(DonationStatus.PENDING));
+        queries.put("donations.findByDonorEmailIgnoreCase", () -> donationRepository.findByDonorEmailIgnoreCase("donor@example.org"));
+        queries.put("donations.findByProjectId", () -> donationRepository.findByProjectId(1L));
+        queries.put("donations.findDonationsCreatedBetween", () -> donationRepository.findDonationsCreatedBetween(now.minusDays(7), now));
+        queries.put("donations.findLargeDonations", () -> donationRepository.findLargeDonations(new BigDecimal("1000")));
+        queries.put("donations.calculateTotalDonationsByStatus", () -> donationRepository.calculateTotalDonationsByStatus(DonationStatus.COMPLETED));
+        queries.put("donations.calculateTotalDonationsForProject", () -> donationRepository.calculateTotalDonationsForProject(1L));
+        queries.put("donations.findTopDonors", () -> donationRepository.findTopDonors(PageRequest.of(0, 10)));
+        queries.put("donations.findTopDonorsForProject", () -> donationRepository.findTopDonorsForProject(1L, PageRequest.of(0, 10)));
+        queries.put("donations.findTopDonorsSince", () -> donationRepository.findTopDonorsSince(now.minusDays(30), PageRequest.of(0, 10)));
+        queries.put("donations.findTopDonorsForProjectSince", () -> donationRepository.findTopDonorsForProjectSince(1L, now.minusDays(30), PageRequest.of(0, 10)));
+        queries.put("donations.countDonationsByStatus", () -> donationRepository.countDonationsByStatus());
+        queries.put("donations.summarizeDonationsByStatus", () -> donationRepository.summarizeDonationsByStatus());
+        queries.put("donations.findRecentDonations", () -> donationRepository.findRecentDonations(now.minusDays(30)));
+        queries.put("donations.findStalePendingSummaries", () -> donationRepository.findStalePendingSummaries(now.minusHours(24), 0L, PageRequest.of(0, 5000)));
+        queries.put("donations.findFailedAt", () -> donationRepository.findFailedAt(List.of(1L, 2L), now));
+        queries.put("donations.findUnappliedCompletedDonations", () -> donationRepository.findUnappliedCompletedDonations());
+        queries.put("donations.findByIdGreaterThanOrderByIdAsc", () -> donationRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 100)));
+
+        queries.put("ledger.findHistory", () -> ledgerRepository.findHistory(1L));
+        queries.put("ledger.sumDonatedFunds", () -> ledgerRepository.sumDonatedFunds(1L));
+
+        return queries;
+    }
+
+    /**
+     * Explain a captured statement as a generic plan, with its JDBC placeholders as $n parameters
+     */
+    private String explain(String sql) {
+        StringBuilder positional = new StringBuilder();
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                positional.append('$').append(++parameter);
+            } else {
+                positional.append(c);
+            }
+        }
+
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SET enable_seqscan = off");
+                StringBuilder plan = new StringBuilder();
+                try (ResultSet rs = statement.executeQuery("EXPLAIN (GENERIC_PLAN) " + positional)) {
+                    while (rs.next()) {
+                        plan.append(rs.getString(1)).append('\n');
+                    }
+                } finally {
+                    statement.execute("RESET enable_seqscan");
+                }
+                return plan.toString();
+            }
+        });
+    }
+
+    @TestConfiguration
+    static class StatementCaptureConfig {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                (StatementInspector) sql -> {
+                    capturedStatements.add(sql);
+                    return sql;
+                });
+        }
+    }
+}
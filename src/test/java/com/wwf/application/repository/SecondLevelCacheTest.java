@@ -0,0 +1,142 @@
+package com.wwf.application.repository;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.SpeciesSummary;
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.ProjectStatus;
+import com.wwf.application.model.WildlifeSpecies;
+import com.wwf.application.service.ConservationProjectService;
+import com.wwf.application.service.WildlifeSpeciesService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the Hibernate second-level and query cache of species
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private WildlifeSpeciesRepository speciesRepository;
+
+    @Autowired
+    private ConservationProjectRepository projectRepository;
+
+    @Autowired
+    private WildlifeSpeciesService speciesService;
+
+    @Autowired
+    private ConservationProjectService projectService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void clearStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void speciesLookupOnProjectWriteIsServedFromCache() {
+        WildlifeSpecies species = speciesService.createSpecies(
+            new WildlifeSpecies("Cached Snow Leopard", "Panthera uncia", ConservationStatus.VULNERABLE));
+
+        statistics.clear();
+        ConservationProject project = new ConservationProject("Cached Project", LocalDate.now(), new BigDecimal("1000.00"));
+        project.setSpecies(species);
+        projectService.createProject(project);
+
+        assertEquals(0, statistics.getEntityStatistics(WildlifeSpecies.class.getName()).getLoadCount(),
+            "species was loaded from the database on a project write");
+        assertTrue(statistics.getDomainDataRegionStatistics(WildlifeSpecies.CACHE_REGION).getHitCount() > 0);
+    }
+
+    @Test
+    void projectFundsStayCurrentAfterBulkUpdate() {
+        ConservationProject project = new ConservationProject("Cached Funds Project", LocalDate.now(),
+            new BigDecimal("1000.00"));
+        Long projectId = projectService.createProject(project).getId();
+        assertEquals(0, projectRepository.findById(projectId).orElseThrow().getFundsRaised().compareTo(BigDecimal.ZERO));
+
+        projectService.addFundsToProject(projectId, new BigDecimal("250.00"));
+
+        assertEquals(0, projectRepository.findById(projectId).orElseThrow().getFundsRaised()
+            .compareTo(new BigDecimal("250.00")));
+    }
+
+    @Test
+    void endangeredSpeciesQueryIsCachedUntilSpeciesChange() {
+        speciesRepository.findEndangeredSpecies();
+        statistics.clear();
+
+        speciesRepository.findEndangeredSpecies();
+        assertEquals(1, statistics.getQueryRegionStatistics(WildlifeSpecies.ENDANGERED_QUERY_REGION).getHitCount());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        WildlifeSpecies added = speciesService.createSpecies(
+            new WildlifeSpecies("Cached Sumatran Tiger", "Panthera tigris sondaica", ConservationStatus.CRITICALLY_ENDANGERED));
+        List<SpeciesSummary> endangered = speciesRepository.findEndangeredSpecies();
+        assertTrue(endangered.stream().anyMatch(species -> species.id().equals(added.getId())),
+            "query cache served a result from before the species was added");
+    }
+
+    @Test
+    void speciesUpdateReadsTheRowFromTheDatabase() {
+        WildlifeSpecies species = speciesService.createSpecies(
+            new WildlifeSpecies("Cached Vaquita", "Phocoena sinus", ConservationStatus.VULNERABLE));
+        speciesRepository.findById(species.getId());
+        statistics.clear();
+
+        WildlifeSpecies update = new WildlifeSpecies("Cached Vaquita", "Phocoena sinus",
+            ConservationStatus.CRITICALLY_ENDANGERED);
+        speciesService.updateSpecies(species.getId(), update);
+
+        assertEquals(1, statistics.getEntityStatistics(WildlifeSpecies.class.getName()).getLoadCount(),
+            "species to update was not read from the database");
+    }
+
+    @Test
+    void projectsAreNotCachedAndRegionStatisticsArePublished() {
+        ConservationProject project = new ConservationProject("Uncached Active Project", LocalDate.now(),
+            new BigDecimal("1000.00"));
+        project.setStatus(ProjectStatus.ACTIVE);
+        Long projectId = projectService.createProject(project).getId();
+
+        statistics.clear();
+        projectRepository.findById(projectId);
+        projectRepository.findById(projectId);
+        projectRepository.findActiveProjects();
+        projectRepository.findActiveProjects();
+        assertEquals(2, statistics.getEntityStatistics(ConservationProject.class.getName()).getLoadCount());
+        assertEquals(0, statistics.getQueryCachePutCount());
+
+        assertNotNull(meterRegistry.find("hibernate.cache.query.requests").meter());
+        assertNotNull(meterRegistry.find("hibernate.second.level.cache.requests")
+            .tag("region", WildlifeSpecies.CACHE_REGION).meter());
+    }
+}
@@ -0,0 +1,69 @@
+package com.wwf.application.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the in-memory trigram index behind the search engine used with H2
+ */
+class NGramIndexTest {
+
+    @Test
+    void ranksSubstringAndSimilarMatches() {
+        NGramIndex index = new NGramIndex(0.6);
+        index.put(1L, "Bengal Tiger");
+        index.put(2L, "Sumatran Tiger");
+        index.put(3L, "Tiger");
+        index.put(4L, "Snow Leopard");
+        index.put(5L, "Amur Leopard");
+
+        assertEquals(List.of(1L, 2L, 3L), index.search("tiger", 0, 10));
+        // Typo still matches through shared trigrams
+        assertEquals(List.of(4L, 5L), index.search("leopart", 0, 10));
+        // Substring inside a word
+        assertEquals(List.of(4L, 5L), index.search("opar", 0, 10));
+        // Queries shorter than a trigram inside a word
+        assertEquals(List.of(1L, 2L, 3L), index.search("ig", 0, 10));
+        assertEquals(List.of(4L, 5L), index.search("rd", 0, 10));
+        assertTrue(index.search("elephant", 0, 10).isEmpty());
+        assertTrue(index.search("  ", 0, 10).isEmpty());
+    }
+
+    @Test
+    void paginatesAndFollowsUpdates() {
+        NGramIndex index = new NGramIndex(0.6);
+        for (long id = 1; id <= 25; id++) {
+            index.put(id, "Borneo Rainforest " + id);
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), index.search("borneo", 0, 5));
+        assertEquals(List.of(21L, 22L, 23L, 24L, 25L), index.search("borneo", 20, 5));
+        assertTrue(index.search("borneo", 25, 5).isEmpty());
+
+        index.put(3L, "Congo Basin");
+        index.remove(4L);
+        assertEquals(List.of(1L, 2L, 5L), index.search("borneo", 0, 3));
+        assertEquals(List.of(3L), index.search("congo", 0, 10));
+        assertEquals(24, index.size());
+    }
+
+    @Test
+    void suggestsValuesWithAWordStartingWithThePrefix() {
+        NGramIndex index = new NGramIndex(0.6);
+        index.put(1L, "Sumatra, Indonesia");
+        index.put(2L, "Sumatra, Indonesia");
+        index.put(3L, "Borneo, Indonesia");
+        index.put(4L, "Indochina");
+        index.put(5L, "Sundarbans");
+
+        assertEquals(List.of("Indochina", "Borneo, Indonesia", "Sumatra, Indonesia"), index.suggest("ind", 10));
+        assertEquals(List.of("Sumatra, Indonesia"), index.suggest("sumatra, ind", 10));
+        assertEquals(List.of("Sundarbans"), index.suggest("Sund", 10));
+        assertEquals(List.of("Indochina"), index.suggest("ind", 1));
+        assertTrue(index.suggest("dia", 10).isEmpty());
+    }
+}
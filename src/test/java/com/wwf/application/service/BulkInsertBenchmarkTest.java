@@ -0,0 +1,113 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.BulkCreateResult;
+import com.wwf.application.model.Donation;
+import com.wwf.application.repository.DonationRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark comparing row-at-a-time inserts with batched bulk inserts.
+ *
+ * Disabled by default. Run against H2 with
+ * {@code mvn test -Dtest=BulkInsertBenchmarkTest -Dwwf.benchmark=true}
+ * and against PostgreSQL (requires Docker) by adding {@code -Dwwf.benchmark.db=postgresql}.
+ * The row-at-a-time run flushes after every insert, which is how IDENTITY generation
+ * behaves, so it serves as the "before" figure.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+@EnabledIfSystemProperty(named = "wwf.benchmark", matches = "true")
+class BulkInsertBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkInsertBenchmarkTest.class);
+    private static final int ROWS = Integer.getInteger("wwf.benchmark.rows", 5000);
+
+    private static PostgreSQLContainer<?> postgres;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        if (!"postgresql".equals(System.getProperty("wwf.benchmark.db"))) {
+            return;
+        }
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        registry.add("spring.datasource.url", postgres::getJdbcUrl);
+        registry.add("spring.datasource.username", postgres::getUsername);
+        registry.add("spring.datasource.password", postgres::getPassword);
+        registry.add("spring.datasource.driverClassName", postgres::getDriverClassName);
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+    }
+
+    @Test
+    void compareRowAtATimeWithBatchedInserts() {
+        // Warm up connections, statement caches and the JIT
+        insertRowAtATime(donations(500));
+        donationService.createDonations(donations(500));
+
+        long start = System.nanoTime();
+        insertRowAtATime(donations(ROWS));
+        double rowAtATime = rowsPerSecond(start);
+
+        start = System.nanoTime();
+        BulkCreateResult result = donationService.createDonations(donations(ROWS));
+        double batched = rowsPerSecond(start);
+
+        assertEquals(ROWS, result.created());
+        logger.info("Inserted {} donations: row-at-a-time {} rows/sec, batched {} rows/sec ({}x)",
+            ROWS, Math.round(rowAtATime), Math.round(batched), Math.round(batched / rowAtATime * 10) / 10.0);
+    }
+
+    private void insertRowAtATime(List<Donation> donations) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (Donation donation : donations) {
+                donationRepository.saveAndFlush(donation);
+                entityManager.detach(donation);
+            }
+        });
+    }
+
+    private static List<Donation> donations(int count) {
+        List<Donation> donations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            donations.add(new Donation(new BigDecimal("25.00"), "Donor " + i, "donor" + i + "@example.org"));
+        }
+        return donations;
+    }
+
+    private static double rowsPerSecond(long startNanos) {
+        return ROWS / ((System.nanoTime() - startNanos) / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.CacheConfig;
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.SpeciesSummary;
+import com.wwf.application.kafka.SpeciesUpdatedEvent;
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.WildlifeSpecies;
+import com.wwf.application.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for evicting cached lookups when another replica changes species
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class CacheInvalidationListenerTest {
+
+    @Autowired
+    private WildlifeSpeciesService speciesService;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void speciesUpdateIsRecordedForOtherReplicas() {
+        WildlifeSpecies species = speciesService.createSpecies(
+            new WildlifeSpecies("Outbox Gharial", "Gavialis outboxus", ConservationStatus.CRITICALLY_ENDANGERED));
+
+        speciesService.updateSpecies(species.getId(),
+            new WildlifeSpecies("Outbox Gharial", "Gavialis outboxus", ConservationStatus.ENDANGERED));
+
+        assertTrue(outboxRepository.findAll().stream().anyMatch(event ->
+            event.getEventType().equals(SpeciesUpdatedEvent.class.getName())
+                && event.getMessageKey().equals(String.valueOf(species.getId()))));
+    }
+
+    @Test
+    void speciesUpdatedEventEvictsTheSpeciesAndItsLists() {
+        CacheInvalidationListener listener = new CacheInvalidationListener(cacheManager, entityManagerFactory);
+        WildlifeSpecies species = speciesService.createSpecies(
+            new WildlifeSpecies("Remote Saola", "Pseudoryx remotus", ConservationStatus.CRITICALLY_ENDANGERED));
+        speciesService.getSpeciesById(species.getId());
+        speciesService.findSpeciesByConservationStatus(ConservationStatus.CRITICALLY_ENDANGERED);
+
+        // Another replica renames the species; this one still serves its cached copy
+        jdbcTemplate.update("UPDATE wildlife_species SET name = ? WHERE id = ?", "Renamed Saola", species.getId());
+        assertEquals("Remote Saola", speciesService.getSpeciesById(species.getId()).map(SpeciesSummary::name).orElseThrow());
+
+        Acknowledgment acknowledgment = mock(Acknowledgment.class);
+        listener.onSpeciesEvent(new SpeciesUpdatedEvent(species.getId(), "Renamed Saola",
+            ConservationStatus.CRITICALLY_ENDANGERED), acknowledgment);
+
+        verify(acknowledgment).acknowledge();
+        assertNull(cacheManager.getCache(CacheConfig.SPECIES).get(species.getId()));
+        assertNull(cacheManager.getCache(CacheConfig.SPECIES_BY_STATUS).get(ConservationStatus.CRITICALLY_ENDANGERED));
+        assertEquals("Renamed Saola", speciesService.getSpeciesById(species.getId()).map(SpeciesSummary::name).orElseThrow());
+    }
+}
@@ -0,0 +1,117 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.ProjectSummary;
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.repository.ConservationProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Stress test for concurrent fund accounting on a single hot project
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class ConservationProjectFundsConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 50;
+
+    @Autowired
+    private ConservationProjectService projectService;
+
+    @Autowired
+    private ConservationProjectRepository projectRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentIncrementsAreNotLost() throws Exception {
+        Long projectId = createProject();
+
+        runConcurrently(() -> projectService.addFundsToProject(projectId, new BigDecimal("1.25")));
+
+        assertFundsRaised(projectId, new BigDecimal("1.25").multiply(BigDecimal.valueOf(THREADS * UPDATES_PER_THREAD)));
+    }
+
+    @Test
+    void concurrentIncrementsAndDecrementsAreNotLost() throws Exception {
+        Long projectId = createProject();
+        projectService.addFundsToProject(projectId, new BigDecimal("10000.00"));
+
+        runConcurrently(() -> {
+            projectService.addFundsToProject(projectId, new BigDecimal("3.00"));
+            projectRepository.decrementFundsRaised(projectId, new BigDecimal("1.00"), LocalDateTime.now());
+        });
+
+        assertFundsRaised(projectId, new BigDecimal("10000.00")
+            .add(new BigDecimal("2.00").multiply(BigDecimal.valueOf(THREADS * UPDATES_PER_THREAD))));
+    }
+
+    @Test
+    void addFundsReturnsTheUpdatedProjectWhenItIsAlreadyLoaded() {
+        Long projectId = createProject();
+
+        ProjectSummary updated = new TransactionTemplate(transactionManager).execute(status -> {
+            ConservationProject loaded = projectRepository.findById(projectId).orElseThrow();
+            assertEquals(0, BigDecimal.ZERO.compareTo(loaded.getFundsRaised()));
+            return projectService.addFundsToProject(projectId, new BigDecimal("42.50"));
+        });
+
+        assertEquals(0, new BigDecimal("42.50").compareTo(updated.fundsRaised()));
+        assertEquals(projectRepository.findById(projectId).orElseThrow().getVersion(), updated.version());
+    }
+
+    private Long createProject() {
+        ConservationProject project = new ConservationProject("Hot Project", LocalDate.now(), new BigDecimal("1000000.00"));
+        return projectService.createProject(project).getId();
+    }
+
+    private void runConcurrently(Runnable update) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        update.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void assertFundsRaised(Long projectId, BigDecimal expected) {
+        BigDecimal actual = projectRepository.findById(projectId).orElseThrow().getFundsRaised();
+        assertEquals(0, expected.compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,126 @@
+package com.wwf.application.service;
+
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.repository.ConservationProjectRepository;
+import com.wwf.application.repository.DonationRepository;
+import com.wwf.application.repository.WildlifeSpeciesRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for reconciling the dashboard aggregates while writes keep being applied
+ */
+class DashboardAggregatesTest {
+
+    private static final int WRITERS = 4;
+    private static final int WRITES_PER_WRITER = 1000;
+
+    private final WildlifeSpeciesRepository speciesRepository = mock(WildlifeSpeciesRepository.class);
+    private final ConservationProjectRepository projectRepository = mock(ConservationProjectRepository.class);
+    private final DonationRepository donationRepository = mock(DonationRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DashboardAggregates aggregates;
+
+    @BeforeEach
+    void setUp() {
+        when(speciesRepository.countSpeciesByConservationStatus())
+            .thenReturn(rows(ConservationStatus.ENDANGERED, 10L));
+        when(projectRepository.countProjectsByStatus()).thenReturn(List.of());
+        when(donationRepository.summarizeDonationsByStatus()).thenReturn(List.of());
+        when(projectRepository.calculateTotalBudget()).thenReturn(BigDecimal.ZERO);
+        when(projectRepository.calculateTotalFundsRaised()).thenReturn(BigDecimal.ZERO);
+        aggregates = new DashboardAggregates(speciesRepository, projectRepository, donationRepository, meterRegistry);
+        aggregates.seed();
+    }
+
+    @Test
+    void keepsWritesCommittedWhileReading() throws Exception {
+        // Species are added by other threads after the count query took its snapshot
+        when(speciesRepository.countSpeciesByConservationStatus()).thenAnswer(invocation -> {
+            List<Object[]> snapshot = rows(ConservationStatus.ENDANGERED, 10L);
+            addConcurrently(() -> aggregates.speciesAdded(ConservationStatus.ENDANGERED));
+            return snapshot;
+        });
+
+        aggregates.reconcile();
+
+        assertEquals(10L + WRITERS * WRITES_PER_WRITER, count(ConservationStatus.ENDANGERED));
+        assertEquals(0, corrections());
+    }
+
+    @Test
+    void keepsFundsAddedWhileReading() throws Exception {
+        when(projectRepository.calculateTotalFundsRaised()).thenAnswer(invocation -> {
+            addConcurrently(() -> aggregates.fundsRaisedChanged(new BigDecimal("1.25")));
+            return BigDecimal.ZERO;
+        });
+
+        aggregates.reconcile();
+
+        assertEquals(new BigDecimal("5000.00"), aggregates.getTotalFundsRaised());
+        assertEquals(0, corrections());
+    }
+
+    @Test
+    void correctsAndCountsDriftOutsideTheWindow() {
+        // Another replica added two species
+        when(speciesRepository.countSpeciesByConservationStatus())
+            .thenReturn(rows(ConservationStatus.ENDANGERED, 12L));
+
+        aggregates.reconcile();
+
+        assertEquals(12L, count(ConservationStatus.ENDANGERED));
+        assertEquals(1, corrections());
+    }
+
+    private void addConcurrently(Runnable write) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                writers.add(executor.submit(() -> {
+                    for (int j = 0; j < WRITES_PER_WRITER; j++) {
+                        write.run();
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long count(ConservationStatus status) {
+        return aggregates.getSpeciesCountsByStatus().stream()
+            .filter(row -> row[0] == status)
+            .mapToLong(row -> (Long) row[1])
+            .sum();
+    }
+
+    private double corrections() {
+        return meterRegistry.counter("wwf.aggregates.corrections").count();
+    }
+
+    private static List<Object[]> rows(ConservationStatus status, long count) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{status, count});
+        return rows;
+    }
+}
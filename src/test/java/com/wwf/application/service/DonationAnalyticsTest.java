@@ -0,0 +1,97 @@
+package com.wwf.application.service;
+
+import com.wwf.application.dto.DonationStatusCounts;
+import com.wwf.application.dto.DonorTotal;
+import com.wwf.application.dto.ProjectDonationTotals;
+import com.wwf.application.kafka.DonationProcessedEvent;
+import com.wwf.application.model.DonationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the in-memory donation analytics
+ */
+class DonationAnalyticsTest {
+
+    @Test
+    void keepsWindowedProjectTotalsAndStatusCounts() {
+        DonationAnalytics analytics = new DonationAnalytics(Duration.ofHours(1), Duration.ofDays(1), 10, 100);
+        LocalDateTime now = LocalDateTime.now();
+
+        analytics.apply(event(1L, 7L, "100.00", "a@example.org", DonationStatus.COMPLETED, now.minusHours(2)));
+        analytics.apply(event(2L, 7L, "50.00", "b@example.org", DonationStatus.COMPLETED, now));
+        analytics.apply(event(3L, 7L, "20.00", "c@example.org", DonationStatus.FAILED, now));
+        analytics.apply(event(2L, 7L, "50.00", "b@example.org", DonationStatus.REFUNDED, now));
+        // Outside the retention: counted in the total, but its window is gone
+        DonationProcessedEvent oldest = event(4L, 7L, "5.00", "d@example.org", DonationStatus.COMPLETED, now.minusDays(3));
+        analytics.apply(oldest);
+
+        ProjectDonationTotals totals = analytics.getProjectTotals(7L);
+        assertEquals(0, new BigDecimal("105.00").compareTo(totals.total()));
+        assertEquals(2, totals.windows().size());
+        assertEquals(0, new BigDecimal("100.00").compareTo(totals.windows().get(0).total()));
+        assertEquals(0, BigDecimal.ZERO.compareTo(totals.windows().get(1).total()));
+        assertEquals(oldest.getTimestamp().withNano(0), totals.retainedSince());
+
+        DonationStatusCounts counts = analytics.getStatusCounts();
+        assertEquals(2L, counts.counts().get(DonationStatus.COMPLETED));
+        assertEquals(1L, counts.counts().get(DonationStatus.FAILED));
+        assertEquals(1L, counts.counts().get(DonationStatus.REFUNDED));
+        assertEquals(totals.retainedSince(), counts.retainedSince());
+    }
+
+    @Test
+    void resentAndReplayedEventsAreAppliedOnce() {
+        DonationAnalytics analytics = new DonationAnalytics(Duration.ofHours(1), Duration.ofDays(1), 10, 2);
+        DonationProcessedEvent completed = event(1L, 7L, "30.00", "a@example.org", DonationStatus.COMPLETED,
+            LocalDateTime.now());
+
+        assertTrue(analytics.apply(completed));
+        assertFalse(analytics.apply(completed));
+        // Still remembered after the newer generation fills up and rotates
+        analytics.apply(event(2L, 8L, "1.00", "b@example.org", DonationStatus.COMPLETED, LocalDateTime.now()));
+        analytics.apply(event(3L, 8L, "1.00", "c@example.org", DonationStatus.COMPLETED, LocalDateTime.now()));
+        assertFalse(analytics.apply(completed));
+
+        assertEquals(0, new BigDecimal("30.00").compareTo(analytics.getProjectTotals(7L).total()));
+        assertEquals(3L, analytics.getStatusCounts().counts().get(DonationStatus.COMPLETED));
+    }
+
+    @Test
+    void topDonorsStayWithinCapacityAndKeepHeavyHitters() {
+        DonationAnalytics analytics = new DonationAnalytics(Duration.ofHours(1), Duration.ofDays(1), 5, 100);
+        for (int i = 0; i < 1000; i++) {
+            analytics.apply(event((long) i, null, "1.00", "donor" + i + "@example.org", DonationStatus.COMPLETED,
+                LocalDateTime.now()));
+            if (i % 10 == 0) {
+                analytics.apply(event((long) -i, null, "30.00", "Major@Example.org", DonationStatus.COMPLETED,
+                    LocalDateTime.now()));
+            }
+        }
+
+        List<DonorTotal> top = analytics.getTopDonors(10);
+        assertEquals(5, top.size());
+        DonorTotal heaviest = top.get(0);
+        assertEquals("major@example.org", heaviest.donor());
+        // The true total is 3000.00; the estimate is never below it and off by at most the error
+        assertTrue(heaviest.total().compareTo(new BigDecimal("3000.00")) >= 0);
+        assertTrue(heaviest.total().subtract(heaviest.maxOverestimate()).compareTo(new BigDecimal("3000.00")) <= 0);
+    }
+
+    private static DonationProcessedEvent event(Long donationId, Long projectId, String amount, String email,
+                                                DonationStatus status, LocalDateTime timestamp) {
+        DonationProcessedEvent event = new DonationProcessedEvent(donationId, projectId, new BigDecimal(amount),
+            "Donor " + donationId, status);
+        event.setDonorEmail(email);
+        event.setTimestamp(timestamp);
+        return event;
+    }
+}
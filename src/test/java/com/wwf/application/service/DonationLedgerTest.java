@@ -0,0 +1,106 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.LedgerEntrySummary;
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.LedgerEntryType;
+import com.wwf.application.repository.ConservationProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the donation ledger and the donated funds projected from it
+ */
+@SpringBootTest(properties = "wwf.ledger.snapshot.interval-ms=3600000")
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class DonationLedgerTest {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private ConservationProjectService projectService;
+
+    @Autowired
+    private ConservationProjectRepository projectRepository;
+
+    @Autowired
+    private DonationLedger ledger;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void recordsHistoryAndProjectsDonatedFundsAcrossSnapshots() {
+        Long projectId = createProject("Ledger Project");
+
+        Long refunded = complete(projectId, "40.00");
+        complete(projectId, "25.50");
+        assertFunds(projectId, "65.50");
+
+        ledger.snapshot();
+        complete(projectId, "10.00");
+        donationService.refundDonation(refunded);
+        assertFunds(projectId, "35.50");
+
+        ledger.snapshot();
+        assertFunds(projectId, "35.50");
+        assertEquals(0, new BigDecimal("35.50").compareTo(projectRepository.findById(projectId).orElseThrow().getFundsRaised()));
+
+        List<LedgerEntrySummary> history = donationService.getDonationHistory(refunded);
+        assertEquals(List.of(LedgerEntryType.CREATED, LedgerEntryType.PROCESSING, LedgerEntryType.COMPLETED,
+            LedgerEntryType.REFUNDED), history.stream().map(LedgerEntrySummary::entryType).toList());
+        assertEquals(0, new BigDecimal("-40.00").compareTo(history.get(3).fundsDelta()));
+    }
+
+    @Test
+    void entryCommittedAfterLaterSnapshotsIsStillFolded() {
+        Long projectId = createProject("Late Ledger Project");
+        complete(projectId, "10.00");
+        ledger.snapshot();
+
+        // Recorded an hour ago by a transaction that only commits now, after snapshots covering that time
+        jdbcTemplate.update("INSERT INTO donation_ledger (id, donation_id, project_id, entry_type, amount, funds_delta, "
+                + "recorded_at) VALUES (?, ?, ?, 'COMPLETED', ?, ?, ?)",
+            900_001L, 900_001L, projectId, new BigDecimal("12.00"), new BigDecimal("12.00"),
+            LocalDateTime.now().minusHours(1));
+        assertFunds(projectId, "22.00");
+
+        ledger.snapshot();
+        assertFunds(projectId, "22.00");
+        ledger.snapshot();
+        assertFunds(projectId, "22.00");
+    }
+
+    private Long createProject(String name) {
+        return projectService.createProject(
+            new ConservationProject(name, LocalDate.now(), new BigDecimal("100000.00"))).getId();
+    }
+
+    private Long complete(Long projectId, String amount) {
+        Donation donation = new Donation(new BigDecimal(amount), "Ledger Donor", "ledger@example.org");
+        donation.setProject(projectRepository.findById(projectId).orElseThrow());
+        Long id = donationService.createDonation(donation).getId();
+        donationService.startProcessing(id);
+        donationService.completeProcessing(id, true, "txn-" + id);
+        return id;
+    }
+
+    private void assertFunds(Long projectId, String expected) {
+        BigDecimal actual = donationService.getTotalDonationsForProject(projectId);
+        assertEquals(0, new BigDecimal(expected).compareTo(actual), "expected " + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,171 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.payment.PaymentGateway;
+import com.wwf.application.payment.PaymentResult;
+import com.wwf.application.repository.DonationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Tests for charging donations through the processing pipeline and recovering stuck ones
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class DonationProcessingPipelineTest {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    @Qualifier("donationProcessingExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void completesDonationsChargedSuccessfully() {
+        DonationProcessingPipeline pipeline = pipeline((id, amount) ->
+            CompletableFuture.completedFuture(PaymentResult.success("TX-OK-" + id)), 10);
+        Long id = createDonation();
+
+        pipeline.submit(id);
+
+        Donation donation = awaitStatus(id, DonationStatus.COMPLETED);
+        assertEquals("TX-OK-" + id, donation.getTransactionId());
+    }
+
+    @Test
+    void failsDonationsDeclinedOrFailingInTheGateway() {
+        Long declined = createDonation();
+        pipeline((id, amount) -> CompletableFuture.completedFuture(PaymentResult.failure("Declined")), 10)
+            .submit(declined);
+        awaitStatus(declined, DonationStatus.FAILED);
+
+        Long thrown = createDonation();
+        pipeline((id, amount) -> {
+            throw new IllegalStateException("Gateway unavailable");
+        }, 10).submit(thrown);
+        awaitStatus(thrown, DonationStatus.FAILED);
+
+        Long failedFuture = createDonation();
+        pipeline((id, amount) -> CompletableFuture.failedFuture(new IllegalStateException("Connection reset")), 10)
+            .submit(failedFuture);
+        awaitStatus(failedFuture, DonationStatus.FAILED);
+    }
+
+    @Test
+    void rejectsSubmissionsBeyondTheInFlightCap() {
+        CompletableFuture<PaymentResult> pending = new CompletableFuture<>();
+        DonationProcessingPipeline pipeline = pipeline((id, amount) -> pending, 1);
+        Long first = createDonation();
+        Long second = createDonation();
+
+        pipeline.submit(first);
+        assertThrows(TaskRejectedException.class, () -> pipeline.submit(second));
+        assertEquals(DonationStatus.PENDING, donationRepository.findById(second).orElseThrow().getStatus());
+
+        // Recording the first outcome frees its permit
+        pending.complete(PaymentResult.success("TX-CAP-" + first));
+        awaitStatus(first, DonationStatus.COMPLETED);
+        awaitPermit(pipeline, second);
+        awaitStatus(second, DonationStatus.COMPLETED);
+    }
+
+    @Test
+    void chargesStuckDonationsAgainOnce() {
+        AtomicInteger charges = new AtomicInteger();
+        DonationProcessingPipeline pipeline = pipeline((id, amount) -> {
+            charges.incrementAndGet();
+            return CompletableFuture.completedFuture(PaymentResult.success("TX-STUCK-" + id));
+        }, 10);
+        Long stuck = createDonation();
+        Long recent = createDonation();
+        // Left PROCESSING by an instance that stopped before recording the outcome
+        donationService.startProcessing(stuck);
+        donationService.startProcessing(recent);
+        jdbcTemplate.update("UPDATE donations SET processed_at = ? WHERE id = ?",
+            LocalDateTime.now().minusHours(2), stuck);
+
+        assertEquals(1, pipeline.recoverStuckDonations());
+
+        Donation donation = awaitStatus(stuck, DonationStatus.COMPLETED);
+        assertEquals("TX-STUCK-" + stuck, donation.getTransactionId());
+        assertEquals(DonationStatus.PROCESSING, donationRepository.findById(recent).orElseThrow().getStatus());
+        assertEquals(0, pipeline.recoverStuckDonations());
+        assertEquals(1, charges.get());
+
+        // The outcome of the original charge arriving late is accepted once
+        donationService.completeProcessing(stuck, true, "TX-STUCK-" + stuck);
+        assertEquals(DonationStatus.COMPLETED, donationRepository.findById(stuck).orElseThrow().getStatus());
+        donationService.completeProcessing(recent, false, null);
+    }
+
+    private DonationProcessingPipeline pipeline(PaymentGateway gateway, int maxInFlight) {
+        return new DonationProcessingPipeline(donationService, gateway, executor, maxInFlight,
+            Duration.ofHours(1), 500, Duration.ofSeconds(5));
+    }
+
+    private Long createDonation() {
+        return donationService.createDonation(
+            new Donation(new BigDecimal("25.00"), "Pipeline Donor", "pipeline@example.org")).getId();
+    }
+
+    private Donation awaitStatus(Long id, DonationStatus status) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            Donation donation = donationRepository.findById(id).orElseThrow();
+            if (donation.getStatus() == status) {
+                return donation;
+            }
+            sleep();
+        }
+        return fail("Donation " + id + " did not reach " + status);
+    }
+
+    private void awaitPermit(DonationProcessingPipeline pipeline, Long id) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                pipeline.submit(id);
+                return;
+            } catch (TaskRejectedException e) {
+                sleep();
+            }
+        }
+        fail("Permit of the completed donation was not released");
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(20);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
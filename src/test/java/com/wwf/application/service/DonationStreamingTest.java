@@ -0,0 +1,51 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.BulkCreateResult;
+import com.wwf.application.model.Donation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for streaming all donations in keyset pages
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class DonationStreamingTest {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Test
+    void streamsEveryDonationInIdOrderWithoutATransactionOpen() {
+        List<Donation> donations = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            donations.add(new Donation(new BigDecimal("5.00"), "Stream Donor " + i, "stream" + i + "@example.org"));
+        }
+        BulkCreateResult created = donationService.createDonations(donations);
+
+        List<Long> streamed = new ArrayList<>();
+        donationService.streamDonations(donation -> {
+            // The client is written to between pages, with no connection held
+            assertFalse(TransactionSynchronizationManager.isActualTransactionActive());
+            streamed.add(donation.id());
+        });
+
+        for (int i = 1; i < streamed.size(); i++) {
+            assertTrue(streamed.get(i - 1) < streamed.get(i), "donations out of order at " + i);
+        }
+        assertTrue(streamed.containsAll(created.ids()));
+    }
+}
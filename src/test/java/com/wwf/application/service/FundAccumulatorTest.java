@@ -0,0 +1,155 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.model.Donation;
+import com.wwf.application.repository.ConservationProjectRepository;
+import com.wwf.application.repository.DonationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for flushing, replaying and refunding donations held by the fund accumulator
+ */
+@SpringBootTest(properties = {
+    "wwf.funds.accumulator.enabled=true",
+    "wwf.funds.accumulator.flush-interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class FundAccumulatorTest {
+
+    @Autowired
+    private FundAccumulator accumulator;
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private ConservationProjectService projectService;
+
+    @Autowired
+    private ConservationProjectRepository projectRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private DashboardAggregates aggregates;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void flushAddsCompletedDonationOnce() {
+        Long projectId = createProject();
+        Long donationId = completeDonation(projectId, "40.00");
+        assertEquals(0, accumulator.getPendingFunds(projectId).compareTo(new BigDecimal("40.00")));
+
+        accumulator.flush();
+        accumulator.flush();
+
+        assertFundsRaised(projectId, "40.00");
+        assertEquals(0, accumulator.getPendingFunds(projectId).signum());
+        assertTrue(donationRepository.findById(donationId).orElseThrow().getFundsApplied());
+    }
+
+    @Test
+    void replayOfDonationHeldByAnotherInstanceIsAddedOnce() throws Exception {
+        Long projectId = createProject();
+        completeDonation(projectId, "25.00");
+
+        // A second instance starting up replays the donation this instance still holds
+        FundAccumulator otherInstance = new FundAccumulator(projectRepository, donationRepository, aggregates,
+            transactionManager, true);
+        otherInstance.recoverUnappliedDonations();
+        // and this instance replays it as well, holding it twice
+        accumulator.recoverUnappliedDonations();
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            Future<?> first = pool.submit(() -> {
+                start.await();
+                accumulator.flush();
+                return null;
+            });
+            Future<?> second = pool.submit(() -> {
+                start.await();
+                otherInstance.flush();
+                return null;
+            });
+            start.countDown();
+            first.get(30, TimeUnit.SECONDS);
+            second.get(30, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertFundsRaised(projectId, "25.00");
+        assertEquals(0, accumulator.getPendingFunds(projectId).signum());
+        assertEquals(0, otherInstance.getPendingFunds(projectId).signum());
+    }
+
+    @Test
+    void refundBeforeFlushIsNeverAdded() {
+        Long projectId = createProject();
+        Long donationId = completeDonation(projectId, "60.00");
+
+        donationService.refundDonation(donationId);
+        accumulator.flush();
+
+        assertFundsRaised(projectId, "0.00");
+        assertEquals(0, accumulator.getPendingFunds(projectId).signum());
+        assertTrue(donationRepository.findById(donationId).orElseThrow().getFundsApplied());
+    }
+
+    @Test
+    void refundAfterFlushIsSubtracted() {
+        Long projectId = createProject();
+        Long kept = completeDonation(projectId, "15.00");
+        Long refunded = completeDonation(projectId, "35.00");
+        accumulator.flush();
+        assertFundsRaised(projectId, "50.00");
+
+        donationService.refundDonation(refunded);
+        accumulator.flush();
+
+        assertFundsRaised(projectId, "15.00");
+        assertTrue(donationRepository.findById(kept).orElseThrow().getFundsApplied());
+    }
+
+    private Long createProject() {
+        return projectService.createProject(
+            new ConservationProject("Accumulated Project", LocalDate.now(), new BigDecimal("100000.00"))).getId();
+    }
+
+    private Long completeDonation(Long projectId, String amount) {
+        Donation donation = new Donation(new BigDecimal(amount), "Accumulated Donor", "accumulated@example.org");
+        donation.setProject(projectRepository.findById(projectId).orElseThrow());
+        Long donationId = donationService.createDonation(donation).getId();
+        donationService.startProcessing(donationId);
+        donationService.completeProcessing(donationId, true, "TX-" + donationId);
+        return donationId;
+    }
+
+    private void assertFundsRaised(Long projectId, String expected) {
+        assertEquals(0, projectRepository.findById(projectId).orElseThrow().getFundsRaised()
+            .compareTo(new BigDecimal(expected)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.wwf.application.service;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for key-ordered parallel batch processing
+ */
+class KeyOrderedBatchProcessorTest {
+
+    private ThreadPoolTaskExecutor executor;
+    private KeyOrderedBatchProcessor processor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.setMaxPoolSize(4);
+        executor.initialize();
+        processor = new KeyOrderedBatchProcessor(executor, true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void keepsOrderPerKey() {
+        List<ConsumerRecord<String, Object>> records = records(200, 5);
+        Map<String, List<Integer>> seen = new ConcurrentHashMap<>();
+
+        processor.process(records, i -> seen
+            .computeIfAbsent(records.get(i).key(), k -> Collections.synchronizedList(new ArrayList<>()))
+            .add(i));
+
+        assertEquals(5, seen.size());
+        seen.forEach((key, indexes) -> {
+            assertEquals(40, indexes.size());
+            for (int i = 1; i < indexes.size(); i++) {
+                assertTrue(indexes.get(i - 1) < indexes.get(i), "Out of order for key " + key);
+            }
+        });
+    }
+
+    @Test
+    void rethrowsLowestFailedIndexAndStopsThatKey() {
+        List<ConsumerRecord<String, Object>> records = records(20, 4);
+        List<Integer> processed = Collections.synchronizedList(new ArrayList<>());
+
+        BatchListenerFailedException failure = assertThrows(BatchListenerFailedException.class,
+            () -> processor.process(records, i -> {
+                if (i == 6 || i == 13) {
+                    throw new BatchListenerFailedException("Failed " + i, i);
+                }
+                processed.add(i);
+            }));
+
+        assertEquals(6, failure.getIndex());
+        // Every record before the failure completed, and nothing after it ran for the same key
+        for (int i = 0; i < 6; i++) {
+            assertTrue(processed.contains(i));
+        }
+        assertTrue(!processed.contains(10) && !processed.contains(14) && !processed.contains(18));
+    }
+
+    private static List<ConsumerRecord<String, Object>> records(int count, int keys) {
+        List<ConsumerRecord<String, Object>> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            records.add(new ConsumerRecord<>("wwf.species.events", 0, i, "key-" + (i % keys), "event-" + i));
+        }
+        return records;
+    }
+}
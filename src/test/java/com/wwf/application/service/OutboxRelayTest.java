@@ -0,0 +1,110 @@
+package com.wwf.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.kafka.SpeciesAddedEvent;
+import com.wwf.application.model.ConservationStatus;
+import com.wwf.application.model.WildlifeSpecies;
+import com.wwf.application.repository.OutboxEventRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for relaying outbox events to Kafka
+ */
+@SpringBootTest(properties = {
+    "wwf.outbox.relay.enabled=true",
+    "wwf.outbox.relay.interval-ms=3600000"
+})
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class OutboxRelayTest {
+
+    @Autowired
+    private WildlifeSpeciesService speciesService;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private OutboxEventRepository outboxRepository;
+
+    @Autowired
+    private KafkaTemplate<String, Object> kafkaTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relaysCommittedEventsAndDrainsOutbox() {
+        reset(kafkaTemplate);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        WildlifeSpecies species = speciesService.createSpecies(
+            new WildlifeSpecies("Amur Leopard", "Panthera pardus orientalis", ConservationStatus.CRITICALLY_ENDANGERED));
+        assertTrue(outboxRepository.count() > 0);
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, atLeastOnce()).send(eq("wwf.species.events"), eq(String.valueOf(species.getId())), events.capture());
+        assertTrue(events.getAllValues().stream().anyMatch(event -> event instanceof SpeciesAddedEvent added
+            && added.getSpeciesId().equals(species.getId())));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void relaysInWriteOrderRatherThanIdOrder() throws Exception {
+        reset(kafkaTemplate);
+        when(kafkaTemplate.send(anyString(), any(), any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Two instances allocate ids from their own blocks, so the event written first can have the higher id
+        insertOutboxEvent(900_001L, 1L);
+        insertOutboxEvent(1_001L, 2L);
+
+        outboxRelay.relay();
+
+        ArgumentCaptor<Object> events = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate, times(2)).send(eq("wwf.species.events"), eq("ordered-species"), events.capture());
+        List<Long> relayed = events.getAllValues().stream()
+            .map(event -> ((SpeciesAddedEvent) event).getSpeciesId())
+            .toList();
+        assertEquals(List.of(1L, 2L), relayed);
+        assertEquals(0, outboxRepository.count());
+    }
+
+    private void insertOutboxEvent(Long id, Long speciesId) throws Exception {
+        SpeciesAddedEvent event = new SpeciesAddedEvent(speciesId, "Ordered Species " + speciesId,
+            "Ordo species", ConservationStatus.VULNERABLE);
+        jdbcTemplate.update("INSERT INTO outbox_events (id, topic, message_key, event_type, payload, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)",
+            id, "wwf.species.events", "ordered-species", SpeciesAddedEvent.class.getName(),
+            objectMapper.writeValueAsString(event), LocalDateTime.now());
+    }
+}
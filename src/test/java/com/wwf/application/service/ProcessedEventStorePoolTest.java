@@ -0,0 +1,65 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests that events being processed do not hold a database connection for the dedup
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.hikari.maximum-pool-size=2",
+    "spring.datasource.hikari.connection-timeout=1000"
+})
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class ProcessedEventStorePoolTest {
+
+    private static final int EVENTS = 8;
+
+    @Autowired
+    private ProcessedEventStore store;
+
+    @Test
+    void processesMoreConcurrentEventsThanPoolConnections() throws Exception {
+        // Every processor waits until all of them are running at once
+        CountDownLatch running = new CountDownLatch(EVENTS);
+        ExecutorService executor = Executors.newFixedThreadPool(EVENTS);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < EVENTS; i++) {
+                String eventId = UUID.randomUUID().toString();
+                results.add(executor.submit(() -> store.processOnce(eventId, () -> {
+                    running.countDown();
+                    try {
+                        if (!running.await(10, TimeUnit.SECONDS)) {
+                            throw new IllegalStateException("Events were not processed concurrently");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(e);
+                    }
+                })));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.repository.ProcessedEventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for skipping redelivered events by event id
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class ProcessedEventStoreTest {
+
+    @Autowired
+    private ProcessedEventStore store;
+
+    @Autowired
+    private ProcessedEventRepository repository;
+
+    @Test
+    void processesEachEventIdOnce() {
+        String eventId = UUID.randomUUID().toString();
+        AtomicInteger runs = new AtomicInteger();
+
+        assertTrue(store.processOnce(eventId, runs::incrementAndGet));
+        assertFalse(store.processOnce(eventId, runs::incrementAndGet));
+
+        assertEquals(1, runs.get());
+        assertTrue(repository.existsById(eventId));
+    }
+
+    @Test
+    void detectsDuplicatesTheFilterHasNotSeen() {
+        // Recorded by another instance, so only the table knows about it
+        String eventId = UUID.randomUUID().toString();
+        repository.insert(eventId, LocalDateTime.now());
+        AtomicInteger runs = new AtomicInteger();
+
+        assertFalse(store.processOnce(eventId, runs::incrementAndGet));
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    void failedProcessingIsNotRecorded() {
+        String eventId = UUID.randomUUID().toString();
+        AtomicInteger runs = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> store.processOnce(eventId, () -> {
+            throw new IllegalStateException("Handler failed");
+        }));
+        assertFalse(repository.existsById(eventId));
+
+        // The retry of the event runs again
+        assertTrue(store.processOnce(eventId, runs::incrementAndGet));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void bloomFilterHasNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("event-" + i);
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("event-" + i));
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+}
@@ -0,0 +1,148 @@
+package com.wwf.application.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for coalescing concurrent identical calls
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private ExecutorService executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneRun() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ZERO);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Long> result = List.of(42L);
+
+        List<Future<List<Long>>> calls = callConcurrently(() -> singleFlight.execute("statistics", () -> {
+            runs.incrementAndGet();
+            running.countDown();
+            await(release);
+            return result;
+        }), running);
+        release.countDown();
+
+        for (Future<List<Long>> call : calls) {
+            assertSame(result, call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, singleFlight.size());
+
+        // Without a TTL the next call runs again
+        singleFlight.execute("statistics", () -> runs.incrementAndGet());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void failureIsSharedButNotRetained() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofHours(1));
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> calls = callConcurrently(() -> singleFlight.execute("summary", () -> {
+            running.countDown();
+            await(release);
+            throw new IllegalStateException("database unavailable");
+        }), running);
+        release.countDown();
+
+        for (Future<Object> call : calls) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+        assertEquals("recovered", singleFlight.execute("summary", () -> "recovered"));
+    }
+
+    @Test
+    void completedResultIsSharedUntilTtlExpires() throws Exception {
+        SingleFlight<String> singleFlight = new SingleFlight<>(Duration.ofMillis(500));
+        AtomicInteger runs = new AtomicInteger();
+
+        assertEquals(1, (int) singleFlight.execute("funding", runs::incrementAndGet));
+        assertEquals(1, (int) singleFlight.execute("funding", runs::incrementAndGet));
+        assertEquals(2, (int) singleFlight.execute("other", runs::incrementAndGet));
+
+        Thread.sleep(600);
+        assertEquals(3, (int) singleFlight.execute("funding", runs::incrementAndGet));
+    }
+
+    @Test
+    void rejectsNegativeTtl() {
+        assertThrows(IllegalArgumentException.class, () -> new SingleFlight<String>(Duration.ofMillis(-1)));
+    }
+
+    /**
+     * Starts one leader, waits until its loader runs, then starts the remaining callers and
+     * waits until they are all blocked on the leader's result
+     */
+    private <T> List<Future<T>> callConcurrently(Supplier<T> call, CountDownLatch leaderRunning) throws Exception {
+        List<Future<T>> calls = new ArrayList<>();
+        calls.add(executor.submit(call::get));
+        assertTrue(leaderRunning.await(5, TimeUnit.SECONDS));
+
+        List<Thread> followers = new ArrayList<>();
+        CountDownLatch started = new CountDownLatch(CALLERS - 1);
+        for (int i = 1; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> {
+                synchronized (followers) {
+                    followers.add(Thread.currentThread());
+                }
+                started.countDown();
+                return call.get();
+            }));
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        synchronized (followers) {
+            while (!followers.stream().allMatch(thread -> thread.getState() == Thread.State.WAITING)) {
+                assertTrue(System.nanoTime() < deadline, "followers did not block on the leader");
+                followers.wait(1);
+            }
+        }
+        return calls;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.BulkCreateResult;
+import com.wwf.application.model.Donation;
+import com.wwf.application.model.DonationStatus;
+import com.wwf.application.repository.DonationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Tests for the chunked stale donation cleanup
+ */
+@SpringBootTest(properties = "wwf.donation.cleanup.chunk-size=7")
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class StaleDonationCleanerTest {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Test
+    void failsOnlyStalePendingDonationsAcrossChunks() {
+        List<Long> stale = create(30, 48);
+        List<Long> recent = create(5, 0);
+
+        int cleanedUp = donationService.cleanupStaleDonations(24);
+
+        assertEquals(30, cleanedUp);
+        for (Long id : stale) {
+            Donation donation = donationRepository.findById(id).orElseThrow();
+            assertEquals(DonationStatus.FAILED, donation.getStatus());
+            assertNotNull(donation.getProcessedAt());
+        }
+        for (Long id : recent) {
+            assertEquals(DonationStatus.PENDING, donationRepository.findById(id).orElseThrow().getStatus());
+        }
+        assertEquals(0, donationService.cleanupStaleDonations(24));
+    }
+
+    private List<Long> create(int count, int hoursOld) {
+        List<Donation> donations = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Donation donation = new Donation(new BigDecimal("10.00"), "Donor " + i, "donor" + i + "@example.org");
+            donation.setCreatedAt(LocalDateTime.now().minusHours(hoursOld));
+            donations.add(donation);
+        }
+        BulkCreateResult result = donationService.createDonations(donations);
+        return result.ids();
+    }
+}
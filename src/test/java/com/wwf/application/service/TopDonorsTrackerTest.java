@@ -0,0 +1,136 @@
+package com.wwf.application.service;
+
+import com.wwf.application.config.TestKafkaConfig;
+import com.wwf.application.dto.DonorTotal;
+import com.wwf.application.model.ConservationProject;
+import com.wwf.application.model.Donation;
+import com.wwf.application.repository.ConservationProjectRepository;
+import com.wwf.application.repository.DonationRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for the tracked top donors and the LIMITed queries behind the filtered ones
+ */
+@SpringBootTest(properties = "wwf.donations.top-donors.reseed-interval-ms=3600000")
+@ActiveProfiles("test")
+@Import(TestKafkaConfig.class)
+class TopDonorsTrackerTest {
+
+    @Autowired
+    private DonationService donationService;
+
+    @Autowired
+    private ConservationProjectService projectService;
+
+    @Autowired
+    private ConservationProjectRepository projectRepository;
+
+    @Autowired
+    private TopDonorsTracker tracker;
+
+    @Test
+    void tracksCompletionsAndRefundsAndMatchesTheDatabase() {
+        tracker.reseed();
+
+        Long refunded = complete(null, "top-a@example.org", "3000000.00");
+        complete(null, "top-a@example.org", "2000000.00");
+        complete(null, "top-b@example.org", "4000000.00");
+        assertTop(donationService.getTopDonors(2, null, null), "top-a@example.org", "5000000.00", "top-b@example.org", "4000000.00");
+
+        donationService.refundDonation(refunded);
+        List<DonorTotal> tracked = donationService.getTopDonors(2, null, null);
+        assertTop(tracked, "top-b@example.org", "4000000.00", "top-a@example.org", "2000000.00");
+
+        // The windowed query over the same donations agrees with the tracked ranking
+        assertTop(donationService.getTopDonors(2, null, LocalDateTime.now().minusDays(1)),
+            "top-b@example.org", "4000000.00", "top-a@example.org", "2000000.00");
+
+        tracker.reseed();
+        assertEquals(tracked, donationService.getTopDonors(2, null, null));
+    }
+
+    @Test
+    void filtersTopDonorsByProject() {
+        Long projectId = projectService.createProject(
+            new ConservationProject("Top Donors Project", LocalDate.now(), new BigDecimal("100000.00"))).getId();
+        complete(projectId, "project-a@example.org", "10.00");
+        complete(projectId, "project-b@example.org", "30.00");
+        complete(projectId, "project-a@example.org", "15.00");
+
+        assertTop(donationService.getTopDonors(5, projectId, null),
+            "project-b@example.org", "30.00", "project-a@example.org", "25.00");
+        assertTop(donationService.getTopDonors(1, projectId, LocalDateTime.now().minusDays(1)),
+            "project-b@example.org", "30.00");
+    }
+
+    @Test
+    void keepsCompletionsCommittedWhileReseeding() throws Exception {
+        DonationRepository repository = mock(DonationRepository.class);
+        TopDonorsTracker concurrentTracker = new TopDonorsTracker(repository, 10);
+        when(repository.findTopDonors(any())).thenReturn(rows("reseed-a@example.org", "100.00"));
+        concurrentTracker.reseed();
+
+        // Another thread completes a donation after the query took its snapshot
+        when(repository.findTopDonors(any())).thenAnswer(invocation -> {
+            List<Object[]> snapshot = rows("reseed-a@example.org", "100.00");
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+            try {
+                Future<?> completion = executor.submit(() ->
+                    concurrentTracker.donationCompleted("reseed-b@example.org", new BigDecimal("250.00")));
+                completion.get(10, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdownNow();
+            }
+            return snapshot;
+        });
+        concurrentTracker.reseed();
+
+        assertTop(concurrentTracker.getTopDonors(2).orElseThrow(),
+            "reseed-b@example.org", "250.00", "reseed-a@example.org", "100.00");
+    }
+
+    private static List<Object[]> rows(String donor, String total) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{donor, new BigDecimal(total)});
+        return rows;
+    }
+
+    private Long complete(Long projectId, String donorEmail, String amount) {
+        Donation donation = new Donation(new BigDecimal(amount), "Top Donor", donorEmail);
+        if (projectId != null) {
+            donation.setProject(projectRepository.findById(projectId).orElseThrow());
+        }
+        Long id = donationService.createDonation(donation).getId();
+        donationService.startProcessing(id);
+        donationService.completeProcessing(id, true, "txn-" + id);
+        return id;
+    }
+
+    private static void assertTop(List<DonorTotal> donors, String... expected) {
+        assertEquals(expected.length / 2, donors.size());
+        for (int i = 0; i < donors.size(); i++) {
+            assertEquals(expected[2 * i], donors.get(i).donor());
+            assertEquals(0, new BigDecimal(expected[2 * i + 1]).compareTo(donors.get(i).total()),
+                "expected " + expected[2 * i + 1] + " but was " + donors.get(i).total());
+        }
+    }
+}